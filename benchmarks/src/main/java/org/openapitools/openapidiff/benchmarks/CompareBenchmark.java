@@ -0,0 +1,103 @@
+package org.openapitools.openapidiff.benchmarks;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import java.util.concurrent.TimeUnit;
+import org.openapitools.openapidiff.core.OpenApiCompare;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.generator.SpecPair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing of a document and whole comparisons, preparation of the specifications included.
+ *
+ * <p>A comparison prepares, and so modifies, its specifications: each one compares a fresh pair.
+ * The pairs are made for a whole batch of comparisons before each iteration, rather than before
+ * each comparison, which would be timed along with it, and the comparisons report the time of a
+ * whole batch. {@code -prof gc} counts the allocations of the iteration, so the allocations per
+ * operation of the comparisons include making their batch.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompareBenchmark {
+  static final int FIXTURE_BATCH = 50;
+  static final int SYNTHETIC_BATCH = 10;
+
+  /** Specifications not prepared yet, parsed again for each batch. */
+  @State(Scope.Thread)
+  public static class FixtureSpecs {
+    final OpenAPI[] oldSpecs = new OpenAPI[FIXTURE_BATCH];
+    final OpenAPI[] newSpecs = new OpenAPI[FIXTURE_BATCH];
+    int next;
+
+    @Setup(Level.Iteration)
+    public void setUp(FixtureState state) {
+      for (int i = 0; i < FIXTURE_BATCH; i++) {
+        oldSpecs[i] = FixtureState.parse(state.oldContent);
+        newSpecs[i] = FixtureState.parse(state.newContent);
+      }
+      next = 0;
+    }
+  }
+
+  /** Specifications not prepared yet, generated again for each batch. */
+  @State(Scope.Thread)
+  public static class SyntheticSpecs {
+    final OpenAPI[] oldSpecs = new OpenAPI[SYNTHETIC_BATCH];
+    final OpenAPI[] newSpecs = new OpenAPI[SYNTHETIC_BATCH];
+    int next;
+
+    @Setup(Level.Iteration)
+    public void setUp(SyntheticState state) {
+      for (int i = 0; i < SYNTHETIC_BATCH; i++) {
+        SpecPair pair = state.generate();
+        oldSpecs[i] = pair.getOldSpec();
+        newSpecs[i] = pair.getNewSpec();
+      }
+      next = 0;
+    }
+  }
+
+  @Benchmark
+  public OpenAPI parseFixture(FixtureState state) {
+    return FixtureState.parse(state.newContent);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  @Warmup(iterations = 10, batchSize = FIXTURE_BATCH)
+  @Measurement(iterations = 20, batchSize = FIXTURE_BATCH)
+  public ChangedOpenApi compareFixture(FixtureSpecs specs) {
+    int i = specs.next++;
+    return compare(specs.oldSpecs[i], specs.newSpecs[i]);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  @Warmup(iterations = 10, batchSize = SYNTHETIC_BATCH)
+  @Measurement(iterations = 20, batchSize = SYNTHETIC_BATCH)
+  public ChangedOpenApi compareSynthetic(SyntheticSpecs specs) {
+    int i = specs.next++;
+    return compare(specs.oldSpecs[i], specs.newSpecs[i]);
+  }
+
+  private static ChangedOpenApi compare(OpenAPI oldSpec, OpenAPI newSpec) {
+    ChangedOpenApi diff = OpenApiCompare.fromSpecifications(oldSpec, newSpec);
+    diff.isChanged();
+    return diff;
+  }
+}
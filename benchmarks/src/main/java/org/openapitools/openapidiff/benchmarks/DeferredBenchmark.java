@@ -0,0 +1,77 @@
+package org.openapitools.openapidiff.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openapitools.openapidiff.core.model.DiffMetrics;
+import org.openapitools.openapidiff.core.model.deferred.DeferredBuilder;
+import org.openapitools.openapidiff.core.model.deferred.DeferredChanged;
+import org.openapitools.openapidiff.core.model.deferred.PendingChanged;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The deferred values the schema pass resolves: chains of transformations of a pending value, and
+ * values collected by a builder, as in the diff of a schema with many properties. Run with {@code
+ * -prof gc} to compare the allocation rate per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class DeferredBenchmark {
+  @Param({"4", "64"})
+  public int size;
+
+  private final DiffMetrics metrics = new DiffMetrics();
+
+  /** A pending value transformed size times by map, mapOptional and flatMap, then set. */
+  @Benchmark
+  public void chain(Blackhole blackhole) {
+    PendingChanged<Integer> source = new PendingChanged<>(metrics);
+    DeferredChanged<Integer> value = source;
+    for (int i = 0; i < size; i++) {
+      switch (i % 3) {
+        case 0:
+          value = value.map(v -> v.orElse(0) + 1);
+          break;
+        case 1:
+          value = value.mapOptional(v -> v.map(n -> n + 1));
+          break;
+        default:
+          value = value.flatMap(v -> DeferredChanged.ofNullable(v.orElse(0) + 1));
+          break;
+      }
+    }
+    value.ifPresent(blackhole::consume);
+    source.setValue(Optional.of(0));
+  }
+
+  /** Size pending values collected by a builder, then set. */
+  @Benchmark
+  public void builder(Blackhole blackhole) {
+    List<PendingChanged<Integer>> values = new ArrayList<>(size);
+    DeferredBuilder<Integer> builder = new DeferredBuilder<>();
+    for (int i = 0; i < size; i++) {
+      PendingChanged<Integer> value = new PendingChanged<>(metrics);
+      values.add(value);
+      builder.with(value).ifPresent(blackhole::consume);
+    }
+    builder.build().ifPresent(blackhole::consume);
+    for (int i = 0; i < size; i++) {
+      values.get(i).setValue(Optional.of(i));
+    }
+  }
+}
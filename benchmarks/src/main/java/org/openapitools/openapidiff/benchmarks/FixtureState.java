@@ -0,0 +1,51 @@
+package org.openapitools.openapidiff.benchmarks;
+
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import org.apache.commons.io.IOUtils;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The bundled pairs of specifications, e.g. petstore_v2.yaml for petstore_v2_1.yaml and
+ * petstore_v2_2.yaml.
+ */
+@State(Scope.Benchmark)
+public class FixtureState extends SpecState {
+  @Param({"petstore_v2.yaml", "issue-256.json"})
+  public String fixture;
+
+  public String oldContent;
+  public String newContent;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    int extension = fixture.lastIndexOf('.');
+    oldContent = resource(fixture.substring(0, extension) + "_1" + fixture.substring(extension));
+    newContent = resource(fixture.substring(0, extension) + "_2" + fixture.substring(extension));
+    prepare(parse(oldContent), parse(newContent));
+  }
+
+  /** Parses and resolves the document the way OpenApiCompare does. */
+  public static OpenAPI parse(String content) {
+    ParseOptions options = new ParseOptions();
+    options.setResolve(true);
+    return new OpenAPIParser().readContents(content, null, options).getOpenAPI();
+  }
+
+  private static String resource(String name) throws IOException {
+    try (InputStream input = FixtureState.class.getClassLoader().getResourceAsStream(name)) {
+      if (input == null) {
+        throw new IOException("Fixture not found: " + name);
+      }
+      return IOUtils.toString(input, StandardCharsets.UTF_8);
+    }
+  }
+}
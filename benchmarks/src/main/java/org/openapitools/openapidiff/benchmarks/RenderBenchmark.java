@@ -0,0 +1,71 @@
+package org.openapitools.openapidiff.benchmarks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.output.NullWriter;
+import org.openapitools.openapidiff.core.output.ConsoleRender;
+import org.openapitools.openapidiff.core.output.HtmlRender;
+import org.openapitools.openapidiff.core.output.JsonRender;
+import org.openapitools.openapidiff.core.output.MarkdownRender;
+import org.openapitools.openapidiff.core.output.Render;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Rendering of a diff computed beforehand, streamed to a writer discarding the output. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RenderBenchmark {
+  @Param({"console", "markdown", "html", "json", "json-compact"})
+  public String format;
+
+  private Render render;
+  private final Writer writer = new NullWriter();
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    switch (format) {
+      case "console":
+        render = new ConsoleRender();
+        break;
+      case "markdown":
+        render = new MarkdownRender();
+        break;
+      case "html":
+        render = new HtmlRender();
+        break;
+      case "json":
+        render = new JsonRender();
+        break;
+      case "json-compact":
+        render = JsonRender.compact();
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown format: " + format);
+    }
+  }
+
+  @Benchmark
+  public void renderFixture(FixtureState state) throws IOException {
+    render.render(state.diff, writer);
+  }
+
+  @Benchmark
+  public void renderSynthetic(SyntheticState state) throws IOException {
+    render.render(state.diff, writer);
+  }
+}
@@ -0,0 +1,30 @@
+package org.openapitools.openapidiff.benchmarks;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.openapitools.openapidiff.core.compare.DiffOptions;
+import org.openapitools.openapidiff.core.compare.OpenApiDiff;
+import org.openapitools.openapidiff.core.compare.PreparedSpec;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+
+/**
+ * Old and new specifications of a benchmark, prepared, and the diff between them. Preparing merges
+ * allOf in place and diffs of prepared specifications only read them, so the prepared ones are
+ * shared by all the invocations of a trial. Benchmarks preparing the specifications again need
+ * fresh copies for each invocation.
+ */
+public abstract class SpecState {
+  public OpenAPI oldSpec;
+  public OpenAPI newSpec;
+  public PreparedSpec oldPrepared;
+  public PreparedSpec newPrepared;
+  public ChangedOpenApi diff;
+
+  protected void prepare(OpenAPI oldSpec, OpenAPI newSpec) {
+    this.oldSpec = oldSpec;
+    this.newSpec = newSpec;
+    this.oldPrepared = PreparedSpec.of(oldSpec);
+    this.newPrepared = PreparedSpec.of(newSpec);
+    this.diff = OpenApiDiff.compare(oldPrepared, newPrepared, DiffOptions.defaults());
+    diff.isChanged();
+  }
+}
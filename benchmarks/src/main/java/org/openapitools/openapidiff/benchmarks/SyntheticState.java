@@ -0,0 +1,58 @@
+package org.openapitools.openapidiff.benchmarks;
+
+import org.openapitools.openapidiff.generator.GeneratorOptions;
+import org.openapitools.openapidiff.generator.SpecGenerator;
+import org.openapitools.openapidiff.generator.SpecPair;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Synthetic specifications of the shape given by the parameters, see {@link GeneratorOptions}. */
+@State(Scope.Benchmark)
+public class SyntheticState extends SpecState {
+  @Param({"20", "200"})
+  public int paths;
+
+  @Param({"8"})
+  public int properties;
+
+  @Param({"3"})
+  public int depth;
+
+  @Param({"10"})
+  public int composition;
+
+  @Param({"20"})
+  public int recursion;
+
+  @Param({"16"})
+  public int enumSize;
+
+  @Param({"10"})
+  public int mutationRate;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    SpecPair pair = generate();
+    prepare(pair.getOldSpec(), pair.getNewSpec());
+  }
+
+  /**
+   * Generates the specifications again, equal to the ones of the trial before they were prepared.
+   */
+  public SpecPair generate() {
+    return new SpecGenerator(
+            GeneratorOptions.defaults()
+                .setPaths(paths)
+                .setSchemas(paths)
+                .setProperties(properties)
+                .setDepth(depth)
+                .setComposition(composition)
+                .setRecursion(recursion)
+                .setEnumSize(enumSize)
+                .setMutationRate(mutationRate))
+        .generate();
+  }
+}
@@ -0,0 +1,98 @@
+package org.openapitools.openapidiff.core.compare;
+
+import static org.openapitools.openapidiff.core.compare.PathsDiff.valOrEmpty;
+
+import java.util.concurrent.TimeUnit;
+import org.openapitools.openapidiff.benchmarks.FixtureState;
+import org.openapitools.openapidiff.benchmarks.SpecState;
+import org.openapitools.openapidiff.benchmarks.SyntheticState;
+import org.openapitools.openapidiff.core.model.ChangedPaths;
+import org.openapitools.openapidiff.core.model.deferred.DeferredChanged;
+import org.openapitools.openapidiff.core.model.deferred.DeferredSchemaCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The two passes of a diff of prepared specifications: the paths pass, {@link PathsDiff#diff},
+ * which queues the schemas to compare, and the deferred schema pass, {@link
+ * DeferredSchemaCache#process}. Lives in the package of {@link OpenApiDiff} to run them apart.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PhaseBenchmark {
+
+  /** A diff whose paths pass has run, made again before each invocation. */
+  @State(Scope.Thread)
+  public static class PathsPassed {
+    OpenApiDiff openApiDiff;
+
+    @Setup(Level.Invocation)
+    public void setUp(SyntheticState state) {
+      openApiDiff = pathsPass(state).openApiDiff;
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class FixturePathsPassed {
+    OpenApiDiff openApiDiff;
+
+    @Setup(Level.Invocation)
+    public void setUp(FixtureState state) {
+      openApiDiff = pathsPass(state).openApiDiff;
+    }
+  }
+
+  private static class Pass {
+    final OpenApiDiff openApiDiff;
+    final DeferredChanged<ChangedPaths> paths;
+
+    Pass(OpenApiDiff openApiDiff, DeferredChanged<ChangedPaths> paths) {
+      this.openApiDiff = openApiDiff;
+      this.paths = paths;
+    }
+  }
+
+  private static Pass pathsPass(SpecState state) {
+    OpenApiDiff openApiDiff =
+        OpenApiDiff.of(state.oldPrepared, state.newPrepared, DiffOptions.defaults());
+    DeferredChanged<ChangedPaths> paths =
+        openApiDiff
+            .getPathsDiff()
+            .diff(valOrEmpty(state.oldSpec.getPaths()), valOrEmpty(state.newSpec.getPaths()));
+    return new Pass(openApiDiff, paths);
+  }
+
+  @Benchmark
+  public DeferredChanged<ChangedPaths> pathsSynthetic(SyntheticState state) {
+    return pathsPass(state).paths;
+  }
+
+  @Benchmark
+  public DeferredChanged<ChangedPaths> pathsFixture(FixtureState state) {
+    return pathsPass(state).paths;
+  }
+
+  @Benchmark
+  public DeferredSchemaCache deferredSchemasSynthetic(PathsPassed passed) {
+    passed.openApiDiff.getDeferredSchemaCache().process();
+    return passed.openApiDiff.getDeferredSchemaCache();
+  }
+
+  @Benchmark
+  public DeferredSchemaCache deferredSchemasFixture(FixturePathsPassed passed) {
+    passed.openApiDiff.getDeferredSchemaCache().process();
+    return passed.openApiDiff.getDeferredSchemaCache();
+  }
+}
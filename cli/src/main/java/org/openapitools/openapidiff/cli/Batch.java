@@ -0,0 +1,428 @@
+package org.openapitools.openapidiff.cli;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.core.models.AuthorizationValue;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.cli.ParseException;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.openapitools.openapidiff.core.compare.DiffOptions;
+import org.openapitools.openapidiff.core.compare.OpenApiDiff;
+import org.openapitools.openapidiff.core.compare.OperationFilter;
+import org.openapitools.openapidiff.core.compare.PreparedSpec;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.model.DiffResult;
+import org.openapitools.openapidiff.core.output.ConsoleRender;
+import org.openapitools.openapidiff.core.output.DiffResults;
+import org.openapitools.openapidiff.core.output.HtmlRender;
+import org.openapitools.openapidiff.core.output.JsonRender;
+import org.openapitools.openapidiff.core.output.MarkdownRender;
+import org.openapitools.openapidiff.core.output.RenderVisitor;
+import org.openapitools.openapidiff.core.output.RenderWalker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the pairs of specifications listed in a YAML manifest on a pool of threads:
+ *
+ * <pre>
+ * summary: reports/summary.json
+ * entries:
+ *   - name: pets
+ *     old: pets/v1.yaml
+ *     new: pets/v2.yaml
+ *     fail-on: incompatible
+ *     outputs:
+ *       markdown: reports/pets.md
+ * </pre>
+ *
+ * <p>Relative paths are resolved against the directory of the manifest. A specification listed in
+ * several entries is parsed once and dropped when the last of its entries is compared.
+ */
+class Batch {
+  private static final Logger LOGGER = LoggerFactory.getLogger(Batch.class);
+  private static final List<String> FORMATS =
+      Arrays.asList("text", "html", "markdown", "json", "json-compact");
+
+  private final List<AuthorizationValue> auths;
+  private final int threads;
+  private final FailOn defaultFailOn;
+  private final OperationFilter filter;
+  private final boolean memoryBounded;
+
+  Batch(
+      List<AuthorizationValue> auths,
+      int threads,
+      FailOn defaultFailOn,
+      OperationFilter filter,
+      boolean memoryBounded) {
+    this.auths = auths;
+    this.threads = threads;
+    this.defaultFailOn = defaultFailOn;
+    this.filter = filter;
+    this.memoryBounded = memoryBounded;
+  }
+
+  enum FailOn {
+    NONE,
+    CHANGED,
+    INCOMPATIBLE;
+
+    boolean fails(DiffResult result) {
+      switch (this) {
+        case CHANGED:
+          return !result.isUnchanged();
+        case INCOMPATIBLE:
+          return !result.isCompatible();
+        default:
+          return false;
+      }
+    }
+  }
+
+  public static class Manifest {
+    private String summary;
+    private List<Entry> entries = new ArrayList<>();
+
+    public String getSummary() {
+      return summary;
+    }
+
+    public void setSummary(String summary) {
+      this.summary = summary;
+    }
+
+    public List<Entry> getEntries() {
+      return entries;
+    }
+
+    public void setEntries(List<Entry> entries) {
+      this.entries = entries;
+    }
+  }
+
+  public static class Entry {
+    private String name;
+    private String oldSpec;
+    private String newSpec;
+    private String failOn;
+    private Map<String, String> outputs = new LinkedHashMap<>();
+
+    public String getName() {
+      return name != null ? name : newSpec;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    @JsonProperty("old")
+    public String getOldSpec() {
+      return oldSpec;
+    }
+
+    @JsonProperty("old")
+    public void setOldSpec(String oldSpec) {
+      this.oldSpec = oldSpec;
+    }
+
+    @JsonProperty("new")
+    public String getNewSpec() {
+      return newSpec;
+    }
+
+    @JsonProperty("new")
+    public void setNewSpec(String newSpec) {
+      this.newSpec = newSpec;
+    }
+
+    @JsonProperty("fail-on")
+    public String getFailOn() {
+      return failOn;
+    }
+
+    @JsonProperty("fail-on")
+    public void setFailOn(String failOn) {
+      this.failOn = failOn;
+    }
+
+    public Map<String, String> getOutputs() {
+      return outputs;
+    }
+
+    public void setOutputs(Map<String, String> outputs) {
+      this.outputs = outputs;
+    }
+  }
+
+  private static class Outcome {
+    private final Entry entry;
+    private final DiffResult result;
+    private final boolean failed;
+    private final String error;
+
+    Outcome(Entry entry, DiffResult result, boolean failed, String error) {
+      this.entry = entry;
+      this.result = result;
+      this.failed = failed;
+      this.error = error;
+    }
+  }
+
+  /**
+   * Compares the entries of the manifest and prints a summary of their results.
+   *
+   * @return the exit code: 2 when an entry could not be compared, 1 when the result of an entry
+   *     fails its policy, 0 otherwise; with {@code state} the worst result is printed instead of
+   *     the summary and the exit code is 0 unless an entry could not be compared
+   */
+  int run(File manifestFile, boolean console, boolean state) throws ParseException, IOException {
+    Manifest manifest = read(manifestFile);
+    File directory = manifestFile.getAbsoluteFile().getParentFile();
+    Map<String, CompletableFuture<PreparedSpec>> specs = new ConcurrentHashMap<>();
+    Map<String, AtomicInteger> uses = new ConcurrentHashMap<>();
+    List<CompletableFuture<Outcome>> outcomes = new ArrayList<>();
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    try {
+      // every parse is queued before the comparisons waiting for it. Entries sharing a location
+      // share its prepared specification, which diffs only read.
+      for (Entry entry : manifest.getEntries()) {
+        for (String spec : Arrays.asList(entry.getOldSpec(), entry.getNewSpec())) {
+          String location = resolve(directory, spec);
+          uses.computeIfAbsent(location, key -> new AtomicInteger()).incrementAndGet();
+          specs.computeIfAbsent(
+              location, key -> CompletableFuture.supplyAsync(() -> prepare(key), pool));
+        }
+      }
+      for (Entry entry : manifest.getEntries()) {
+        outcomes.add(
+            CompletableFuture.supplyAsync(() -> compare(entry, directory, specs, uses), pool));
+      }
+      List<Outcome> results = new ArrayList<>();
+      for (CompletableFuture<Outcome> outcome : outcomes) {
+        results.add(outcome.join());
+      }
+      return report(manifest, directory, results, console, state);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private Manifest read(File manifestFile) throws ParseException, IOException {
+    if (!manifestFile.isFile()) {
+      throw new ParseException(String.format("Manifest not found. Given: %s", manifestFile));
+    }
+    Manifest manifest = new ObjectMapper(new YAMLFactory()).readValue(manifestFile, Manifest.class);
+    if (manifest == null || manifest.getEntries() == null || manifest.getEntries().isEmpty()) {
+      throw new ParseException("The manifest has no entries");
+    }
+    for (Entry entry : manifest.getEntries()) {
+      if (entry.getOldSpec() == null || entry.getNewSpec() == null) {
+        throw new ParseException(
+            String.format("Entry %s needs an old and a new specification", entry.getName()));
+      }
+      failOn(entry);
+      for (String format : entry.getOutputs().keySet()) {
+        if (!FORMATS.contains(format)) {
+          throw new ParseException(
+              String.format(
+                  "Invalid output of entry %s. Expected: %s. Given: %s",
+                  entry.getName(), FORMATS, format));
+        }
+      }
+    }
+    return manifest;
+  }
+
+  private FailOn failOn(Entry entry) throws ParseException {
+    if (entry.getFailOn() == null) {
+      return defaultFailOn;
+    }
+    try {
+      return FailOn.valueOf(entry.getFailOn().toUpperCase());
+    } catch (IllegalArgumentException e) {
+      throw new ParseException(
+          String.format(
+              "Invalid fail-on of entry %s. Expected: [none, changed, incompatible]. Given: %s",
+              entry.getName(), entry.getFailOn()));
+    }
+  }
+
+  private PreparedSpec prepare(String location) {
+    ParseOptions options = new ParseOptions();
+    options.setResolve(true);
+    OpenAPI openApi = new OpenAPIParser().readLocation(location, auths, options).getOpenAPI();
+    if (openApi == null) {
+      throw new RuntimeException(String.format("Cannot read OpenAPI spec %s", location));
+    }
+    return PreparedSpec.of(openApi);
+  }
+
+  private Outcome compare(
+      Entry entry,
+      File directory,
+      Map<String, CompletableFuture<PreparedSpec>> specs,
+      Map<String, AtomicInteger> uses) {
+    String oldLocation = resolve(directory, entry.getOldSpec());
+    String newLocation = resolve(directory, entry.getNewSpec());
+    try {
+      ChangedOpenApi diff =
+          OpenApiDiff.compare(
+              specs.get(oldLocation).join(),
+              specs.get(newLocation).join(),
+              DiffOptions.defaults().setFilter(filter).setMemoryBounded(memoryBounded));
+      DiffResults results = new DiffResults();
+      render(diff, results, entry, directory);
+      DiffResult result = results.get(diff);
+      return new Outcome(entry, result, failOn(entry).fails(result), null);
+    } catch (CompletionException e) {
+      LOGGER.error("Comparison of {} failed", entry.getName(), e.getCause());
+      return new Outcome(entry, null, true, String.valueOf(e.getCause().getMessage()));
+    } catch (Exception e) {
+      LOGGER.error("Comparison of {} failed", entry.getName(), e);
+      return new Outcome(entry, null, true, String.valueOf(e.getMessage()));
+    } finally {
+      release(oldLocation, specs, uses);
+      release(newLocation, specs, uses);
+    }
+  }
+
+  private static void release(
+      String location,
+      Map<String, CompletableFuture<PreparedSpec>> specs,
+      Map<String, AtomicInteger> uses) {
+    if (uses.get(location).decrementAndGet() == 0) {
+      specs.remove(location);
+    }
+  }
+
+  /** Renders the text, html and markdown outputs of the entry in a single walk of the diff. */
+  private static void render(ChangedOpenApi diff, DiffResults results, Entry entry, File directory)
+      throws IOException {
+    List<RenderVisitor> visitors = new ArrayList<>();
+    List<Writer> writers = new ArrayList<>();
+    try {
+      for (Map.Entry<String, String> output : entry.getOutputs().entrySet()) {
+        File file = new File(resolve(directory, output.getValue()));
+        Writer writer =
+            new BufferedWriter(
+                new OutputStreamWriter(FileUtils.openOutputStream(file), StandardCharsets.UTF_8));
+        writers.add(writer);
+        switch (output.getKey()) {
+          case "text":
+            visitors.add(new ConsoleRender().visitor(writer));
+            break;
+          case "html":
+            visitors.add(new HtmlRender().visitor(writer));
+            break;
+          case "markdown":
+            visitors.add(new MarkdownRender().visitor(writer));
+            break;
+          case "json":
+            new JsonRender().render(diff, writer);
+            break;
+          default:
+            JsonRender.compact().render(diff, writer);
+        }
+      }
+      RenderWalker.walk(diff, visitors, results);
+      for (Writer writer : writers) {
+        writer.close();
+      }
+    } finally {
+      writers.forEach(IOUtils::closeQuietly);
+    }
+  }
+
+  private int report(
+      Manifest manifest, File directory, List<Outcome> outcomes, boolean console, boolean state)
+      throws IOException {
+    DiffResult worst = DiffResult.NO_CHANGES;
+    int errors = 0;
+    int failures = 0;
+    for (Outcome outcome : outcomes) {
+      if (outcome.error != null) {
+        errors++;
+      } else if (outcome.result.getWeight() > worst.getWeight()) {
+        worst = outcome.result;
+      }
+      if (outcome.failed) {
+        failures++;
+      }
+    }
+    if (manifest.getSummary() != null) {
+      writeSummary(new File(resolve(directory, manifest.getSummary())), worst, outcomes);
+    }
+    if (state) {
+      System.out.println(worst.getValue());
+      return errors > 0 ? 2 : 0;
+    }
+    if (console) {
+      for (Outcome outcome : outcomes) {
+        System.out.printf(
+            "%-14s%-6s%s%n",
+            outcome.error != null ? "error" : outcome.result.getValue(),
+            outcome.failed ? "FAIL" : "",
+            outcome.entry.getName());
+      }
+      System.out.printf(
+          "%d entries, %d failed, %d errors, worst result: %s%n",
+          outcomes.size(), failures - errors, errors, worst.getValue());
+    }
+    return errors > 0 ? 2 : failures > 0 ? 1 : 0;
+  }
+
+  private static void writeSummary(File file, DiffResult worst, List<Outcome> outcomes)
+      throws IOException {
+    ObjectMapper mapper = new ObjectMapper();
+    ObjectNode summary = mapper.createObjectNode().put("result", worst.getValue());
+    ArrayNode entries = summary.putArray("entries");
+    for (Outcome outcome : outcomes) {
+      ObjectNode entry =
+          entries
+              .addObject()
+              .put("name", outcome.entry.getName())
+              .put("old", outcome.entry.getOldSpec())
+              .put("new", outcome.entry.getNewSpec());
+      if (outcome.error != null) {
+        entry.put("error", outcome.error);
+      } else {
+        entry.put("result", outcome.result.getValue());
+      }
+      entry.put("failed", outcome.failed);
+    }
+    FileUtils.forceMkdirParent(file);
+    mapper.writerWithDefaultPrettyPrinter().writeValue(file, summary);
+  }
+
+  /** Resolves a path of the manifest against its directory, leaving URLs untouched. */
+  private static String resolve(File directory, String location) {
+    if (location.matches("^[a-zA-Z][a-zA-Z0-9+.-]+://.*") || new File(location).isAbsolute()) {
+      return location;
+    }
+    return new File(directory, location).getPath();
+  }
+}
@@ -1,12 +1,21 @@
 package org.openapitools.openapidiff.cli;
 
 import ch.qos.logback.classic.Level;
+import io.swagger.v3.oas.models.PathItem;
 import io.swagger.v3.parser.core.models.AuthorizationValue;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
 import org.apache.commons.cli.DefaultParser;
@@ -15,13 +24,26 @@ import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.output.TeeOutputStream;
 import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.openapitools.openapidiff.client.DiffClient;
+import org.openapitools.openapidiff.client.DiffRequest;
+import org.openapitools.openapidiff.client.DiffResponse;
 import org.openapitools.openapidiff.core.OpenApiCompare;
+import org.openapitools.openapidiff.core.compare.DiffOptions;
+import org.openapitools.openapidiff.core.compare.OperationFilter;
 import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.model.DiffMetrics;
+import org.openapitools.openapidiff.core.model.DiffResult;
 import org.openapitools.openapidiff.core.output.ConsoleRender;
+import org.openapitools.openapidiff.core.output.DiffResults;
 import org.openapitools.openapidiff.core.output.HtmlRender;
 import org.openapitools.openapidiff.core.output.JsonRender;
 import org.openapitools.openapidiff.core.output.MarkdownRender;
+import org.openapitools.openapidiff.core.output.Render;
+import org.openapitools.openapidiff.core.output.RenderVisitor;
+import org.openapitools.openapidiff.core.output.RenderWalker;
+import org.openapitools.openapidiff.core.utils.ExternalRefs;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -82,6 +104,34 @@ public class Main {
             .argName("property=value")
             .desc("use query param for authorisation")
             .build());
+    options.addOption(
+        Option.builder()
+            .longOpt("parallel")
+            .hasArg()
+            .argName("threads")
+            .desc(
+                "parse and compare both specifications using the given number of threads, in"
+                    + " batch mode the number of entries compared concurrently")
+            .build());
+    options.addOption(
+        Option.builder()
+            .longOpt("memory-bounded")
+            .desc("release the schemas compared as soon as possible, for large specifications")
+            .build());
+    options.addOption(
+        Option.builder()
+            .longOpt("severity-only")
+            .desc(
+                "stop comparing once the result is known, without report: --state then reports"
+                    + " metadata changes as no_changes")
+            .build());
+    options.addOption(
+        Option.builder()
+            .longOpt("batch")
+            .hasArg()
+            .argName("manifest")
+            .desc("compare the pairs of specifications listed in the given YAML manifest")
+            .build());
     options.addOption(
         Option.builder()
             .longOpt("markdown")
@@ -110,6 +160,33 @@ public class Main {
             .argName("file")
             .desc("export diff as json in given file")
             .build());
+    options.addOption(
+        Option.builder()
+            .longOpt("json-compact")
+            .desc("export json with $ref pointers in place of the specification objects")
+            .build());
+    options.addOption(
+        Option.builder()
+            .longOpt("profile")
+            .desc("print the time spent in every phase of the comparison and its counters")
+            .build());
+    options.addOption(
+        Option.builder()
+            .longOpt("server")
+            .hasArg()
+            .argName("url")
+            .desc("compare on a running openapi-diff-server instead of in this process")
+            .build());
+    addFilterOption(options, "include-path", "glob", "compare only the paths matching the glob");
+    addFilterOption(options, "exclude-path", "glob", "do not compare the paths matching the glob");
+    addFilterOption(options, "include-tag", "tag", "compare only the operations of the tag");
+    addFilterOption(options, "exclude-tag", "tag", "do not compare the operations of the tag");
+    addFilterOption(options, "include-operation-id", "id", "compare only the given operation");
+    addFilterOption(options, "exclude-operation-id", "id", "do not compare the given operation");
+    addFilterOption(
+        options, "include-method", "method", "compare only the operations of the method");
+    addFilterOption(
+        options, "exclude-method", "method", "do not compare the operations of the method");
 
     // create the parser
     CommandLineParser parser = new DefaultParser();
@@ -160,53 +237,114 @@ public class Main {
           (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
       root.setLevel(Level.toLevel(logLevel));
 
-      if (line.getArgList().size() < 2) {
-        throw new ParseException("Missing arguments");
-      }
-      String oldPath = line.getArgList().get(0);
-      String newPath = line.getArgList().get(1);
-
       List<AuthorizationValue> auths = null;
       if (line.hasOption("header")) {
         String[] headers = line.getOptionValues("header");
         auths = Collections.singletonList(new AuthorizationValue(headers[0], headers[1], "header"));
       }
 
-      ChangedOpenApi result = OpenApiCompare.fromLocations(oldPath, newPath, auths);
-      ConsoleRender consoleRender = new ConsoleRender();
-      if (!logLevel.equals("OFF")) {
-        System.out.println(consoleRender.render(result));
+      DiffOptions diffOptions = DiffOptions.defaults();
+      if (line.hasOption("parallel")) {
+        try {
+          diffOptions.setParallelism(Integer.parseInt(line.getOptionValue("parallel")));
+        } catch (IllegalArgumentException e) {
+          throw new ParseException(
+              String.format(
+                  "Invalid number of threads. Given: %s", line.getOptionValue("parallel")));
+        }
       }
-      if (line.hasOption("html")) {
-        HtmlRender htmlRender = new HtmlRender();
-        String output = htmlRender.render(result);
-        String outputFile = line.getOptionValue("html");
-        writeOutput(output, outputFile);
+
+      OperationFilter filter = parseFilter(line);
+      diffOptions.setFilter(filter);
+      diffOptions.setMemoryBounded(line.hasOption("memory-bounded"));
+
+      boolean reported =
+          !logLevel.equals("OFF")
+              || line.hasOption("text")
+              || line.hasOption("html")
+              || line.hasOption("markdown")
+              || line.hasOption("json");
+      if (line.hasOption("severity-only")) {
+        if (reported) {
+          throw new ParseException(
+              "--severity-only cannot be combined with a report printed or exported, see --state"
+                  + " and -l OFF");
+        }
+        diffOptions.setSeverityOnly(true);
+      } else if (line.hasOption("fail-on-incompatible") && !line.hasOption("state") && !reported) {
+        // a gate only reading whether the diff is incompatible can stop once it is known
+        diffOptions.setSeverityOnly(true);
       }
-      if (line.hasOption("markdown")) {
-        MarkdownRender mdRender = new MarkdownRender();
-        String output = mdRender.render(result);
-        String outputFile = line.getOptionValue("markdown");
-        writeOutput(output, outputFile);
+
+      if (line.hasOption("batch")) {
+        if (line.hasOption("server")) {
+          throw new ParseException("--batch cannot be combined with --server");
+        }
+        if (line.hasOption("profile")) {
+          throw new ParseException("--batch cannot be combined with --profile");
+        }
+        Batch.FailOn failOn = Batch.FailOn.NONE;
+        if (line.hasOption("fail-on-incompatible")) {
+          failOn = Batch.FailOn.INCOMPATIBLE;
+        } else if (line.hasOption("fail-on-changed")) {
+          failOn = Batch.FailOn.CHANGED;
+        }
+        int threads =
+            line.hasOption("parallel")
+                ? diffOptions.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        System.exit(
+            new Batch(auths, threads, failOn, filter, diffOptions.isMemoryBounded())
+                .run(
+                    new File(line.getOptionValue("batch")),
+                    !logLevel.equals("OFF"),
+                    line.hasOption("state")));
       }
-      if (line.hasOption("text")) {
-        String output = consoleRender.render(result);
-        String outputFile = line.getOptionValue("text");
-        writeOutput(output, outputFile);
+
+      if (line.getArgList().size() < 2) {
+        throw new ParseException("Missing arguments");
       }
-      if (line.hasOption("json")) {
-        JsonRender jsonRender = new JsonRender();
-        String output = jsonRender.render(result);
-        String outputFile = line.getOptionValue("json");
-        writeOutput(output, outputFile);
+      String oldPath = line.getArgList().get(0);
+      String newPath = line.getArgList().get(1);
+
+      DiffResult diffResult;
+      if (line.hasOption("server")) {
+        if (line.hasOption("profile")) {
+          throw new ParseException("--server cannot be combined with --profile");
+        }
+        if (!filter.isEmpty()) {
+          throw new ParseException("--server cannot be combined with --include-* or --exclude-*");
+        }
+        diffResult = compareOnServer(line, oldPath, newPath, !logLevel.equals("OFF"));
+      } else {
+        ChangedOpenApi result = OpenApiCompare.fromLocations(oldPath, newPath, auths, diffOptions);
+        DiffResults results = new DiffResults();
+        boolean console = !logLevel.equals("OFF");
+        result
+            .getMetrics()
+            .time(
+                DiffMetrics.Phase.RENDER,
+                () -> {
+                  renderOutputs(line, result, results, console);
+                  if (line.hasOption("json")) {
+                    JsonRender jsonRender =
+                        line.hasOption("json-compact") ? JsonRender.compact() : new JsonRender();
+                    writeOutput(jsonRender, result, line.getOptionValue("json"));
+                  }
+                });
+        diffResult = results.get(result);
+        if (line.hasOption("profile")) {
+          // on the error stream, the standard one may hold the state or the console output
+          System.err.print(result.getMetrics());
+        }
       }
       if (line.hasOption("state")) {
-        System.out.println(result.isChanged().getValue());
+        System.out.println(diffResult.getValue());
         System.exit(0);
       } else if (line.hasOption("fail-on-incompatible")) {
-        System.exit(result.isCompatible() ? 0 : 1);
+        System.exit(diffResult.isCompatible() ? 0 : 1);
       } else if (line.hasOption("fail-on-changed")) {
-        System.exit(result.isUnchanged() ? 0 : 1);
+        System.exit(diffResult.isUnchanged() ? 0 : 1);
       }
     } catch (ParseException e) {
       // oops, something went wrong
@@ -223,6 +361,108 @@ public class Main {
     }
   }
 
+  private static void addFilterOption(
+      Options options, String longOpt, String argName, String description) {
+    options.addOption(
+        Option.builder().longOpt(longOpt).hasArg().argName(argName).desc(description).build());
+  }
+
+  private static OperationFilter parseFilter(CommandLine line) throws ParseException {
+    OperationFilter filter = OperationFilter.all();
+    filter.includePaths(filterValues(line, "include-path"));
+    filter.excludePaths(filterValues(line, "exclude-path"));
+    filter.includeTags(filterValues(line, "include-tag"));
+    filter.excludeTags(filterValues(line, "exclude-tag"));
+    filter.includeOperationIds(filterValues(line, "include-operation-id"));
+    filter.excludeOperationIds(filterValues(line, "exclude-operation-id"));
+    filter.includeMethods(methods(filterValues(line, "include-method")));
+    filter.excludeMethods(methods(filterValues(line, "exclude-method")));
+    return filter;
+  }
+
+  private static String[] filterValues(CommandLine line, String option) {
+    List<String> values = new ArrayList<>();
+    if (line.hasOption(option)) {
+      for (String value : line.getOptionValues(option)) {
+        for (String item : value.split(",")) {
+          if (!item.trim().isEmpty()) {
+            values.add(item.trim());
+          }
+        }
+      }
+    }
+    return values.toArray(new String[0]);
+  }
+
+  private static PathItem.HttpMethod[] methods(String[] values) throws ParseException {
+    PathItem.HttpMethod[] methods = new PathItem.HttpMethod[values.length];
+    for (int i = 0; i < values.length; i++) {
+      try {
+        methods[i] = PathItem.HttpMethod.valueOf(values[i].toUpperCase(Locale.ROOT));
+      } catch (IllegalArgumentException e) {
+        throw new ParseException(String.format("Invalid HTTP method. Given: %s", values[i]));
+      }
+    }
+    return methods;
+  }
+
+  /** Sends the documents to the server and writes the outputs it rendered. */
+  private static DiffResult compareOnServer(
+      CommandLine line, String oldPath, String newPath, boolean console)
+      throws ParseException, IOException {
+    String jsonFormat = line.hasOption("json-compact") ? "json-compact" : "json";
+    DiffRequest request =
+        new DiffRequest().setOldSpec(readLocalFile(oldPath)).setNewSpec(readLocalFile(newPath));
+    if (console || line.hasOption("text")) {
+      request.getFormats().add("text");
+    }
+    if (line.hasOption("html")) {
+      request.getFormats().add("html");
+    }
+    if (line.hasOption("markdown")) {
+      request.getFormats().add("markdown");
+    }
+    if (line.hasOption("json")) {
+      request.getFormats().add(jsonFormat);
+    }
+    DiffResponse response = new DiffClient(line.getOptionValue("server")).diff(request);
+    Map<String, String> outputs = response.getOutputs();
+    if (console) {
+      System.out.println(outputs.get("text"));
+    }
+    if (line.hasOption("text")) {
+      writeOutput(outputs.get("text"), line.getOptionValue("text"));
+    }
+    if (line.hasOption("html")) {
+      writeOutput(outputs.get("html"), line.getOptionValue("html"));
+    }
+    if (line.hasOption("markdown")) {
+      writeOutput(outputs.get("markdown"), line.getOptionValue("markdown"));
+    }
+    if (line.hasOption("json")) {
+      writeOutput(outputs.get(jsonFormat), line.getOptionValue("json"));
+    }
+    return DiffResult.valueOf(response.getResult());
+  }
+
+  private static String readLocalFile(String location) throws ParseException, IOException {
+    File file = new File(location);
+    if (!file.isFile()) {
+      throw new ParseException(
+          String.format("Only local files can be compared on a server. Given: %s", location));
+    }
+    String content = FileUtils.readFileToString(file, StandardCharsets.UTF_8);
+    // the server does not resolve them, they are neither sent nor readable from there
+    Optional<String> externalRef = ExternalRefs.find(content);
+    if (externalRef.isPresent()) {
+      throw new ParseException(
+          String.format(
+              "Specs referencing other documents cannot be compared on a server. %s references: %s",
+              location, externalRef.get()));
+    }
+    return content;
+  }
+
   private static void writeOutput(String output, String outputFile) {
     File file = new File(outputFile);
     logger.debug("Output file: {}", file.getAbsolutePath());
@@ -234,6 +474,80 @@ public class Main {
     }
   }
 
+  /**
+   * Renders the console, text, html and markdown outputs in a single walk of the diff. The console
+   * and text outputs share one render.
+   */
+  private static void renderOutputs(
+      CommandLine line, ChangedOpenApi result, DiffResults results, boolean console) {
+    List<OutputStream> files = new ArrayList<>();
+    List<Writer> writers = new ArrayList<>();
+    List<RenderVisitor> visitors = new ArrayList<>();
+    OutputStream consoleOutput = console ? System.out : null;
+    if (line.hasOption("text")) {
+      OutputStream text = openOutput(line.getOptionValue("text"), files);
+      consoleOutput = consoleOutput == null ? text : new TeeOutputStream(consoleOutput, text);
+    }
+    if (consoleOutput != null) {
+      visitors.add(new ConsoleRender().visitor(writer(consoleOutput, writers)));
+    }
+    if (line.hasOption("html")) {
+      OutputStream html = openOutput(line.getOptionValue("html"), files);
+      visitors.add(new HtmlRender().visitor(writer(html, writers)));
+    }
+    if (line.hasOption("markdown")) {
+      OutputStream markdown = openOutput(line.getOptionValue("markdown"), files);
+      visitors.add(new MarkdownRender().visitor(writer(markdown, writers)));
+    }
+    try {
+      RenderWalker.walk(result, visitors, results);
+      for (Writer writer : writers) {
+        writer.flush();
+      }
+      for (OutputStream file : files) {
+        file.close();
+      }
+    } catch (IOException e) {
+      logger.error("Impossible to write output", e);
+      System.exit(2);
+    }
+    if (console) {
+      System.out.println();
+    }
+  }
+
+  private static OutputStream openOutput(String outputFile, List<OutputStream> files) {
+    File file = new File(outputFile);
+    logger.debug("Output file: {}", file.getAbsolutePath());
+    try {
+      OutputStream outputStream = FileUtils.openOutputStream(file);
+      files.add(outputStream);
+      return outputStream;
+    } catch (IOException e) {
+      logger.error("Impossible to write output to file {}", outputFile, e);
+      System.exit(2);
+      return null;
+    }
+  }
+
+  private static Writer writer(OutputStream outputStream, List<Writer> writers) {
+    Writer writer =
+        new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    writers.add(writer);
+    return writer;
+  }
+
+  private static void writeOutput(Render render, ChangedOpenApi result, String outputFile) {
+    File file = new File(outputFile);
+    logger.debug("Output file: {}", file.getAbsolutePath());
+    try (OutputStream outputStream = FileUtils.openOutputStream(file)) {
+      render.render(result, outputStream);
+    } catch (IOException e) {
+      logger.error("Impossible to write output to file {}", outputFile, e);
+      System.exit(2);
+    }
+  }
+
   public static void printHelp(Options options) {
     HelpFormatter formatter = new HelpFormatter();
     formatter.printHelp("openapi-diff <old> <new>", options);
@@ -0,0 +1,49 @@
+package org.openapitools.openapidiff.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import org.apache.commons.io.IOUtils;
+
+/** Client of an openapi-diff server. */
+public class DiffClient {
+  /** Path of the comparisons, relative to the base url of the server. */
+  public static final String DIFF_PATH = "/diff";
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private final URL url;
+
+  /** @param serverUrl base url of the server, e.g. http://localhost:8080 */
+  public DiffClient(String serverUrl) throws IOException {
+    this.url = new URL(serverUrl.replaceAll("/+$", "") + DIFF_PATH);
+  }
+
+  public DiffResponse diff(DiffRequest request) throws IOException {
+    HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+    try {
+      connection.setRequestMethod("POST");
+      connection.setDoOutput(true);
+      connection.setRequestProperty("Content-Type", "application/json; charset=utf-8");
+      try (OutputStream body = connection.getOutputStream()) {
+        MAPPER.writeValue(body, request);
+      }
+      int status = connection.getResponseCode();
+      if (status != HttpURLConnection.HTTP_OK) {
+        String message;
+        try (InputStream error = connection.getErrorStream()) {
+          message = error == null ? "" : IOUtils.toString(error, StandardCharsets.UTF_8);
+        }
+        throw new IOException(String.format("Server returned %d: %s", status, message));
+      }
+      try (InputStream body = connection.getInputStream()) {
+        return MAPPER.readValue(body, DiffResponse.class);
+      }
+    } finally {
+      connection.disconnect();
+    }
+  }
+}
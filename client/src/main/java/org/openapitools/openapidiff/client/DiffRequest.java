@@ -0,0 +1,39 @@
+package org.openapitools.openapidiff.client;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Body of a comparison request: the contents of both specifications and the outputs wanted. */
+public class DiffRequest {
+  private String oldSpec;
+  private String newSpec;
+  private List<String> formats = new ArrayList<>();
+
+  public String getOldSpec() {
+    return oldSpec;
+  }
+
+  public DiffRequest setOldSpec(String oldSpec) {
+    this.oldSpec = oldSpec;
+    return this;
+  }
+
+  public String getNewSpec() {
+    return newSpec;
+  }
+
+  public DiffRequest setNewSpec(String newSpec) {
+    this.newSpec = newSpec;
+    return this;
+  }
+
+  /** Outputs to render, among text, markdown, html, json and json-compact. */
+  public List<String> getFormats() {
+    return formats;
+  }
+
+  public DiffRequest setFormats(List<String> formats) {
+    this.formats = formats;
+    return this;
+  }
+}
@@ -0,0 +1,29 @@
+package org.openapitools.openapidiff.client;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** Body of a comparison response: the result of the diff and the outputs by format. */
+public class DiffResponse {
+  private String result;
+  private Map<String, String> outputs = new LinkedHashMap<>();
+
+  /** Result of the diff: NO_CHANGES, METADATA, COMPATIBLE, UNKNOWN or INCOMPATIBLE. */
+  public String getResult() {
+    return result;
+  }
+
+  public DiffResponse setResult(String result) {
+    this.result = result;
+    return this;
+  }
+
+  public Map<String, String> getOutputs() {
+    return outputs;
+  }
+
+  public DiffResponse setOutputs(Map<String, String> outputs) {
+    this.outputs = outputs;
+    return this;
+  }
+}
@@ -5,17 +5,34 @@ import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.parser.core.models.AuthorizationValue;
 import io.swagger.v3.parser.core.models.ParseOptions;
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import org.openapitools.openapidiff.core.cache.SpecCache;
+import org.openapitools.openapidiff.core.compare.DiffOptions;
 import org.openapitools.openapidiff.core.compare.OpenApiDiff;
+import org.openapitools.openapidiff.core.compare.PreparedSpec;
+import org.openapitools.openapidiff.core.events.DiffEvents;
 import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.model.DiffMetrics;
+import org.openapitools.openapidiff.core.utils.ExternalRefs;
 
 public class OpenApiCompare {
-  private static final OpenAPIParser PARSER = new OpenAPIParser();
-  private static final ParseOptions OPTIONS = new ParseOptions();
-
-  static {
-    OPTIONS.setResolve(true);
-  }
 
   private OpenApiCompare() {}
 
@@ -40,7 +57,25 @@ public class OpenApiCompare {
    */
   public static ChangedOpenApi fromContents(
       String oldContent, String newContent, List<AuthorizationValue> auths) {
-    return fromSpecifications(readContent(oldContent, auths), readContent(newContent, auths));
+    return fromContents(oldContent, newContent, auths, DiffOptions.defaults());
+  }
+
+  /**
+   * compare two openapi doc
+   *
+   * @param oldContent old api-doc location:Json or Http
+   * @param newContent new api-doc location:Json or Http
+   * @param auths
+   * @param options diff options, a parallel diff parses both docs concurrently
+   * @return Comparison result
+   */
+  public static ChangedOpenApi fromContents(
+      String oldContent, String newContent, List<AuthorizationValue> auths, DiffOptions options) {
+    SpecCache cache = options.getSpecCache();
+    return compare(
+        () -> readContent(oldContent, auths, cache),
+        () -> readContent(newContent, auths, cache),
+        options);
   }
 
   /**
@@ -64,7 +99,21 @@ public class OpenApiCompare {
    */
   public static ChangedOpenApi fromFiles(
       File oldFile, File newFile, List<AuthorizationValue> auths) {
-    return fromLocations(oldFile.getAbsolutePath(), newFile.getAbsolutePath(), auths);
+    return fromFiles(oldFile, newFile, auths, DiffOptions.defaults());
+  }
+
+  /**
+   * compare two openapi doc
+   *
+   * @param oldFile old api-doc file
+   * @param newFile new api-doc file
+   * @param auths
+   * @param options diff options, a parallel diff parses both docs concurrently
+   * @return Comparison result
+   */
+  public static ChangedOpenApi fromFiles(
+      File oldFile, File newFile, List<AuthorizationValue> auths, DiffOptions options) {
+    return fromLocations(oldFile.getAbsolutePath(), newFile.getAbsolutePath(), auths, options);
   }
 
   /**
@@ -88,7 +137,25 @@ public class OpenApiCompare {
    */
   public static ChangedOpenApi fromLocations(
       String oldLocation, String newLocation, List<AuthorizationValue> auths) {
-    return fromSpecifications(readLocation(oldLocation, auths), readLocation(newLocation, auths));
+    return fromLocations(oldLocation, newLocation, auths, DiffOptions.defaults());
+  }
+
+  /**
+   * compare two openapi doc
+   *
+   * @param oldLocation old api-doc location (local or http)
+   * @param newLocation new api-doc location (local or http)
+   * @param auths
+   * @param options diff options, a parallel diff parses both docs concurrently
+   * @return Comparison result
+   */
+  public static ChangedOpenApi fromLocations(
+      String oldLocation, String newLocation, List<AuthorizationValue> auths, DiffOptions options) {
+    SpecCache cache = options.getSpecCache();
+    return compare(
+        () -> readLocation(oldLocation, auths, cache),
+        () -> readLocation(newLocation, auths, cache),
+        options);
   }
 
   /**
@@ -99,7 +166,105 @@ public class OpenApiCompare {
    * @return Comparison result
    */
   public static ChangedOpenApi fromSpecifications(OpenAPI oldSpec, OpenAPI newSpec) {
-    return OpenApiDiff.compare(notNull(oldSpec, "old"), notNull(newSpec, "new"));
+    return fromSpecifications(oldSpec, newSpec, DiffOptions.defaults());
+  }
+
+  /**
+   * compare two openapi doc
+   *
+   * @param oldSpec old api-doc specification
+   * @param newSpec new api-doc specification
+   * @param options diff options
+   * @return Comparison result
+   */
+  public static ChangedOpenApi fromSpecifications(
+      OpenAPI oldSpec, OpenAPI newSpec, DiffOptions options) {
+    return OpenApiDiff.compare(notNull(oldSpec, "old"), notNull(newSpec, "new"), options);
+  }
+
+  /**
+   * compare one openapi doc against several others, the baseline being prepared only once
+   *
+   * @param baseline old api-doc specification
+   * @param candidates new api-doc specifications
+   * @param executor executor running the comparisons concurrently
+   * @return Comparison results in completion order, {@link ChangedOpenApi#getNewSpecOpenApi()}
+   *     tells the candidate of each result
+   */
+  public static Iterator<ChangedOpenApi> compareAll(
+      OpenAPI baseline, Collection<OpenAPI> candidates, Executor executor) {
+    PreparedSpec prepared = PreparedSpec.of(notNull(baseline, "old"));
+    CompletionService<ChangedOpenApi> completion = new ExecutorCompletionService<>(executor);
+    for (OpenAPI candidate : candidates) {
+      notNull(candidate, "new");
+      completion.submit(
+          () -> OpenApiDiff.compare(prepared, PreparedSpec.of(candidate), DiffOptions.defaults()));
+    }
+    int count = candidates.size();
+    return new Iterator<ChangedOpenApi>() {
+      private int remaining = count;
+
+      @Override
+      public boolean hasNext() {
+        return remaining > 0;
+      }
+
+      @Override
+      public ChangedOpenApi next() {
+        if (remaining == 0) {
+          throw new NoSuchElementException();
+        }
+        remaining--;
+        try {
+          return completion.take().get();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IllegalStateException("Interrupted while waiting for a comparison", e);
+        } catch (ExecutionException e) {
+          if (e.getCause() instanceof RuntimeException) {
+            throw (RuntimeException) e.getCause();
+          } else if (e.getCause() instanceof Error) {
+            throw (Error) e.getCause();
+          }
+          throw new IllegalStateException(e.getCause());
+        }
+      }
+    };
+  }
+
+  private static ChangedOpenApi compare(
+      Supplier<OpenAPI> oldSpec, Supplier<OpenAPI> newSpec, DiffOptions options) {
+    if (!options.isParallel()) {
+      long start = System.nanoTime();
+      OpenAPI oldOpenApi = oldSpec.get();
+      OpenAPI newOpenApi = newSpec.get();
+      return withParseTime(
+          fromSpecifications(oldOpenApi, newOpenApi, options), System.nanoTime() - start);
+    }
+    if (options.getExecutor() != null) {
+      return parseAndCompare(oldSpec, newSpec, options);
+    }
+    // the same pool parses the docs and diffs them
+    ForkJoinPool pool = new ForkJoinPool(options.getParallelism());
+    try {
+      return parseAndCompare(oldSpec, newSpec, options.copy().setExecutor(pool));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private static ChangedOpenApi parseAndCompare(
+      Supplier<OpenAPI> oldSpec, Supplier<OpenAPI> newSpec, DiffOptions options) {
+    long start = System.nanoTime();
+    List<OpenAPI> specs =
+        OpenApiDiff.invokeAll(Arrays.asList(oldSpec, newSpec), options.getExecutor());
+    return withParseTime(
+        fromSpecifications(specs.get(0), specs.get(1), options), System.nanoTime() - start);
+  }
+
+  private static ChangedOpenApi withParseTime(ChangedOpenApi diff, long elapsedNanos) {
+    diff.getMetrics().addTime(DiffMetrics.Phase.PARSE, elapsedNanos);
+    return diff;
   }
 
   private static OpenAPI notNull(OpenAPI spec, String type) {
@@ -109,11 +274,96 @@ public class OpenApiCompare {
     return spec;
   }
 
+  // a parser and its options per call, docs may be parsed concurrently
+  private static ParseOptions parseOptions() {
+    ParseOptions options = new ParseOptions();
+    options.setResolve(true);
+    return options;
+  }
+
+  private static OpenAPI readContent(
+      String content, List<AuthorizationValue> auths, SpecCache cache) {
+    if (cache == null || ExternalRefs.find(content).isPresent()) {
+      return readContent(content, auths);
+    }
+    return cached(
+        cache,
+        SpecCache.key(null, content.getBytes(StandardCharsets.UTF_8), auths),
+        () -> readContent(content, auths));
+  }
+
   private static OpenAPI readContent(String content, List<AuthorizationValue> auths) {
-    return PARSER.readContents(content, auths, OPTIONS).getOpenAPI();
+    DiffEvents.Event event = DiffEvents.SPEC_PARSE.begin();
+    try {
+      return new OpenAPIParser().readContents(content, auths, parseOptions()).getOpenAPI();
+    } finally {
+      if (event != null) {
+        event.commit(null, (long) content.getBytes(StandardCharsets.UTF_8).length);
+      }
+    }
+  }
+
+  private static OpenAPI readLocation(
+      String location, List<AuthorizationValue> auths, SpecCache cache) {
+    // only local files are cached, remote documents are read by the parser, and so are the
+    // documents a cached entry would not cover
+    Path file = localFile(location);
+    if (cache == null || file == null) {
+      return readLocation(location, auths);
+    }
+    byte[] source;
+    try {
+      source = Files.readAllBytes(file);
+    } catch (IOException e) {
+      return readLocation(location, auths);
+    }
+    if (ExternalRefs.find(new String(source, StandardCharsets.UTF_8)).isPresent()) {
+      return readLocation(location, auths);
+    }
+    return cached(
+        cache,
+        SpecCache.key(file.toAbsolutePath().normalize().toString(), source, auths),
+        () -> readLocation(location, auths));
   }
 
   private static OpenAPI readLocation(String location, List<AuthorizationValue> auths) {
-    return PARSER.readLocation(location, auths, OPTIONS).getOpenAPI();
+    DiffEvents.Event event = DiffEvents.SPEC_PARSE.begin();
+    try {
+      return new OpenAPIParser().readLocation(location, auths, parseOptions()).getOpenAPI();
+    } finally {
+      if (event != null) {
+        event.commit(location, size(location));
+      }
+    }
+  }
+
+  private static long size(String location) {
+    Path file = localFile(location);
+    try {
+      return file == null ? -1 : Files.size(file);
+    } catch (IOException e) {
+      return -1;
+    }
+  }
+
+  private static Path localFile(String location) {
+    try {
+      Path file = Paths.get(location);
+      return Files.isRegularFile(file) ? file : null;
+    } catch (InvalidPathException e) {
+      return null;
+    }
+  }
+
+  private static OpenAPI cached(SpecCache cache, String key, Supplier<OpenAPI> parse) {
+    Optional<OpenAPI> cached = cache.get(key);
+    if (cached.isPresent()) {
+      return cached.get();
+    }
+    OpenAPI openApi = parse.get();
+    if (openApi != null) {
+      cache.put(key, openApi);
+    }
+    return openApi;
   }
 }
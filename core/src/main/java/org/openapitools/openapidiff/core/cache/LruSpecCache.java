@@ -0,0 +1,127 @@
+package org.openapitools.openapidiff.core.cache;
+
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link SpecCache} keeping the most recently used specifications in memory, and optionally every
+ * specification in a directory. Both tiers hold gzipped JSON, which is read back into a new {@link
+ * OpenAPI} on every hit.
+ */
+public class LruSpecCache implements SpecCache {
+  private static final Logger log = LoggerFactory.getLogger(LruSpecCache.class);
+  private static final String SUFFIX = ".json.gz";
+
+  private final Map<String, byte[]> memory;
+  private final Path directory;
+
+  public LruSpecCache(int maxEntries) {
+    this(maxEntries, null);
+  }
+
+  /**
+   * @param maxEntries number of specifications kept in memory
+   * @param directory directory of the on-disk tier, or null for a memory only cache
+   */
+  public LruSpecCache(int maxEntries, Path directory) {
+    if (maxEntries < 1) {
+      throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+    }
+    this.memory =
+        new LinkedHashMap<String, byte[]>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+            return size() > maxEntries;
+          }
+        };
+    this.directory = directory;
+  }
+
+  @Override
+  public Optional<OpenAPI> get(String key) {
+    byte[] serialized;
+    synchronized (memory) {
+      serialized = memory.get(key);
+    }
+    if (serialized == null && directory != null) {
+      serialized = readFile(key);
+      if (serialized != null) {
+        synchronized (memory) {
+          memory.put(key, serialized);
+        }
+      }
+    }
+    if (serialized == null) {
+      return Optional.empty();
+    }
+    log.debug("Spec cache hit {}", key);
+    return Optional.of(deserialize(serialized));
+  }
+
+  @Override
+  public void put(String key, OpenAPI openApi) {
+    byte[] serialized = serialize(openApi);
+    synchronized (memory) {
+      memory.put(key, serialized);
+    }
+    if (directory != null) {
+      writeFile(key, serialized);
+    }
+  }
+
+  private byte[] readFile(String key) {
+    Path file = directory.resolve(key + SUFFIX);
+    try {
+      return Files.isRegularFile(file) ? Files.readAllBytes(file) : null;
+    } catch (IOException e) {
+      log.warn("Impossible to read cached spec {}", file, e);
+      return null;
+    }
+  }
+
+  private void writeFile(String key, byte[] serialized) {
+    try {
+      Files.createDirectories(directory);
+      // written aside and moved, concurrent readers never see a partial file
+      Path temp = Files.createTempFile(directory, key, ".tmp");
+      Files.write(temp, serialized);
+      Files.move(temp, directory.resolve(key + SUFFIX), StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      log.warn("Impossible to write cached spec {} to {}", key, directory, e);
+    }
+  }
+
+  private static byte[] serialize(OpenAPI openApi) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (OutputStream out = new GZIPOutputStream(bytes)) {
+      Json.mapper().writeValue(out, openApi);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static OpenAPI deserialize(byte[] serialized) {
+    try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(serialized))) {
+      return Json.mapper().readValue(in, OpenAPI.class);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package org.openapitools.openapidiff.core.cache;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.core.models.AuthorizationValue;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Cache of parsed and resolved specifications, keyed by the hash of their source document, its
+ * location and the authorizations it was read with. The key does not cover the external documents a
+ * specification references, so documents with external references are not cached.
+ *
+ * <p>Preparing a specification for a diff modifies it, so every lookup must return a new copy.
+ * Implementations are called concurrently by parallel diffs.
+ */
+public interface SpecCache {
+
+  Optional<OpenAPI> get(String key);
+
+  void put(String key, OpenAPI openApi);
+
+  /**
+   * Hex encoded SHA-256 of the source document read from a location with authorizations.
+   *
+   * @param location absolute location of the document, or null for content read directly
+   * @param auths authorizations, or null
+   */
+  static String key(String location, byte[] source, List<AuthorizationValue> auths) {
+    List<String> fields = new ArrayList<>();
+    fields.add(location);
+    if (auths != null) {
+      for (AuthorizationValue auth : auths) {
+        fields.add(auth.getType());
+        fields.add(auth.getKeyName());
+        fields.add(auth.getValue());
+      }
+    }
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      // lengths keep the fields apart, the document comes last
+      for (String field : fields) {
+        byte[] bytes = field == null ? new byte[0] : field.getBytes(StandardCharsets.UTF_8);
+        digest.update(ByteBuffer.allocate(4).putInt(field == null ? -1 : bytes.length).array());
+        digest.update(bytes);
+      }
+      StringBuilder key = new StringBuilder();
+      for (byte b : digest.digest(source)) {
+        key.append(String.format("%02x", b));
+      }
+      return key.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
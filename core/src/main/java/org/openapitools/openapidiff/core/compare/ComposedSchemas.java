@@ -0,0 +1,145 @@
+package org.openapitools.openapidiff.core.compare;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.callbacks.Callback;
+import io.swagger.v3.oas.models.headers.Header;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.Encoding;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Merges the allOf members of every composed schema of a specification into the schema itself, as
+ * the schema diff would on first visit. Done once while preparing the specification, the diffs
+ * sharing it only read it.
+ */
+final class ComposedSchemas {
+  private final Components components;
+  private final Set<Schema<?>> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+  private ComposedSchemas(Components components) {
+    this.components = components;
+  }
+
+  static void resolve(OpenAPI openApi) {
+    ComposedSchemas composedSchemas = new ComposedSchemas(openApi.getComponents());
+    composedSchemas.components(openApi.getComponents());
+    if (openApi.getPaths() != null) {
+      openApi.getPaths().values().forEach(composedSchemas::pathItem);
+    }
+  }
+
+  private void components(Components definitions) {
+    if (definitions != null) {
+      forEach(values(definitions.getSchemas()), this::schema);
+      forEach(values(definitions.getParameters()), this::parameter);
+      forEach(values(definitions.getResponses()), this::response);
+      forEach(values(definitions.getRequestBodies()), this::requestBody);
+      forEach(values(definitions.getHeaders()), this::header);
+    }
+  }
+
+  private static <T> Collection<T> values(Map<String, T> values) {
+    return values != null ? values.values() : null;
+  }
+
+  private static <T> void forEach(Collection<T> values, Consumer<T> visitor) {
+    if (values != null) {
+      for (T value : values) {
+        visitor.accept(value);
+      }
+    }
+  }
+
+  private void pathItem(PathItem pathItem) {
+    forEach(pathItem.getParameters(), this::parameter);
+    forEach(pathItem.readOperations(), this::operation);
+  }
+
+  private void operation(Operation operation) {
+    forEach(operation.getParameters(), this::parameter);
+    requestBody(operation.getRequestBody());
+    if (operation.getResponses() != null) {
+      forEach(operation.getResponses().values(), this::response);
+    }
+    if (operation.getCallbacks() != null) {
+      for (Callback callback : operation.getCallbacks().values()) {
+        forEach(callback.values(), this::pathItem);
+      }
+    }
+  }
+
+  private void parameter(Parameter parameter) {
+    if (parameter != null) {
+      schema(parameter.getSchema());
+      content(parameter.getContent());
+    }
+  }
+
+  private void requestBody(RequestBody requestBody) {
+    if (requestBody != null) {
+      content(requestBody.getContent());
+    }
+  }
+
+  private void response(ApiResponse response) {
+    if (response != null) {
+      forEach(values(response.getHeaders()), this::header);
+      content(response.getContent());
+    }
+  }
+
+  private void header(Header header) {
+    if (header != null) {
+      schema(header.getSchema());
+      content(header.getContent());
+    }
+  }
+
+  private void content(Content content) {
+    if (content != null) {
+      for (MediaType mediaType : content.values()) {
+        schema(mediaType.getSchema());
+        if (mediaType.getEncoding() != null) {
+          for (Encoding encoding : mediaType.getEncoding().values()) {
+            forEach(values(encoding.getHeaders()), this::header);
+          }
+        }
+      }
+    }
+  }
+
+  private void schema(Schema<?> schema) {
+    if (schema == null || !visited.add(schema)) {
+      return;
+    }
+    SchemaDiff.resolveComposedSchema(components, schema);
+    forEach(values(schema.getProperties()), this::schema);
+    if (schema.getAdditionalProperties() instanceof Schema) {
+      schema((Schema<?>) schema.getAdditionalProperties());
+    }
+    schema(schema.getNot());
+    if (schema instanceof ArraySchema) {
+      schema(((ArraySchema) schema).getItems());
+    }
+    if (schema instanceof ComposedSchema) {
+      ComposedSchema composedSchema = (ComposedSchema) schema;
+      forEach(composedSchema.getAnyOf(), this::schema);
+      forEach(composedSchema.getOneOf(), this::schema);
+    }
+  }
+}
@@ -0,0 +1,116 @@
+package org.openapitools.openapidiff.core.compare;
+
+import java.util.concurrent.Executor;
+import org.openapitools.openapidiff.core.cache.SpecCache;
+
+/** Options controlling how {@link OpenApiDiff} computes a diff. */
+public class DiffOptions {
+  private int parallelism = 1;
+  private Executor executor;
+  private SpecCache specCache;
+  private boolean severityOnly;
+  private boolean memoryBounded;
+  private OperationFilter filter = OperationFilter.all();
+
+  public static DiffOptions defaults() {
+    return new DiffOptions();
+  }
+
+  /**
+   * Parse the specifications and diff path items and deferred schemas on a pool of the given number
+   * of threads. The result is the same as the one of a serial run.
+   */
+  public static DiffOptions parallelism(int parallelism) {
+    return new DiffOptions().setParallelism(parallelism);
+  }
+
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  public DiffOptions setParallelism(int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+    }
+    this.parallelism = parallelism;
+    return this;
+  }
+
+  public Executor getExecutor() {
+    return executor;
+  }
+
+  /**
+   * Executor running the concurrent tasks of the diff, in place of a pool of {@link
+   * #getParallelism()} threads created for each diff. It is not shut down by the diff.
+   */
+  public DiffOptions setExecutor(Executor executor) {
+    this.executor = executor;
+    return this;
+  }
+
+  public SpecCache getSpecCache() {
+    return specCache;
+  }
+
+  /** Cache of parsed specifications, looked up by OpenApiCompare before parsing a document. */
+  public DiffOptions setSpecCache(SpecCache specCache) {
+    this.specCache = specCache;
+    return this;
+  }
+
+  public boolean isSeverityOnly() {
+    return severityOnly;
+  }
+
+  /**
+   * Compute the diff only as far as its {@link org.openapitools.openapidiff.core.model.DiffResult}:
+   * metadata such as descriptions and summaries is not compared, and no more operations or schemas
+   * are compared once an incompatible change is found. The diff then tells whether the API is
+   * compatible, but misses changes and reports metadata changes as no changes; it is meant for
+   * gates which only read its result.
+   */
+  public DiffOptions setSeverityOnly(boolean severityOnly) {
+    this.severityOnly = severityOnly;
+    return this;
+  }
+
+  public boolean isMemoryBounded() {
+    return memoryBounded;
+  }
+
+  /**
+   * Release the schemas and recursion sets of every compared schema once it is processed, keeping
+   * only its result, so that the resolved specifications are not held twice until the diff is done.
+   * Lowers the peak heap of large specifications; the diff is the same.
+   */
+  public DiffOptions setMemoryBounded(boolean memoryBounded) {
+    this.memoryBounded = memoryBounded;
+    return this;
+  }
+
+  public OperationFilter getFilter() {
+    return filter;
+  }
+
+  /** Operations the diff is restricted to, all of them by default. */
+  public DiffOptions setFilter(OperationFilter filter) {
+    this.filter = filter;
+    return this;
+  }
+
+  public boolean isParallel() {
+    return parallelism > 1 || executor != null;
+  }
+
+  public DiffOptions copy() {
+    DiffOptions options = new DiffOptions();
+    options.parallelism = this.parallelism;
+    options.executor = this.executor;
+    options.specCache = this.specCache;
+    options.severityOnly = this.severityOnly;
+    options.memoryBounded = this.memoryBounded;
+    options.filter = this.filter;
+    return options;
+  }
+}
@@ -3,6 +3,7 @@ package org.openapitools.openapidiff.core.compare;
 import static org.openapitools.openapidiff.core.utils.ChangedUtils.isChanged;
 import static org.openapitools.openapidiff.core.utils.Copy.copyMap;
 
+import java.lang.ref.WeakReference;
 import java.util.*;
 import java.util.function.Function;
 import org.openapitools.openapidiff.core.model.Change;
@@ -13,14 +14,60 @@ import org.openapitools.openapidiff.core.model.DiffContext;
 public class ExtensionsDiff {
   private final OpenApiDiff openApiDiff;
 
+  // the class path is scanned once per class loader, extension diffs keep a reference to their
+  // diff so they are instantiated for each diff. The classes are weakly referenced, a class
+  // strongly references its loader, which would then never be collected.
+  private static final Map<ClassLoader, List<WeakReference<Class<? extends ExtensionDiff>>>>
+      extensionDiffTypes = Collections.synchronizedMap(new WeakHashMap<>());
+
   private final List<ExtensionDiff> extensionDiffs = new ArrayList<>();
 
   public ExtensionsDiff(OpenApiDiff openApiDiff) {
     this.openApiDiff = openApiDiff;
-    ServiceLoader<ExtensionDiff> extensionsLoader = ServiceLoader.load(ExtensionDiff.class);
-    extensionsLoader.reload();
-    for (ExtensionDiff anExtensionsLoader : extensionsLoader) {
-      extensionDiffs.add(anExtensionsLoader);
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    List<Class<? extends ExtensionDiff>> types = getExtensionDiffTypes(classLoader);
+    if (types == null) {
+      List<WeakReference<Class<? extends ExtensionDiff>>> references = new ArrayList<>();
+      ServiceLoader<ExtensionDiff> extensionsLoader = ServiceLoader.load(ExtensionDiff.class);
+      for (ExtensionDiff anExtensionsLoader : extensionsLoader) {
+        extensionDiffs.add(anExtensionsLoader);
+        references.add(new WeakReference<>(anExtensionsLoader.getClass()));
+      }
+      extensionDiffTypes.put(classLoader, references);
+    } else {
+      for (Class<? extends ExtensionDiff> type : types) {
+        extensionDiffs.add(newExtensionDiff(type));
+      }
+    }
+  }
+
+  /** The extension diffs found for the class loader, or null if they have to be looked up. */
+  private static List<Class<? extends ExtensionDiff>> getExtensionDiffTypes(
+      ClassLoader classLoader) {
+    List<WeakReference<Class<? extends ExtensionDiff>>> references =
+        extensionDiffTypes.get(classLoader);
+    if (references == null) {
+      return null;
+    }
+    List<Class<? extends ExtensionDiff>> types = new ArrayList<>(references.size());
+    for (WeakReference<Class<? extends ExtensionDiff>> reference : references) {
+      Class<? extends ExtensionDiff> type = reference.get();
+      if (type == null) {
+        // unloaded along with the loader of an extension
+        return null;
+      }
+      types.add(type);
+    }
+    return types;
+  }
+
+  private static ExtensionDiff newExtensionDiff(Class<? extends ExtensionDiff> type) {
+    try {
+      return type.getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException e) {
+      throw new ServiceConfigurationError(
+          ExtensionDiff.class.getName() + ": Provider " + type.getName() + " could not be created",
+          e);
     }
   }
 
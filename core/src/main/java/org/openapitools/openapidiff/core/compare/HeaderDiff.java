@@ -8,6 +8,7 @@ import java.util.Optional;
 import org.openapitools.openapidiff.core.model.Changed;
 import org.openapitools.openapidiff.core.model.ChangedHeader;
 import org.openapitools.openapidiff.core.model.DiffContext;
+import org.openapitools.openapidiff.core.model.DiffMetrics;
 import org.openapitools.openapidiff.core.model.deferred.DeferredBuilder;
 import org.openapitools.openapidiff.core.model.deferred.DeferredChanged;
 import org.openapitools.openapidiff.core.utils.RefPointer;
@@ -35,6 +36,16 @@ public class HeaderDiff extends ReferenceDiffCache<Header, ChangedHeader> {
     return cachedDiff(new HashSet<>(), left, right, left.get$ref(), right.get$ref(), context);
   }
 
+  @Override
+  protected DiffMetrics getMetrics() {
+    return openApiDiff.getMetrics();
+  }
+
+  @Override
+  protected boolean isIdentical(Header left, Header right) {
+    return openApiDiff.isIdentical(left, right);
+  }
+
   @Override
   protected DeferredChanged<ChangedHeader> computeDiff(
       HashSet<String> refSet, Header left, Header right, DiffContext context) {
@@ -0,0 +1,167 @@
+package org.openapitools.openapidiff.core.compare;
+
+import static org.openapitools.openapidiff.core.compare.PathsDiff.valOrEmpty;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.security.SecurityScheme;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.openapitools.openapidiff.core.fingerprint.Fingerprint;
+import org.openapitools.openapidiff.core.fingerprint.SpecFingerprints;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.model.ChangedPaths;
+import org.openapitools.openapidiff.core.model.deferred.DeferredSchemaCache;
+import org.openapitools.openapidiff.core.model.deferred.SchemaDiffOperation;
+
+/**
+ * A comparison against a baseline, compared again as the new specification is edited, e.g. on every
+ * save in an editor:
+ *
+ * <pre>
+ * IncrementalDiff diff = IncrementalDiff.start(baseline, PreparedSpec.of(edited), options);
+ * ...
+ * ChangedOpenApi changed = diff.update(PreparedSpec.of(saved));
+ * </pre>
+ *
+ * <p>An update only compares the path items whose fingerprint changed, that is the path items which
+ * changed or reach a changed component through a $ref. The diffs of the other path items and of the
+ * schemas whose components did not change are taken from the previous comparison, and still refer
+ * to the objects of the specification it compared. All the path items are compared again when a
+ * path or an operation was added or removed, or a security scheme changed.
+ *
+ * <p>Updates are not thread safe.
+ */
+public final class IncrementalDiff {
+  private final PreparedSpec oldSpec;
+  private final DiffOptions options;
+  private PreparedSpec newSpec;
+  private Map<String, Fingerprint> pathFingerprints;
+  private ChangedOpenApi result;
+  private ChangedPaths changedPaths;
+  // schemas reached from every compared new path item, by url
+  private Map<String, Set<SchemaDiffOperation>> reachable;
+
+  private IncrementalDiff(PreparedSpec oldSpec, DiffOptions options) {
+    this.oldSpec = oldSpec;
+    this.options = options;
+  }
+
+  /** Compares the specifications a first time. */
+  public static IncrementalDiff start(
+      PreparedSpec oldSpec, PreparedSpec newSpec, DiffOptions options) {
+    IncrementalDiff incrementalDiff = new IncrementalDiff(oldSpec, options);
+    incrementalDiff.compare(newSpec, fingerprint(newSpec), Collections.emptySet());
+    return incrementalDiff;
+  }
+
+  /** Diff of the last comparison. */
+  public ChangedOpenApi getResult() {
+    return result;
+  }
+
+  /** Compares the baseline with a new version of the new specification. */
+  public ChangedOpenApi update(PreparedSpec spec) {
+    Map<String, Fingerprint> fingerprints = fingerprint(spec);
+    Set<String> unchanged = new HashSet<>();
+    // a severity only diff may have skipped the comparison of path items and schemas
+    if (!options.isSeverityOnly() && isSameShape(spec, fingerprints)) {
+      fingerprints.forEach(
+          (url, fingerprint) -> {
+            if (Fingerprint.same(fingerprint, pathFingerprints.get(url))) {
+              unchanged.add(url);
+            }
+          });
+    }
+    return compare(spec, fingerprints, unchanged);
+  }
+
+  private ChangedOpenApi compare(
+      PreparedSpec spec, Map<String, Fingerprint> fingerprints, Set<String> unchanged) {
+    OpenApiDiff openApiDiff = OpenApiDiff.of(oldSpec, spec, options);
+    openApiDiff.trackPaths();
+    DeferredSchemaCache cache = openApiDiff.getDeferredSchemaCache();
+    if (!unchanged.isEmpty()) {
+      openApiDiff.reusePaths(unchanged, changedPaths);
+      SpecFingerprints previous = newSpec.getFingerprints();
+      for (Set<SchemaDiffOperation> operations : reachable.values()) {
+        for (SchemaDiffOperation operation : operations) {
+          // the old specification is the same, the diff only depends on the new component
+          String ref = operation.getKey().getRight();
+          if (Fingerprint.same(
+              previous.getComponent(ref), spec.getFingerprints().getComponent(ref))) {
+            cache.reuse(operation);
+          }
+        }
+      }
+    }
+    ChangedOpenApi changedOpenApi = openApiDiff.compare();
+
+    Map<String, Set<SchemaDiffOperation>> reached = new LinkedHashMap<>();
+    openApiDiff
+        .getMatchedPaths()
+        .forEach(
+            (rightUrl, leftUrl) ->
+                reached.put(
+                    rightUrl,
+                    unchanged.contains(rightUrl)
+                        ? reachable.getOrDefault(rightUrl, Collections.emptySet())
+                        : cache.getReachable(leftUrl)));
+    if (!unchanged.isEmpty()) {
+      // the schemas of the reused path items were not requested by this comparison
+      Set<SchemaDiffOperation> operations = new LinkedHashSet<>();
+      reached.values().forEach(operations::addAll);
+      changedOpenApi.setChangedSchemas(DeferredSchemaCache.getChangedSchemas(operations));
+    }
+
+    this.newSpec = spec;
+    this.pathFingerprints = fingerprints;
+    this.changedPaths = openApiDiff.getChangedPaths();
+    this.reachable = reached;
+    this.result = changedOpenApi;
+    return changedOpenApi;
+  }
+
+  /**
+   * Whether the path items of the specification are matched with the old ones as the previous ones
+   * were: the paths and their operations are the same, and so are the security schemes.
+   */
+  private boolean isSameShape(PreparedSpec spec, Map<String, Fingerprint> fingerprints) {
+    if (!fingerprints.keySet().equals(pathFingerprints.keySet())
+        || !Objects.equals(securitySchemes(newSpec), securitySchemes(spec))) {
+      return false;
+    }
+    Map<String, PathItem> previous = valOrEmpty(newSpec.getOpenApi().getPaths());
+    Map<String, PathItem> next = valOrEmpty(spec.getOpenApi().getPaths());
+    for (Map.Entry<String, Fingerprint> entry : fingerprints.entrySet()) {
+      String url = entry.getKey();
+      if (!Fingerprint.same(entry.getValue(), pathFingerprints.get(url))
+          && !previous
+              .get(url)
+              .readOperationsMap()
+              .keySet()
+              .equals(next.get(url).readOperationsMap().keySet())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static Map<String, SecurityScheme> securitySchemes(PreparedSpec spec) {
+    Components components = spec.getOpenApi().getComponents();
+    return components == null ? null : components.getSecuritySchemes();
+  }
+
+  private static Map<String, Fingerprint> fingerprint(PreparedSpec spec) {
+    Map<String, Fingerprint> fingerprints = new HashMap<>();
+    valOrEmpty(spec.getOpenApi().getPaths())
+        .forEach((url, pathItem) -> fingerprints.put(url, spec.getFingerprints().get(pathItem)));
+    return fingerprints;
+  }
+}
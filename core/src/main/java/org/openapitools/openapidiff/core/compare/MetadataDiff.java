@@ -7,9 +7,16 @@ import org.openapitools.openapidiff.core.model.ChangedMetadata;
 import org.openapitools.openapidiff.core.model.DiffContext;
 
 public class MetadataDiff {
-  public MetadataDiff(OpenApiDiff openApiDiff) {}
+  private final OpenApiDiff openApiDiff;
+
+  public MetadataDiff(OpenApiDiff openApiDiff) {
+    this.openApiDiff = openApiDiff;
+  }
 
   public Optional<ChangedMetadata> diff(String left, String right, DiffContext context) {
+    if (openApiDiff.getOptions().isSeverityOnly()) {
+      return Optional.empty();
+    }
     return isChanged(new ChangedMetadata().setLeft(left).setRight(right));
   }
 }
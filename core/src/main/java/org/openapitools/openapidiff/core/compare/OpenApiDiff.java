@@ -6,15 +6,28 @@ import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.PathItem;
 import io.swagger.v3.oas.models.security.SecurityRequirement;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import org.openapitools.openapidiff.core.fingerprint.Fingerprint;
+import org.openapitools.openapidiff.core.fingerprint.SpecFingerprints;
 import org.openapitools.openapidiff.core.model.ChangedExtensions;
 import org.openapitools.openapidiff.core.model.ChangedOpenApi;
 import org.openapitools.openapidiff.core.model.ChangedOperation;
 import org.openapitools.openapidiff.core.model.ChangedPath;
 import org.openapitools.openapidiff.core.model.ChangedPaths;
+import org.openapitools.openapidiff.core.model.DiffMetrics;
 import org.openapitools.openapidiff.core.model.Endpoint;
+import org.openapitools.openapidiff.core.model.ReferenceIndex;
 import org.openapitools.openapidiff.core.model.deferred.DeferredChanged;
 import org.openapitools.openapidiff.core.model.deferred.DeferredSchemaCache;
 import org.openapitools.openapidiff.core.utils.EndpointUtils;
@@ -46,14 +59,32 @@ public class OpenApiDiff {
   private List<ChangedOperation> changedOperations;
   private ChangedExtensions changedExtensions;
   private DeferredSchemaCache deferredSchemaCache;
+  private SpecFingerprints oldFingerprints;
+  private SpecFingerprints newFingerprints;
+  private ReferenceIndex oldReferences;
+  private ReferenceIndex newReferences;
+  private RefIds oldRefIds;
+  private RefIds newRefIds;
+  private final DiffOptions options;
+  private final DiffMetrics metrics = new DiffMetrics();
+  private Executor executor;
+  private volatile boolean incompatible;
+  private ChangedPaths changedPaths;
+  // new path items whose diff is taken from a previous diff, by url
+  private Set<String> reusedPaths = Collections.emptySet();
+  private ChangedPaths previousPaths;
+  // old url of every compared path item, by new url, when tracked
+  private Map<String, String> matchedPaths;
 
   /*
    * @param oldSpecOpenApi
    * @param newSpecOpenApi
+   * @param options
    */
-  private OpenApiDiff(OpenAPI oldSpecOpenApi, OpenAPI newSpecOpenApi) {
+  private OpenApiDiff(OpenAPI oldSpecOpenApi, OpenAPI newSpecOpenApi, DiffOptions options) {
     this.oldSpecOpenApi = oldSpecOpenApi;
     this.newSpecOpenApi = newSpecOpenApi;
+    this.options = options;
     if (null == oldSpecOpenApi || null == newSpecOpenApi) {
       throw new RuntimeException("one of the old or new object is null");
     }
@@ -61,7 +92,26 @@ public class OpenApiDiff {
   }
 
   public static ChangedOpenApi compare(OpenAPI oldSpec, OpenAPI newSpec) {
-    return new OpenApiDiff(oldSpec, newSpec).compare();
+    return compare(oldSpec, newSpec, DiffOptions.defaults());
+  }
+
+  public static ChangedOpenApi compare(OpenAPI oldSpec, OpenAPI newSpec, DiffOptions options) {
+    return new OpenApiDiff(oldSpec, newSpec, options).compare();
+  }
+
+  /** Compares specifications already prepared, e.g. a baseline shared by several comparisons. */
+  public static ChangedOpenApi compare(
+      PreparedSpec oldSpec, PreparedSpec newSpec, DiffOptions options) {
+    return of(oldSpec, newSpec, options).compare();
+  }
+
+  /** A diff of prepared specifications whose passes have not run yet, e.g. to time them apart. */
+  static OpenApiDiff of(PreparedSpec oldSpec, PreparedSpec newSpec, DiffOptions options) {
+    OpenApiDiff openApiDiff = new OpenApiDiff(oldSpec.getOpenApi(), newSpec.getOpenApi(), options);
+    openApiDiff.oldFingerprints = oldSpec.getFingerprints();
+    openApiDiff.newFingerprints = newSpec.getFingerprints();
+    openApiDiff.setReferences(oldSpec.getReferences(), newSpec.getReferences());
+    return openApiDiff;
   }
 
   private void initializeFields() {
@@ -87,17 +137,45 @@ public class OpenApiDiff {
     this.deferredSchemaCache = new DeferredSchemaCache(this);
   }
 
-  private ChangedOpenApi compare() {
-    preProcess(oldSpecOpenApi);
-    preProcess(newSpecOpenApi);
+  ChangedOpenApi compare() {
+    if (!options.isParallel() || options.getExecutor() != null) {
+      executor = options.getExecutor();
+      return compareSpecs();
+    }
+    ForkJoinPool pool = new ForkJoinPool(options.getParallelism());
+    executor = pool;
+    try {
+      return compareSpecs();
+    } finally {
+      pool.shutdown();
+      executor = null;
+    }
+  }
+
+  private ChangedOpenApi compareSpecs() {
+    if (oldFingerprints == null || newFingerprints == null) {
+      metrics.time(DiffMetrics.Phase.PREPROCESS, this::prepareSpecs);
+    }
 
-    // 1st pass scans paths to collect all schemas
+    // 1st pass scans the included paths to collect their schemas
     DeferredChanged<ChangedPaths> paths =
-        this.pathsDiff.diff(
-            valOrEmpty(oldSpecOpenApi.getPaths()), valOrEmpty(newSpecOpenApi.getPaths()));
+        metrics.time(
+            DiffMetrics.Phase.PATHS,
+            () ->
+                this.pathsDiff.diff(
+                    options
+                        .getFilter()
+                        .filter(
+                            valOrEmpty(oldSpecOpenApi.getPaths()),
+                            valOrEmpty(newSpecOpenApi.getPaths())),
+                    options
+                        .getFilter()
+                        .filter(
+                            valOrEmpty(newSpecOpenApi.getPaths()),
+                            valOrEmpty(oldSpecOpenApi.getPaths()))));
 
     // 2nd pass processes deferred schemas
-    deferredSchemaCache.process();
+    metrics.time(DiffMetrics.Phase.DEFERRED_SCHEMAS, deferredSchemaCache::process);
 
     this.newEndpoints = new ArrayList<>();
     this.missingEndpoints = new ArrayList<>();
@@ -105,6 +183,7 @@ public class OpenApiDiff {
 
     paths.ifPresent(
         changedPaths -> {
+          this.changedPaths = changedPaths;
           this.newEndpoints = EndpointUtils.convert2EndpointList(changedPaths.getIncreased());
           this.missingEndpoints = EndpointUtils.convert2EndpointList(changedPaths.getMissing());
           changedPaths
@@ -120,18 +199,46 @@ public class OpenApiDiff {
                     changedOperations.addAll(changedPath.getChanged());
                   });
         });
-    getExtensionsDiff()
-        .diff(oldSpecOpenApi.getExtensions(), newSpecOpenApi.getExtensions())
-        .ifPresent(this::setChangedExtension);
+    metrics.time(
+        DiffMetrics.Phase.EXTENSIONS,
+        () ->
+            getExtensionsDiff()
+                .diff(oldSpecOpenApi.getExtensions(), newSpecOpenApi.getExtensions())
+                .ifPresent(this::setChangedExtension));
 
     return getChangedOpenApi();
   }
 
+  private void prepareSpecs() {
+    if (oldSpecOpenApi == newSpecOpenApi) {
+      PreparedSpec prepared = PreparedSpec.of(oldSpecOpenApi);
+      this.oldFingerprints = prepared.getFingerprints();
+      this.newFingerprints = oldFingerprints;
+      setReferences(prepared.getReferences(), prepared.getReferences());
+    } else {
+      // both specifications are preprocessed concurrently when the diff is parallel
+      List<PreparedSpec> prepared =
+          invokeAll(
+              Arrays.asList(
+                  () -> PreparedSpec.of(oldSpecOpenApi), () -> PreparedSpec.of(newSpecOpenApi)));
+      this.oldFingerprints = prepared.get(0).getFingerprints();
+      this.newFingerprints = prepared.get(1).getFingerprints();
+      setReferences(prepared.get(0).getReferences(), prepared.get(1).getReferences());
+    }
+  }
+
+  private void setReferences(ReferenceIndex oldReferences, ReferenceIndex newReferences) {
+    this.oldReferences = oldReferences;
+    this.newReferences = newReferences;
+    this.oldRefIds = new RefIds(oldReferences);
+    this.newRefIds = new RefIds(newReferences);
+  }
+
   private void setChangedExtension(ChangedExtensions changedExtension) {
     this.changedExtensions = changedExtension;
   }
 
-  private void preProcess(OpenAPI openApi) {
+  static void preProcess(OpenAPI openApi) {
     List<SecurityRequirement> securityRequirements = openApi.getSecurity();
     if (securityRequirements != null) {
       List<SecurityRequirement> distinctSecurityRequirements =
@@ -170,7 +277,123 @@ public class OpenApiDiff {
         .setOldSpecOpenApi(oldSpecOpenApi)
         .setChangedOperations(changedOperations)
         .setChangedExtensions(changedExtensions)
-        .setChangedSchemas(deferredSchemaCache.getChangedSchemas());
+        .setChangedSchemas(deferredSchemaCache.getChangedSchemas())
+        .setMetrics(metrics)
+        .setOldReferenceIndex(oldReferences)
+        .setNewReferenceIndex(newReferences);
+  }
+
+  /**
+   * Whether the old and new values are structurally identical, in which case their diff is known to
+   * be empty without comparing them.
+   */
+  public boolean isIdentical(Object left, Object right) {
+    return oldFingerprints != null
+        && newFingerprints != null
+        && Fingerprint.same(oldFingerprints.get(left), newFingerprints.get(right));
+  }
+
+  /** Id of a reference of the old specification, the ids of a specification being dense. */
+  public int getOldRefId(String ref) {
+    return oldRefIds.of(ref);
+  }
+
+  /** Id of a reference of the new specification, the ids of a specification being dense. */
+  public int getNewRefId(String ref) {
+    return newRefIds.of(ref);
+  }
+
+  /**
+   * Tracks which path items are compared and the schemas they reach, see {@link IncrementalDiff}.
+   */
+  void trackPaths() {
+    this.matchedPaths = new LinkedHashMap<>();
+    this.deferredSchemaCache.trackReferences();
+  }
+
+  /** Takes the diffs of the given new path items from the changed paths of a previous diff. */
+  void reusePaths(Set<String> urls, ChangedPaths previous) {
+    this.reusedPaths = urls;
+    this.previousPaths = previous;
+  }
+
+  /** Records that the old path item of the left url is compared with the one of the right url. */
+  public void matchPaths(String leftUrl, String rightUrl) {
+    if (matchedPaths != null) {
+      matchedPaths.put(rightUrl, leftUrl);
+    }
+  }
+
+  /** Whether the diff of the new path item is taken from a previous diff. */
+  public boolean isReused(String rightUrl) {
+    return reusedPaths.contains(rightUrl);
+  }
+
+  /** Previous diff of a reused path item, null when it had no changes. */
+  public ChangedPath getReusedPath(String rightUrl) {
+    return previousPaths == null ? null : previousPaths.getChanged().get(rightUrl);
+  }
+
+  Map<String, String> getMatchedPaths() {
+    return matchedPaths;
+  }
+
+  ChangedPaths getChangedPaths() {
+    return changedPaths;
+  }
+
+  /** Records that an incompatible change was found, so that a severity only diff can stop. */
+  public void reportIncompatible() {
+    incompatible = true;
+  }
+
+  /**
+   * Whether the result of a severity only diff is known, in which case the remaining operations and
+   * schemas need not be compared.
+   */
+  public boolean isResultKnown() {
+    return incompatible && options.isSeverityOnly();
+  }
+
+  /**
+   * Runs the tasks and returns their results in task order. The tasks run concurrently when the
+   * diff is parallel.
+   */
+  public <T> List<T> invokeAll(List<Supplier<T>> tasks) {
+    return invokeAll(tasks, executor);
+  }
+
+  /** Runs the tasks on the executor, or one after the other when it is null. */
+  public static <T> List<T> invokeAll(List<Supplier<T>> tasks, Executor executor) {
+    if (executor == null) {
+      return tasks.stream().map(Supplier::get).collect(Collectors.toList());
+    }
+    List<CompletableFuture<T>> submitted = new ArrayList<>(tasks.size());
+    for (Supplier<T> task : tasks) {
+      submitted.add(CompletableFuture.supplyAsync(task, executor));
+    }
+    List<T> results = new ArrayList<>(submitted.size());
+    for (CompletableFuture<T> task : submitted) {
+      try {
+        results.add(task.join());
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        } else if (e.getCause() instanceof Error) {
+          throw (Error) e.getCause();
+        }
+        throw e;
+      }
+    }
+    return results;
+  }
+
+  public DiffOptions getOptions() {
+    return options;
+  }
+
+  public DiffMetrics getMetrics() {
+    return metrics;
   }
 
   public DeferredSchemaCache getDeferredSchemaCache() {
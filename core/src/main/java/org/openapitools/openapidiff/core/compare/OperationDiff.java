@@ -9,6 +9,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import org.openapitools.openapidiff.core.events.DiffEvents;
 import org.openapitools.openapidiff.core.model.Changed;
 import org.openapitools.openapidiff.core.model.ChangedOperation;
 import org.openapitools.openapidiff.core.model.ChangedParameters;
@@ -30,6 +31,21 @@ public class OperationDiff {
 
   public DeferredChanged<ChangedOperation> diff(
       Operation oldOperation, Operation newOperation, DiffContext context) {
+    if (openApiDiff.isResultKnown()) {
+      return DeferredChanged.empty();
+    }
+    DiffEvents.Event event = DiffEvents.OPERATION_DIFF.begin();
+    try {
+      return compare(oldOperation, newOperation, context);
+    } finally {
+      if (event != null) {
+        event.commit(context.getUrl(), String.valueOf(context.getMethod()));
+      }
+    }
+  }
+
+  private DeferredChanged<ChangedOperation> compare(
+      Operation oldOperation, Operation newOperation, DiffContext context) {
 
     DeferredBuilder<Changed> builder = new DeferredBuilder<>();
     ChangedOperation changedOperation =
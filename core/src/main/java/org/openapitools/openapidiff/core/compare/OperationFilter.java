@@ -0,0 +1,259 @@
+package org.openapitools.openapidiff.core.compare;
+
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Operations a diff is restricted to, selected by path, tag, operationId or HTTP method. The
+ * operations left out are removed before the path items are compared, so neither they nor the
+ * schemas only they reach are compared.
+ *
+ * <p>An operation is included when it matches one of the values of every kind of include filter
+ * given, and no exclude filter. Path globs match the path template, e.g. /pet/{petId}: {@code *}
+ * matches within a segment and {@code **} across segments.
+ *
+ * <p>An operation of both specifications, same method on the same path template, is included or
+ * left out on both sides: it is included when either side matches the include filters, unless both
+ * sides match an exclude filter. A re-tagged or renamed operation is thus compared, not reported as
+ * added or removed.
+ */
+public class OperationFilter {
+  private final List<Pattern> includedPaths = new ArrayList<>();
+  private final List<Pattern> excludedPaths = new ArrayList<>();
+  private final Set<String> includedTags = new HashSet<>();
+  private final Set<String> excludedTags = new HashSet<>();
+  private final Set<String> includedOperationIds = new HashSet<>();
+  private final Set<String> excludedOperationIds = new HashSet<>();
+  private final Set<PathItem.HttpMethod> includedMethods =
+      EnumSet.noneOf(PathItem.HttpMethod.class);
+  private final Set<PathItem.HttpMethod> excludedMethods =
+      EnumSet.noneOf(PathItem.HttpMethod.class);
+
+  public static OperationFilter all() {
+    return new OperationFilter();
+  }
+
+  public OperationFilter includePaths(String... globs) {
+    Arrays.stream(globs).map(OperationFilter::glob).forEach(includedPaths::add);
+    return this;
+  }
+
+  public OperationFilter excludePaths(String... globs) {
+    Arrays.stream(globs).map(OperationFilter::glob).forEach(excludedPaths::add);
+    return this;
+  }
+
+  public OperationFilter includeTags(String... tags) {
+    includedTags.addAll(Arrays.asList(tags));
+    return this;
+  }
+
+  public OperationFilter excludeTags(String... tags) {
+    excludedTags.addAll(Arrays.asList(tags));
+    return this;
+  }
+
+  public OperationFilter includeOperationIds(String... operationIds) {
+    includedOperationIds.addAll(Arrays.asList(operationIds));
+    return this;
+  }
+
+  public OperationFilter excludeOperationIds(String... operationIds) {
+    excludedOperationIds.addAll(Arrays.asList(operationIds));
+    return this;
+  }
+
+  public OperationFilter includeMethods(PathItem.HttpMethod... methods) {
+    includedMethods.addAll(Arrays.asList(methods));
+    return this;
+  }
+
+  public OperationFilter excludeMethods(PathItem.HttpMethod... methods) {
+    excludedMethods.addAll(Arrays.asList(methods));
+    return this;
+  }
+
+  /** Whether the filter includes every operation. */
+  public boolean isEmpty() {
+    return includedPaths.isEmpty()
+        && excludedPaths.isEmpty()
+        && includedTags.isEmpty()
+        && excludedTags.isEmpty()
+        && includedOperationIds.isEmpty()
+        && excludedOperationIds.isEmpty()
+        && includedMethods.isEmpty()
+        && excludedMethods.isEmpty();
+  }
+
+  public boolean includes(String url, PathItem.HttpMethod method, Operation operation) {
+    return matchesIncludes(url, method, operation) && !matchesExcludes(url, method, operation);
+  }
+
+  private boolean matchesIncludes(String url, PathItem.HttpMethod method, Operation operation) {
+    if (!includedPaths.isEmpty() && !matchesAny(includedPaths, url)) {
+      return false;
+    }
+    List<String> tags = operation.getTags();
+    if (!includedTags.isEmpty() && (tags == null || !containsAny(includedTags, tags))) {
+      return false;
+    }
+    if (!includedOperationIds.isEmpty()
+        && !includedOperationIds.contains(operation.getOperationId())) {
+      return false;
+    }
+    return includedMethods.isEmpty() || includedMethods.contains(method);
+  }
+
+  private boolean matchesExcludes(String url, PathItem.HttpMethod method, Operation operation) {
+    List<String> tags = operation.getTags();
+    return matchesAny(excludedPaths, url)
+        || (tags != null && containsAny(excludedTags, tags))
+        || excludedOperationIds.contains(operation.getOperationId())
+        || excludedMethods.contains(method);
+  }
+
+  /**
+   * The path items restricted to the included operations, given the path items of the other
+   * specification. A path item is left out when none of its operations is included, or when it has
+   * no operation and its path is not included.
+   */
+  public Map<String, PathItem> filter(
+      Map<String, PathItem> paths, Map<String, PathItem> counterparts) {
+    if (isEmpty()) {
+      return paths;
+    }
+    Map<String, Map.Entry<String, Operation>> others = new HashMap<>();
+    counterparts.forEach(
+        (url, pathItem) ->
+            pathItem
+                .readOperationsMap()
+                .forEach(
+                    (method, operation) ->
+                        others.put(
+                            key(url, method), new AbstractMap.SimpleEntry<>(url, operation))));
+    Map<String, PathItem> filtered = new LinkedHashMap<>();
+    paths.forEach(
+        (url, pathItem) -> {
+          Map<PathItem.HttpMethod, Operation> operations = pathItem.readOperationsMap();
+          if (operations.isEmpty()) {
+            if (includes(url)) {
+              filtered.put(url, pathItem);
+            }
+            return;
+          }
+          Map<PathItem.HttpMethod, Operation> included =
+              operations.entrySet().stream()
+                  .filter(
+                      entry ->
+                          includes(
+                              url,
+                              entry.getKey(),
+                              entry.getValue(),
+                              others.get(key(url, entry.getKey()))))
+                  .collect(
+                      Collectors.toMap(
+                          Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+          if (included.size() == operations.size()) {
+            filtered.put(url, pathItem);
+          } else if (!included.isEmpty()) {
+            filtered.put(url, copy(pathItem, included));
+          }
+        });
+    return filtered;
+  }
+
+  /** Whether the operation is included, given its counterpart url and operation if any. */
+  private boolean includes(
+      String url,
+      PathItem.HttpMethod method,
+      Operation operation,
+      Map.Entry<String, Operation> counterpart) {
+    if (counterpart == null) {
+      return includes(url, method, operation);
+    }
+    String otherUrl = counterpart.getKey();
+    Operation other = counterpart.getValue();
+    return (matchesIncludes(url, method, operation) || matchesIncludes(otherUrl, method, other))
+        && !(matchesExcludes(url, method, operation) && matchesExcludes(otherUrl, method, other));
+  }
+
+  /** Operations on the same path template with the same method are matched by the diff. */
+  private static String key(String url, PathItem.HttpMethod method) {
+    return method + " " + PathsDiff.normalizePath(url);
+  }
+
+  private boolean includes(String url) {
+    return (includedPaths.isEmpty() || matchesAny(includedPaths, url))
+        && !matchesAny(excludedPaths, url);
+  }
+
+  private static PathItem copy(PathItem pathItem, Map<PathItem.HttpMethod, Operation> operations) {
+    PathItem copy =
+        new PathItem()
+            .summary(pathItem.getSummary())
+            .description(pathItem.getDescription())
+            .servers(pathItem.getServers())
+            .parameters(pathItem.getParameters())
+            .extensions(pathItem.getExtensions());
+    copy.set$ref(pathItem.get$ref());
+    operations.forEach(copy::operation);
+    return copy;
+  }
+
+  private static boolean containsAny(Set<String> values, Collection<String> candidates) {
+    for (String candidate : candidates) {
+      if (values.contains(candidate)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean matchesAny(List<Pattern> patterns, String url) {
+    for (Pattern pattern : patterns) {
+      if (pattern.matcher(url).matches()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static Pattern glob(String glob) {
+    StringBuilder regex = new StringBuilder();
+    int literal = 0;
+    for (int i = 0; i < glob.length(); i++) {
+      char c = glob.charAt(i);
+      if (c == '*' || c == '?') {
+        if (literal < i) {
+          regex.append(Pattern.quote(glob.substring(literal, i)));
+        }
+        if (c == '?') {
+          regex.append("[^/]");
+        } else if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+          regex.append(".*");
+          i++;
+        } else {
+          regex.append("[^/]*");
+        }
+        literal = i + 1;
+      }
+    }
+    if (literal < glob.length()) {
+      regex.append(Pattern.quote(glob.substring(literal)));
+    }
+    return Pattern.compile(regex.toString());
+  }
+}
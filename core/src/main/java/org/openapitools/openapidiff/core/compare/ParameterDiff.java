@@ -8,6 +8,7 @@ import java.util.Optional;
 import org.openapitools.openapidiff.core.model.Changed;
 import org.openapitools.openapidiff.core.model.ChangedParameter;
 import org.openapitools.openapidiff.core.model.DiffContext;
+import org.openapitools.openapidiff.core.model.DiffMetrics;
 import org.openapitools.openapidiff.core.model.deferred.DeferredBuilder;
 import org.openapitools.openapidiff.core.model.deferred.DeferredChanged;
 import org.openapitools.openapidiff.core.utils.RefPointer;
@@ -37,6 +38,16 @@ public class ParameterDiff extends ReferenceDiffCache<Parameter, ChangedParamete
     return cachedDiff(new HashSet<>(), left, right, left.get$ref(), right.get$ref(), context);
   }
 
+  @Override
+  protected DiffMetrics getMetrics() {
+    return openApiDiff.getMetrics();
+  }
+
+  @Override
+  protected boolean isIdentical(Parameter left, Parameter right) {
+    return openApiDiff.isIdentical(left, right);
+  }
+
   @Override
   protected DeferredChanged<ChangedParameter> computeDiff(
       HashSet<String> refSet, Parameter left, Parameter right, DiffContext context) {
@@ -53,7 +53,8 @@ public class ParametersDiff {
     ChangedParameters changedParameters =
         new ChangedParameters(left, right != null ? new ArrayList<>(right) : null, context);
     if (null == left) left = new ArrayList<>();
-    if (null == right) right = new ArrayList<>();
+    // matched parameters are removed from a copy, the specification may be compared again
+    right = right == null ? new ArrayList<>() : new ArrayList<>(right);
 
     for (Parameter leftPara : left) {
       leftPara = refPointer.resolveRef(leftComponents, leftPara, leftPara.get$ref());
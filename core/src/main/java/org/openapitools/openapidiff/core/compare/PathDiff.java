@@ -5,6 +5,7 @@ import io.swagger.v3.oas.models.PathItem;
 import java.util.List;
 import java.util.Map;
 import org.openapitools.openapidiff.core.model.Changed;
+import org.openapitools.openapidiff.core.model.ChangedOperation;
 import org.openapitools.openapidiff.core.model.ChangedPath;
 import org.openapitools.openapidiff.core.model.DiffContext;
 import org.openapitools.openapidiff.core.model.deferred.DeferredBuilder;
@@ -29,15 +30,16 @@ public class PathDiff {
         new ChangedPath(context.getUrl(), left, right, context)
             .setIncreased(operationsDiff.getIncreased())
             .setMissing(operationsDiff.getMissing());
+    if (!operationsDiff.getMissing().isEmpty()) {
+      openApiDiff.reportIncompatible();
+    }
     for (PathItem.HttpMethod method : sharedMethods) {
       Operation oldOperation = oldOperationMap.get(method);
       Operation newOperation = newOperationMap.get(method);
-      builder
-          .with(
-              openApiDiff
-                  .getOperationDiff()
-                  .diff(oldOperation, newOperation, context.copyWithMethod(method)))
-          .ifPresent(changedPath.getChanged()::add);
+      builder.with(
+          openApiDiff
+              .getOperationDiff()
+              .diff(oldOperation, newOperation, context.copyWithMethod(method)));
     }
     builder
         .with(
@@ -45,6 +47,20 @@ public class PathDiff {
                 .getExtensionsDiff()
                 .diff(left.getExtensions(), right.getExtensions(), context))
         .ifPresent(changedPath::setExtensions);
+    // changed operations are collected once all are set, in the order of the methods: a parallel
+    // diff sets them in another order
+    builder.whenSet(
+        values ->
+            values.ifPresent(
+                changes -> {
+                  for (int i = 0; i < sharedMethods.size(); i++) {
+                    changes
+                        .get(i)
+                        .ifPresent(
+                            operation ->
+                                changedPath.getChanged().add((ChangedOperation) operation));
+                  }
+                }));
 
     return builder.buildIsChanged(changedPath);
   }
@@ -3,30 +3,31 @@ package org.openapitools.openapidiff.core.compare;
 import io.swagger.v3.oas.models.PathItem;
 import io.swagger.v3.oas.models.Paths;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.openapitools.openapidiff.core.model.Changed;
+import org.openapitools.openapidiff.core.model.ChangedPath;
 import org.openapitools.openapidiff.core.model.ChangedPaths;
 import org.openapitools.openapidiff.core.model.DiffContext;
 import org.openapitools.openapidiff.core.model.deferred.DeferredBuilder;
 import org.openapitools.openapidiff.core.model.deferred.DeferredChanged;
 
 public class PathsDiff {
-  private static final String REGEX_PATH = "\\{([^/]+)}";
+  private static final Pattern REGEX_PATH = Pattern.compile("\\{([^/]+)}");
   private final OpenApiDiff openApiDiff;
 
   public PathsDiff(OpenApiDiff openApiDiff) {
     this.openApiDiff = openApiDiff;
   }
 
-  private static String normalizePath(String path) {
-    return path.replaceAll(REGEX_PATH, "{}");
+  static String normalizePath(String path) {
+    return REGEX_PATH.matcher(path).replaceAll("{}");
   }
 
   private static List<String> extractParameters(String path) {
     ArrayList<String> params = new ArrayList<>();
-    Pattern pattern = Pattern.compile(REGEX_PATH);
-    Matcher matcher = pattern.matcher(path);
+    Matcher matcher = REGEX_PATH.matcher(path);
     while (matcher.find()) {
       params.add(matcher.group(1));
     }
@@ -40,14 +41,26 @@ public class PathsDiff {
     ChangedPaths changedPaths = new ChangedPaths(left, right);
     changedPaths.getIncreased().putAll(right);
 
+    // new paths by normalized template, only paths of the same template can match
+    Map<String, Map<String, PathItem>> templates = new HashMap<>();
+    right.forEach(
+        (url, pathItem) ->
+            templates
+                .computeIfAbsent(normalizePath(url), key -> new LinkedHashMap<>())
+                .put(url, pathItem));
+
+    List<String> rightUrls = new ArrayList<>();
+    List<Supplier<DeferredChanged<ChangedPath>>> pathDiffs = new ArrayList<>();
+
     left.keySet()
         .forEach(
             (String url) -> {
               PathItem leftPath = left.get(url);
               String template = normalizePath(url);
+              Map<String, PathItem> candidates =
+                  templates.getOrDefault(template, Collections.emptyMap());
               Optional<Map.Entry<String, PathItem>> result =
-                  changedPaths.getIncreased().entrySet().stream()
-                      .filter(item -> normalizePath(item.getKey()).equals(template))
+                  candidates.entrySet().stream()
                       .min(
                           (a, b) -> {
                             if (methodsIntersect(a.getValue(), b.getValue())) {
@@ -71,6 +84,7 @@ public class PathsDiff {
               if (result.isPresent()) {
                 String rightUrl = result.get().getKey();
                 PathItem rightPath = changedPaths.getIncreased().remove(rightUrl);
+                candidates.remove(rightUrl);
                 Map<String, String> params = new LinkedHashMap<>();
                 if (!url.equals(rightUrl)) {
                   List<String> oldParams = extractParameters(url);
@@ -82,13 +96,35 @@ public class PathsDiff {
                 DiffContext context = new DiffContext();
                 context.setUrl(url);
                 context.setParameters(params);
-                builder
-                    .with(openApiDiff.getPathDiff().diff(leftPath, rightPath, context))
-                    .ifPresent(path -> changedPaths.getChanged().put(rightUrl, path));
+                openApiDiff.matchPaths(url, rightUrl);
+                rightUrls.add(rightUrl);
+                if (openApiDiff.isReused(rightUrl)) {
+                  ChangedPath reused = openApiDiff.getReusedPath(rightUrl);
+                  pathDiffs.add(() -> DeferredChanged.ofNullable(reused));
+                } else {
+                  pathDiffs.add(() -> openApiDiff.getPathDiff().diff(leftPath, rightPath, context));
+                }
               } else {
                 changedPaths.getMissing().put(url, leftPath);
+                openApiDiff.reportIncompatible();
               }
             });
+
+    // path items are independent of each other, a parallel diff compares them concurrently
+    builder.addAll(openApiDiff.getDeferredSchemaCache().runAll(pathDiffs));
+    // changed paths are collected once all are set, in the order of the old specification
+    builder.whenSet(
+        values ->
+            values.ifPresent(
+                changes -> {
+                  for (int i = 0; i < changes.size(); i++) {
+                    String rightUrl = rightUrls.get(i);
+                    changes
+                        .get(i)
+                        .ifPresent(
+                            path -> changedPaths.getChanged().put(rightUrl, (ChangedPath) path));
+                  }
+                }));
     return builder.buildIsChanged(changedPaths);
   }
 
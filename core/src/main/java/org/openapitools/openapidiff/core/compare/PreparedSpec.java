@@ -0,0 +1,42 @@
+package org.openapitools.openapidiff.core.compare;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.openapitools.openapidiff.core.fingerprint.SpecFingerprints;
+import org.openapitools.openapidiff.core.model.ReferenceIndex;
+
+/**
+ * A specification preprocessed, fingerprinted and indexed once, so that it can be compared against
+ * several others, concurrently if need be. Preparing merges allOf in place, diffs of a prepared
+ * specification do not modify it.
+ */
+public final class PreparedSpec {
+  private final OpenAPI openApi;
+  private final SpecFingerprints fingerprints;
+  private final ReferenceIndex references;
+
+  private PreparedSpec(OpenAPI openApi, SpecFingerprints fingerprints, ReferenceIndex references) {
+    this.openApi = openApi;
+    this.fingerprints = fingerprints;
+    this.references = references;
+  }
+
+  public static PreparedSpec of(OpenAPI openApi) {
+    OpenApiDiff.preProcess(openApi);
+    // references are indexed before allOf is merged away
+    ReferenceIndex references = ReferenceIndex.of(openApi);
+    ComposedSchemas.resolve(openApi);
+    return new PreparedSpec(openApi, SpecFingerprints.of(openApi), references);
+  }
+
+  public OpenAPI getOpenApi() {
+    return openApi;
+  }
+
+  public SpecFingerprints getFingerprints() {
+    return fingerprints;
+  }
+
+  public ReferenceIndex getReferences() {
+    return references;
+  }
+}
@@ -0,0 +1,30 @@
+package org.openapitools.openapidiff.core.compare;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openapitools.openapidiff.core.model.ReferenceIndex;
+
+/**
+ * Ids of the references of one specification compared by a diff. Components have the ids of the
+ * {@link ReferenceIndex} of the specification, interned once per specification; other references,
+ * e.g. to external documents left unresolved, are numbered after them by the diff.
+ */
+final class RefIds {
+  private final ReferenceIndex index;
+  private final Map<String, Integer> others = new ConcurrentHashMap<>();
+  private final AtomicInteger next;
+
+  RefIds(ReferenceIndex index) {
+    this.index = index;
+    this.next = new AtomicInteger(index.getComponentCount());
+  }
+
+  int of(String ref) {
+    int id = index.idOf(ref);
+    if (id >= 0) {
+      return id;
+    }
+    return others.computeIfAbsent(ref, key -> next.getAndIncrement());
+  }
+}
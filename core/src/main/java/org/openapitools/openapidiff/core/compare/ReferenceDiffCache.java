@@ -1,10 +1,11 @@
 package org.openapitools.openapidiff.core.compare;
 
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.openapitools.openapidiff.core.model.Changed;
 import org.openapitools.openapidiff.core.model.DiffContext;
+import org.openapitools.openapidiff.core.model.DiffMetrics;
 import org.openapitools.openapidiff.core.model.deferred.DeferredChanged;
 import org.openapitools.openapidiff.core.model.deferred.RealizedChanged;
 
@@ -12,7 +13,7 @@ public abstract class ReferenceDiffCache<C, D extends Changed> {
   private final Map<CacheKey, DeferredChanged<D>> refDiffMap;
 
   public ReferenceDiffCache() {
-    this.refDiffMap = new HashMap<>();
+    this.refDiffMap = new ConcurrentHashMap<>();
   }
 
   private DeferredChanged<D> getFromCache(CacheKey cacheKey) {
@@ -30,13 +31,18 @@ public abstract class ReferenceDiffCache<C, D extends Changed> {
       String leftRef,
       String rightRef,
       DiffContext context) {
+    if (isIdentical(left, right)) {
+      return RealizedChanged.empty();
+    }
     boolean areBothRefParameters = leftRef != null && rightRef != null;
     if (areBothRefParameters) {
       CacheKey key = new CacheKey(leftRef, rightRef, context);
       DeferredChanged<D> changedFromRef = getFromCache(key);
       if (changedFromRef != null) {
+        count(DiffMetrics.Counter.REFERENCE_CACHE_HITS);
         return changedFromRef;
       } else {
+        count(DiffMetrics.Counter.REFERENCE_CACHE_MISSES);
         String refKey = getRefKey(leftRef, rightRef);
         if (refSet.contains(refKey)) {
           return RealizedChanged.empty();
@@ -53,6 +59,23 @@ public abstract class ReferenceDiffCache<C, D extends Changed> {
     }
   }
 
+  /** Whether both values are known to be structurally identical, so that no diff is needed. */
+  protected boolean isIdentical(C left, C right) {
+    return false;
+  }
+
+  /** Metrics of the comparison using this cache, if any. */
+  protected DiffMetrics getMetrics() {
+    return null;
+  }
+
+  private void count(DiffMetrics.Counter counter) {
+    DiffMetrics metrics = getMetrics();
+    if (metrics != null) {
+      metrics.increment(counter);
+    }
+  }
+
   protected String getRefKey(String leftRef, String rightRef) {
     return leftRef + ":" + rightRef;
   }
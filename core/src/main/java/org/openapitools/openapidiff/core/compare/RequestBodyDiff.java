@@ -9,6 +9,7 @@ import java.util.Map;
 import org.openapitools.openapidiff.core.model.Changed;
 import org.openapitools.openapidiff.core.model.ChangedRequestBody;
 import org.openapitools.openapidiff.core.model.DiffContext;
+import org.openapitools.openapidiff.core.model.DiffMetrics;
 import org.openapitools.openapidiff.core.model.deferred.DeferredBuilder;
 import org.openapitools.openapidiff.core.model.deferred.DeferredChanged;
 import org.openapitools.openapidiff.core.utils.RefPointer;
@@ -34,6 +35,16 @@ public class RequestBodyDiff extends ReferenceDiffCache<RequestBody, ChangedRequ
     return cachedDiff(new HashSet<>(), left, right, leftRef, rightRef, context);
   }
 
+  @Override
+  protected DiffMetrics getMetrics() {
+    return openApiDiff.getMetrics();
+  }
+
+  @Override
+  protected boolean isIdentical(RequestBody left, RequestBody right) {
+    return openApiDiff.isIdentical(left, right);
+  }
+
   @Override
   protected DeferredChanged<ChangedRequestBody> computeDiff(
       HashSet<String> refSet, RequestBody left, RequestBody right, DiffContext context) {
@@ -7,6 +7,7 @@ import java.util.Optional;
 import org.openapitools.openapidiff.core.model.Changed;
 import org.openapitools.openapidiff.core.model.ChangedResponse;
 import org.openapitools.openapidiff.core.model.DiffContext;
+import org.openapitools.openapidiff.core.model.DiffMetrics;
 import org.openapitools.openapidiff.core.model.deferred.DeferredBuilder;
 import org.openapitools.openapidiff.core.model.deferred.DeferredChanged;
 import org.openapitools.openapidiff.core.model.deferred.RealizedChanged;
@@ -42,6 +43,16 @@ public class ResponseDiff extends ReferenceDiffCache<ApiResponse, ChangedRespons
     return cachedDiff(new HashSet<>(), left, right, left.get$ref(), right.get$ref(), context);
   }
 
+  @Override
+  protected DiffMetrics getMetrics() {
+    return openApiDiff.getMetrics();
+  }
+
+  @Override
+  protected boolean isIdentical(ApiResponse left, ApiResponse right) {
+    return openApiDiff.isIdentical(left, right);
+  }
+
   @Override
   protected DeferredChanged<ChangedResponse> computeDiff(
       HashSet<String> refSet, ApiResponse left, ApiResponse right, DiffContext context) {
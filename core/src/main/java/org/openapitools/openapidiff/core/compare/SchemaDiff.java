@@ -18,11 +18,14 @@ import java.util.Optional;
 import org.openapitools.openapidiff.core.compare.schemadiffresult.ArraySchemaDiffResult;
 import org.openapitools.openapidiff.core.compare.schemadiffresult.ComposedSchemaDiffResult;
 import org.openapitools.openapidiff.core.compare.schemadiffresult.SchemaDiffResult;
+import org.openapitools.openapidiff.core.events.DiffEvents;
 import org.openapitools.openapidiff.core.model.ChangedSchema;
 import org.openapitools.openapidiff.core.model.DiffContext;
+import org.openapitools.openapidiff.core.model.DiffMetrics;
 import org.openapitools.openapidiff.core.model.deferred.DeferredChanged;
 import org.openapitools.openapidiff.core.model.deferred.RealizedChanged;
 import org.openapitools.openapidiff.core.model.deferred.RecursiveSchemaSet;
+import org.openapitools.openapidiff.core.model.deferred.SchemaKey;
 import org.openapitools.openapidiff.core.utils.RefPointer;
 import org.openapitools.openapidiff.core.utils.RefType;
 
@@ -82,14 +85,16 @@ public class SchemaDiff {
   protected static Schema<?> resolveComposedSchema(Components components, Schema<?> schema) {
     if (schema instanceof ComposedSchema) {
       ComposedSchema composedSchema = (ComposedSchema) schema;
+      // allOf is merged in place, prepared specifications have it merged before any diff. It is
+      // detached first so that a member referencing the schema back stops there.
       List<Schema> allOfSchemaList = composedSchema.getAllOf();
       if (allOfSchemaList != null) {
+        composedSchema.setAllOf(null);
         for (Schema<?> allOfSchema : allOfSchemaList) {
           allOfSchema = refPointer.resolveRef(components, allOfSchema, allOfSchema.get$ref());
           allOfSchema = resolveComposedSchema(components, allOfSchema);
           schema = addSchema(schema, allOfSchema);
         }
-        composedSchema.setAllOf(null);
       }
     }
     return schema;
@@ -105,7 +110,7 @@ public class SchemaDiff {
 
     if (fromSchema.getRequired() != null) {
       if (schema.getRequired() == null) {
-        schema.setRequired(fromSchema.getRequired());
+        schema.setRequired(new ArrayList<>(fromSchema.getRequired()));
       } else {
         schema.getRequired().addAll(fromSchema.getRequired());
       }
@@ -282,7 +287,7 @@ public class SchemaDiff {
 
   public DeferredChanged<ChangedSchema> diff(
       RecursiveSchemaSet refSet, Schema left, Schema right, DiffContext context) {
-    if (left == null && right == null) {
+    if (left == null && right == null || openApiDiff.isIdentical(left, right)) {
       return new RealizedChanged<>(Optional.empty());
     }
     return computeDeferredDiff(refSet, left, right, context);
@@ -302,9 +307,28 @@ public class SchemaDiff {
   protected DeferredChanged<ChangedSchema> computeDeferredDiff(
       RecursiveSchemaSet refSet, Schema<?> left, Schema<?> right, DiffContext context) {
 
-    CacheKey key = new CacheKey(getSchemaRef(left), getSchemaRef(right), context);
-    if (key.getLeft() != null && key.getRight() != null) {
-      return openApiDiff.getDeferredSchemaCache().getOrAddSchema(refSet, key, left, right);
+    DiffContext schemaContext = context.copyForSchema();
+    if (openApiDiff.getOptions().isParallel()) {
+      // every path of a parallel diff owns its schemas
+      schemaContext.setUrl(context.getUrl());
+    }
+    // Schemas referenced from the root of a traversal are shared by all traversals. Nested ones
+    // are only shared within their traversal, where the recursion set stops cycles: a result
+    // shared with another traversal may be waiting on this one.
+    String leftRef = getSchemaRef(left);
+    String rightRef = getSchemaRef(right);
+    if (leftRef != null && rightRef != null) {
+      SchemaKey key =
+          new SchemaKey(
+              leftRef,
+              openApiDiff.getOldRefId(leftRef),
+              rightRef,
+              openApiDiff.getNewRefId(rightRef),
+              schemaContext,
+              refSet.isEmpty() ? null : refSet);
+      return openApiDiff
+          .getDeferredSchemaCache()
+          .getOrAddSchema(refSet, key, left, right, context.getUrl());
     } else {
       return computeDiffForReal(refSet, left, right, context);
     }
@@ -312,6 +336,22 @@ public class SchemaDiff {
 
   public DeferredChanged<ChangedSchema> computeDiffForReal(
       RecursiveSchemaSet refSet, Schema left, Schema right, DiffContext context) {
+    if (openApiDiff.isResultKnown()) {
+      return DeferredChanged.empty();
+    }
+    openApiDiff.getMetrics().increment(DiffMetrics.Counter.SCHEMAS_COMPARED);
+    DiffEvents.Event event = DiffEvents.SCHEMA_DIFF.begin();
+    try {
+      return compare(refSet, left, right, context);
+    } finally {
+      if (event != null) {
+        event.commit(getSchemaRef(left), getSchemaRef(right));
+      }
+    }
+  }
+
+  private DeferredChanged<ChangedSchema> compare(
+      RecursiveSchemaSet refSet, Schema left, Schema right, DiffContext context) {
 
     left = refPointer.resolveRef(this.leftComponents, left, getSchemaRef(left));
     right = refPointer.resolveRef(this.rightComponents, right, getSchemaRef(right));
@@ -10,6 +10,7 @@ import java.util.Objects;
 import org.openapitools.openapidiff.core.model.ChangedSecurityScheme;
 import org.openapitools.openapidiff.core.model.ChangedSecuritySchemeScopes;
 import org.openapitools.openapidiff.core.model.DiffContext;
+import org.openapitools.openapidiff.core.model.DiffMetrics;
 import org.openapitools.openapidiff.core.model.deferred.DeferredChanged;
 import org.openapitools.openapidiff.core.model.deferred.RealizedChanged;
 
@@ -64,6 +65,11 @@ public class SecuritySchemeDiff extends ReferenceDiffCache<SecurityScheme, Chang
         });
   }
 
+  @Override
+  protected DiffMetrics getMetrics() {
+    return openApiDiff.getMetrics();
+  }
+
   @Override
   protected DeferredChanged<ChangedSecurityScheme> computeDiff(
       HashSet<String> refSet,
@@ -0,0 +1,264 @@
+package org.openapitools.openapidiff.core.events;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Flight recorder events of a comparison. The event types are defined at runtime through {@code
+ * jdk.jfr.EventFactory}, so that the engine still runs on a JDK without flight recorder. While no
+ * recording is running {@link Kind#begin()} returns null and costs a single volatile read.
+ *
+ * <pre>
+ * DiffEvents.Event event = DiffEvents.SCHEMA_DIFF.begin();
+ * ...
+ * if (event != null) {
+ *   event.commit(oldRef, newRef);
+ * }
+ * </pre>
+ */
+public final class DiffEvents {
+  private static final Logger log = LoggerFactory.getLogger(DiffEvents.class);
+
+  private static final String PREFIX = "org.openapitools.openapidiff.";
+  private static final String CATEGORY = "OpenAPI Diff";
+
+  /** Parse of one specification, with its location and size in bytes, -1 when not known. */
+  public static final Kind SPEC_PARSE =
+      new Kind(
+          "SpecParse",
+          "Specification Parse",
+          null,
+          field(String.class, "location", "Location"),
+          field(long.class, "bytes", "Bytes"));
+
+  /** First pass over an operation, the schemas it defers are reported by their own events. */
+  public static final Kind OPERATION_DIFF =
+      new Kind(
+          "OperationDiff",
+          "Operation Diff",
+          null,
+          field(String.class, "path", "Path"),
+          field(String.class, "method", "Method"));
+
+  /** Comparison of a pair of schemas. Short comparisons are dropped unless the threshold is 0. */
+  public static final Kind SCHEMA_DIFF =
+      new Kind(
+          "SchemaDiff",
+          "Schema Diff",
+          "1 ms",
+          field(String.class, "oldRef", "Old Reference"),
+          field(String.class, "newRef", "New Reference"));
+
+  /** Processing of the queue of deferred schemas, with the number of schemas compared. */
+  public static final Kind DEFERRED_QUEUE_DRAIN =
+      new Kind(
+          "DeferredQueueDrain",
+          "Deferred Queue Drain",
+          null,
+          field(long.class, "schemas", "Schemas Compared"));
+
+  /** Render of a diff, with the formats written. */
+  public static final Kind RENDER =
+      new Kind("Render", "Render", null, field(String.class, "format", "Format"));
+
+  private static final List<Kind> KINDS =
+      Collections.unmodifiableList(
+          Arrays.asList(SPEC_PARSE, OPERATION_DIFF, SCHEMA_DIFF, DEFERRED_QUEUE_DRAIN, RENDER));
+
+  private static volatile boolean recording;
+  private static final Set<Object> runningRecordings = new HashSet<>();
+
+  private static Method newEvent;
+  private static Method begin;
+  private static Method set;
+  private static Method commit;
+
+  static {
+    try {
+      register();
+    } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+      log.debug("Flight recorder events are not available", e);
+      for (Kind kind : KINDS) {
+        kind.factory = null;
+      }
+    }
+  }
+
+  private DiffEvents() {}
+
+  /** Whether the events are defined, that is whether the JDK has a flight recorder. */
+  public static boolean isAvailable() {
+    return SPEC_PARSE.factory != null;
+  }
+
+  public static final class Kind {
+    private final String name;
+    private final String label;
+    private final String threshold;
+    private final Field[] fields;
+    private Object factory;
+
+    private Kind(String name, String label, String threshold, Field... fields) {
+      this.name = name;
+      this.label = label;
+      this.threshold = threshold;
+      this.fields = fields;
+    }
+
+    public String getName() {
+      return PREFIX + name;
+    }
+
+    /** Starts an event, or returns null when no recording is running. */
+    public Event begin() {
+      if (!recording || factory == null) {
+        return null;
+      }
+      try {
+        Object event = newEvent.invoke(factory);
+        DiffEvents.begin.invoke(event);
+        return new Event(this, event);
+      } catch (ReflectiveOperationException e) {
+        return null;
+      }
+    }
+  }
+
+  public static final class Event {
+    private final Kind kind;
+    private final Object event;
+
+    private Event(Kind kind, Object event) {
+      this.kind = kind;
+      this.event = event;
+    }
+
+    /** Ends the event and commits it with the values of its fields, in declaration order. */
+    public void commit(Object... values) {
+      try {
+        for (int i = 0; i < kind.fields.length && i < values.length; i++) {
+          set.invoke(event, i, values[i]);
+        }
+        DiffEvents.commit.invoke(event);
+      } catch (ReflectiveOperationException e) {
+        log.debug("Cannot commit {} event", kind.name, e);
+      }
+    }
+  }
+
+  private static final class Field {
+    private final Class<?> type;
+    private final String name;
+    private final String label;
+
+    private Field(Class<?> type, String name, String label) {
+      this.type = type;
+      this.name = name;
+      this.label = label;
+    }
+  }
+
+  private static Field field(Class<?> type, String name, String label) {
+    return new Field(type, name, label);
+  }
+
+  private static void register() throws ReflectiveOperationException {
+    Class<?> annotationElement = Class.forName("jdk.jfr.AnnotationElement");
+    Constructor<?> annotation = annotationElement.getConstructor(Class.class, Object.class);
+    Constructor<?> valueDescriptor =
+        Class.forName("jdk.jfr.ValueDescriptor")
+            .getConstructor(Class.class, String.class, List.class);
+    Class<?> eventFactory = Class.forName("jdk.jfr.EventFactory");
+    Method create = eventFactory.getMethod("create", List.class, List.class);
+    Class<?> nameType = Class.forName("jdk.jfr.Name");
+    Class<?> labelType = Class.forName("jdk.jfr.Label");
+    Class<?> categoryType = Class.forName("jdk.jfr.Category");
+    Class<?> thresholdType = Class.forName("jdk.jfr.Threshold");
+    Class<?> stackTraceType = Class.forName("jdk.jfr.StackTrace");
+
+    Class<?> event = Class.forName("jdk.jfr.Event");
+    newEvent = eventFactory.getMethod("newEvent");
+    begin = event.getMethod("begin");
+    set = event.getMethod("set", int.class, Object.class);
+    commit = event.getMethod("commit");
+
+    for (Kind kind : KINDS) {
+      List<Object> annotations = new ArrayList<>();
+      annotations.add(annotation.newInstance(nameType, PREFIX + kind.name));
+      annotations.add(annotation.newInstance(labelType, kind.label));
+      annotations.add(annotation.newInstance(categoryType, new String[] {CATEGORY}));
+      annotations.add(annotation.newInstance(stackTraceType, false));
+      if (kind.threshold != null) {
+        annotations.add(annotation.newInstance(thresholdType, kind.threshold));
+      }
+      List<Object> fields = new ArrayList<>();
+      for (Field field : kind.fields) {
+        fields.add(
+            valueDescriptor.newInstance(
+                field.type,
+                field.name,
+                Collections.singletonList(annotation.newInstance(labelType, field.label))));
+      }
+      kind.factory = create.invoke(null, annotations, fields);
+    }
+    Class<?> listenerType = Class.forName("jdk.jfr.FlightRecorderListener");
+    Class<?> flightRecorder = Class.forName("jdk.jfr.FlightRecorder");
+    Object listener =
+        Proxy.newProxyInstance(
+            DiffEvents.class.getClassLoader(), new Class<?>[] {listenerType}, new Listener());
+    flightRecorder.getMethod("addListener", listenerType).invoke(null, listener);
+  }
+
+  /**
+   * Tracks the running recordings, so that {@link Kind#begin()} is a flag check while there is
+   * none. Whether an event type is enabled and above its threshold is left to the recorder.
+   */
+  private static final class Listener implements InvocationHandler {
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      switch (method.getName()) {
+        case "recordingStateChanged":
+          recordingStateChanged(args[0]);
+          return null;
+        case "recorderInitialized":
+          for (Object recording :
+              (List<?>) args[0].getClass().getMethod("getRecordings").invoke(args[0])) {
+            recordingStateChanged(recording);
+          }
+          return null;
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "toString":
+          return DiffEvents.class.getName() + ".Listener";
+        default:
+          return null;
+      }
+    }
+
+    private static void recordingStateChanged(Object jfrRecording)
+        throws ReflectiveOperationException {
+      Object state = jfrRecording.getClass().getMethod("getState").invoke(jfrRecording);
+      synchronized (runningRecordings) {
+        if ("RUNNING".equals(String.valueOf(state))) {
+          runningRecordings.add(jfrRecording);
+        } else {
+          runningRecordings.remove(jfrRecording);
+        }
+        recording = !runningRecordings.isEmpty();
+      }
+    }
+  }
+}
@@ -0,0 +1,61 @@
+package org.openapitools.openapidiff.core.fingerprint;
+
+import java.security.MessageDigest;
+
+/** 128 bit structural hash of a part of an OpenAPI specification. */
+public final class Fingerprint {
+  private final long high;
+  private final long low;
+
+  Fingerprint(long high, long low) {
+    this.high = high;
+    this.low = low;
+  }
+
+  static Fingerprint of(byte[] digest) {
+    return new Fingerprint(toLong(digest, 0), toLong(digest, 8));
+  }
+
+  private static long toLong(byte[] bytes, int offset) {
+    long result = 0;
+    for (int i = offset; i < offset + 8; i++) {
+      result = (result << 8) | (bytes[i] & 0xFF);
+    }
+    return result;
+  }
+
+  /**
+   * Two fingerprints match only when both are known and equal, an unknown fingerprint never
+   * matches.
+   */
+  public static boolean same(Fingerprint left, Fingerprint right) {
+    return left != null && left.equals(right);
+  }
+
+  void update(MessageDigest digest) {
+    byte[] bytes = new byte[16];
+    for (int i = 0; i < 8; i++) {
+      bytes[i] = (byte) (high >>> (56 - 8 * i));
+      bytes[i + 8] = (byte) (low >>> (56 - 8 * i));
+    }
+    digest.update(bytes);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    Fingerprint that = (Fingerprint) o;
+    return high == that.high && low == that.low;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Long.hashCode(high) + Long.hashCode(low);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%016x%016x", high, low);
+  }
+}
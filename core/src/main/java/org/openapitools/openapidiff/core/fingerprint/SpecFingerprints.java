@@ -0,0 +1,322 @@
+package org.openapitools.openapidiff.core.fingerprint;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.headers.Header;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import org.openapitools.openapidiff.core.utils.RefPointer;
+import org.openapitools.openapidiff.core.utils.RefType;
+
+/**
+ * Structural (Merkle) fingerprints of the schemas, parameters, responses, request bodies and
+ * headers of one specification.
+ *
+ * <p>The fingerprint of a component covers all of its fields and, in place of every {@code $ref},
+ * the fingerprint of the referenced component. Two values with the same fingerprint therefore
+ * always produce an empty diff. Components taking part in a reference cycle are hashed together
+ * with the rest of their cycle, the references inside the cycle being folded in by name.
+ */
+public class SpecFingerprints {
+  private static final ObjectMapper MAPPER = Json.mapper();
+  private static final String REF = "$ref";
+  private static final RefType[] REF_TYPES = {
+    RefType.SCHEMAS, RefType.PARAMETERS, RefType.RESPONSES, RefType.REQUEST_BODIES, RefType.HEADERS
+  };
+
+  private final Map<String, Fingerprint> components;
+  private final Map<Object, Fingerprint> inline =
+      Collections.synchronizedMap(new IdentityHashMap<>());
+
+  private SpecFingerprints(Map<String, Fingerprint> components) {
+    this.components = components;
+  }
+
+  public static SpecFingerprints of(OpenAPI openApi) {
+    Map<String, JsonNode> trees = new LinkedHashMap<>();
+    Components components = openApi.getComponents();
+    if (components != null) {
+      for (RefType refType : REF_TYPES) {
+        Map<String, ?> values = getComponents(components, refType);
+        if (values != null) {
+          String baseRef = RefPointer.BASE_REF + refType.getName() + "/";
+          values.forEach((name, value) -> trees.put(baseRef + name, MAPPER.valueToTree(value)));
+        }
+      }
+    }
+    return new SpecFingerprints(new Builder(trees).build());
+  }
+
+  private static Map<String, ?> getComponents(Components components, RefType refType) {
+    switch (refType) {
+      case SCHEMAS:
+        return components.getSchemas();
+      case PARAMETERS:
+        return components.getParameters();
+      case RESPONSES:
+        return components.getResponses();
+      case REQUEST_BODIES:
+        return components.getRequestBodies();
+      case HEADERS:
+        return components.getHeaders();
+      default:
+        throw new IllegalArgumentException("Not mapped for refType: " + refType);
+    }
+  }
+
+  private static String getRef(Object value) {
+    if (value instanceof Schema) {
+      return ((Schema<?>) value).get$ref();
+    } else if (value instanceof Parameter) {
+      return ((Parameter) value).get$ref();
+    } else if (value instanceof ApiResponse) {
+      return ((ApiResponse) value).get$ref();
+    } else if (value instanceof RequestBody) {
+      return ((RequestBody) value).get$ref();
+    } else if (value instanceof Header) {
+      return ((Header) value).get$ref();
+    } else if (value instanceof PathItem) {
+      return ((PathItem) value).get$ref();
+    }
+    throw new IllegalArgumentException("Unsupported type: " + value.getClass());
+  }
+
+  /**
+   * Fingerprint of a schema, parameter, response, request body, header or path item. References are
+   * followed, inline values are hashed on first use.
+   *
+   * @return the fingerprint, or null when the value is null or references an unknown component
+   */
+  public Fingerprint get(Object value) {
+    if (value == null) {
+      return null;
+    }
+    String ref = getRef(value);
+    if (ref != null) {
+      return components.get(ref);
+    }
+    Fingerprint fingerprint = inline.get(value);
+    if (fingerprint == null) {
+      MessageDigest digest = newDigest();
+      hash(MAPPER.valueToTree(value), digest, components::get);
+      fingerprint = Fingerprint.of(digest.digest());
+      inline.put(value, fingerprint);
+    }
+    return fingerprint;
+  }
+
+  /** Fingerprint of the component with the given reference, e.g. #/components/schemas/Pet. */
+  public Fingerprint getComponent(String ref) {
+    return components.get(ref);
+  }
+
+  private static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private static void hash(
+      JsonNode node, MessageDigest digest, Function<String, Fingerprint> resolve) {
+    switch (node.getNodeType()) {
+      case OBJECT:
+        digest.update((byte) '{');
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        Collections.sort(names);
+        for (String name : names) {
+          update(digest, name);
+          JsonNode child = node.get(name);
+          // only references are followed, other strings naming a component are hashed as such
+          Fingerprint referenced =
+              REF.equals(name) && child.isTextual() ? resolve.apply(child.textValue()) : null;
+          if (referenced != null) {
+            digest.update((byte) '#');
+            referenced.update(digest);
+          } else {
+            hash(child, digest, resolve);
+          }
+        }
+        digest.update((byte) '}');
+        break;
+      case ARRAY:
+        digest.update((byte) '[');
+        for (JsonNode element : node) {
+          hash(element, digest, resolve);
+        }
+        digest.update((byte) ']');
+        break;
+      case STRING:
+        digest.update((byte) '"');
+        update(digest, node.textValue());
+        break;
+      default:
+        digest.update((byte) node.getNodeType().ordinal());
+        update(digest, node.asText());
+        break;
+    }
+  }
+
+  private static void update(MessageDigest digest, String value) {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    digest.update(
+        new byte[] {
+          (byte) (bytes.length >>> 24),
+          (byte) (bytes.length >>> 16),
+          (byte) (bytes.length >>> 8),
+          (byte) bytes.length
+        });
+    digest.update(bytes);
+  }
+
+  private static void collectRefs(JsonNode node, Set<String> known, Set<String> refs) {
+    if (node.isObject()) {
+      JsonNode ref = node.get(REF);
+      if (ref != null && ref.isTextual() && known.contains(ref.textValue())) {
+        refs.add(ref.textValue());
+      }
+    }
+    for (JsonNode child : node) {
+      collectRefs(child, known, refs);
+    }
+  }
+
+  /**
+   * Computes the component fingerprints in dependency order: the strongly connected components of
+   * the reference graph are found with Tarjan's algorithm, which emits every group after all the
+   * groups it references.
+   */
+  private static class Builder {
+    private final Map<String, JsonNode> trees;
+    private final Map<String, Set<String>> edges = new HashMap<>();
+    private final Map<String, Fingerprint> fingerprints = new HashMap<>();
+    private final Map<String, Integer> index = new HashMap<>();
+    private final Map<String, Integer> lowLink = new HashMap<>();
+    private final Deque<String> stack = new ArrayDeque<>();
+    private final Set<String> onStack = new HashSet<>();
+
+    Builder(Map<String, JsonNode> trees) {
+      this.trees = trees;
+      trees.forEach(
+          (ref, tree) -> {
+            Set<String> refs = new LinkedHashSet<>();
+            collectRefs(tree, trees.keySet(), refs);
+            edges.put(ref, refs);
+          });
+    }
+
+    Map<String, Fingerprint> build() {
+      for (String ref : trees.keySet()) {
+        if (!index.containsKey(ref)) {
+          connect(ref);
+        }
+      }
+      return fingerprints;
+    }
+
+    private void connect(String root) {
+      // iterative version of Tarjan's algorithm, reference chains may be very long
+      Deque<Iterator<String>> work = new ArrayDeque<>();
+      Deque<String> path = new ArrayDeque<>();
+      visit(root);
+      path.push(root);
+      work.push(edges.get(root).iterator());
+      while (!path.isEmpty()) {
+        String current = path.peek();
+        Iterator<String> successors = work.peek();
+        if (successors.hasNext()) {
+          String next = successors.next();
+          if (!index.containsKey(next)) {
+            visit(next);
+            path.push(next);
+            work.push(edges.get(next).iterator());
+          } else if (onStack.contains(next)) {
+            lowLink.put(current, Math.min(lowLink.get(current), index.get(next)));
+          }
+        } else {
+          path.pop();
+          work.pop();
+          if (!path.isEmpty()) {
+            String parent = path.peek();
+            lowLink.put(parent, Math.min(lowLink.get(parent), lowLink.get(current)));
+          }
+          if (lowLink.get(current).equals(index.get(current))) {
+            List<String> group = new ArrayList<>();
+            String member;
+            do {
+              member = stack.pop();
+              onStack.remove(member);
+              group.add(member);
+            } while (!member.equals(current));
+            fingerprint(group);
+          }
+        }
+      }
+    }
+
+    private void visit(String ref) {
+      index.put(ref, index.size());
+      lowLink.put(ref, index.get(ref));
+      stack.push(ref);
+      onStack.add(ref);
+    }
+
+    private void fingerprint(List<String> group) {
+      String single = group.get(0);
+      if (group.size() == 1 && !edges.get(single).contains(single)) {
+        MessageDigest digest = newDigest();
+        hash(trees.get(single), digest, fingerprints::get);
+        fingerprints.put(single, Fingerprint.of(digest.digest()));
+        return;
+      }
+      Set<String> members = new HashSet<>(group);
+      Map<String, Fingerprint> local = new TreeMap<>();
+      for (String member : group) {
+        MessageDigest digest = newDigest();
+        hash(
+            trees.get(member), digest, ref -> members.contains(ref) ? null : fingerprints.get(ref));
+        local.put(member, Fingerprint.of(digest.digest()));
+      }
+      MessageDigest groupDigest = newDigest();
+      local.forEach(
+          (member, fingerprint) -> {
+            update(groupDigest, member);
+            fingerprint.update(groupDigest);
+          });
+      Fingerprint groupFingerprint = Fingerprint.of(groupDigest.digest());
+      local.forEach(
+          (member, fingerprint) -> {
+            MessageDigest digest = newDigest();
+            fingerprint.update(digest);
+            groupFingerprint.update(digest);
+            fingerprints.put(member, Fingerprint.of(digest.digest()));
+          });
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package org.openapitools.openapidiff.core.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.models.OpenAPI;
 import java.util.List;
 import java.util.Objects;
@@ -15,6 +16,9 @@ public class ChangedOpenApi implements ComposedChanged {
   private List<ChangedOperation> changedOperations;
   private List<ChangedSchema> changedSchemas;
   private ChangedExtensions changedExtensions;
+  private DiffMetrics metrics;
+  private ReferenceIndex oldReferenceIndex;
+  private ReferenceIndex newReferenceIndex;
 
   public List<Endpoint> getDeprecatedEndpoints() {
     return changedOperations.stream()
@@ -69,10 +73,38 @@ public class ChangedOpenApi implements ComposedChanged {
     return this.changedExtensions;
   }
 
+  /**
+   * Changed schemas compared by the diff, each pair of schemas once per context, e.g. once as a
+   * request body and once as a response. A pair compared both from a $ref of an operation and
+   * nested in other schemas is listed once, not once per place it was reached from.
+   */
   public List<ChangedSchema> getChangedSchemas() {
     return changedSchemas;
   }
 
+  /** Timings and counters of the comparison which made this diff. */
+  @JsonIgnore
+  public DiffMetrics getMetrics() {
+    return metrics;
+  }
+
+  /** Reverse references of the old specification. */
+  @JsonIgnore
+  public ReferenceIndex getOldReferenceIndex() {
+    return oldReferenceIndex;
+  }
+
+  /** Reverse references of the new specification. */
+  @JsonIgnore
+  public ReferenceIndex getNewReferenceIndex() {
+    return newReferenceIndex;
+  }
+
+  /** Operations of the new specification reaching the schema of the given name. */
+  public List<Endpoint> operationsAffectedBy(String schemaName) {
+    return newReferenceIndex.operationsAffectedBy(schemaName);
+  }
+
   public ChangedOpenApi setOldSpecOpenApi(final OpenAPI oldSpecOpenApi) {
     this.oldSpecOpenApi = oldSpecOpenApi;
     return this;
@@ -108,6 +140,21 @@ public class ChangedOpenApi implements ComposedChanged {
     return this;
   }
 
+  public ChangedOpenApi setMetrics(final DiffMetrics metrics) {
+    this.metrics = metrics;
+    return this;
+  }
+
+  public ChangedOpenApi setOldReferenceIndex(final ReferenceIndex oldReferenceIndex) {
+    this.oldReferenceIndex = oldReferenceIndex;
+    return this;
+  }
+
+  public ChangedOpenApi setNewReferenceIndex(final ReferenceIndex newReferenceIndex) {
+    this.newReferenceIndex = newReferenceIndex;
+    return this;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
@@ -61,6 +61,10 @@ public class ChangedSchema implements ComposedChanged {
 
   @Override
   public DiffResult isChanged() {
+    // a cached result is read without the flag, evaluated diffs may be rendered concurrently
+    if (this.changed != null) {
+      return this.changed;
+    }
     if (gettingIsChanged) {
       return DiffResult.NO_CHANGES;
     }
@@ -90,6 +94,9 @@ public class ChangedSchema implements ComposedChanged {
 
   @Override
   public List<Changed> getChangedElements() {
+    if (changedElements != null) {
+      return changedElements;
+    }
     if (gettingChangedElements) {
       return Collections.emptyList();
     }
@@ -37,6 +37,20 @@ public class DiffContext {
     return copy().setResponse();
   }
 
+  /**
+   * Copy keeping only what a schema diff depends on: request or response, required and whether the
+   * operation is a PUT. Schemas referenced from many operations are then diffed once per such
+   * context instead of once per operation.
+   */
+  public DiffContext copyForSchema() {
+    DiffContext context = new DiffContext();
+    context.method = PathItem.HttpMethod.PUT.equals(this.method) ? this.method : null;
+    context.response = this.response;
+    context.request = this.request;
+    context.required = this.required;
+    return context;
+  }
+
   private DiffContext setRequest() {
     this.request = true;
     this.response = false;
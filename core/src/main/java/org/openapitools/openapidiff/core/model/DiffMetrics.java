@@ -0,0 +1,87 @@
+package org.openapitools.openapidiff.core.model;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Wall time per phase and counters of a single comparison. Phases and counters may be updated from
+ * the threads of a parallel diff.
+ */
+public class DiffMetrics {
+
+  public enum Phase {
+    PARSE,
+    PREPROCESS,
+    PATHS,
+    DEFERRED_SCHEMAS,
+    EXTENSIONS,
+    RENDER
+  }
+
+  public enum Counter {
+    /** Schema pairs actually compared, deferred or inline. */
+    SCHEMAS_COMPARED,
+    SCHEMA_CACHE_HITS,
+    SCHEMA_CACHE_MISSES,
+    REFERENCE_CACHE_HITS,
+    REFERENCE_CACHE_MISSES,
+    DEFERRED_CREATED,
+    DEFERRED_RESOLVED,
+    /** Longest length reached by the queue of deferred schemas. */
+    PEAK_QUEUE_LENGTH
+  }
+
+  private final AtomicLongArray nanos = new AtomicLongArray(Phase.values().length);
+  private final AtomicLongArray counters = new AtomicLongArray(Counter.values().length);
+
+  public <T> T time(Phase phase, Supplier<T> task) {
+    long start = System.nanoTime();
+    try {
+      return task.get();
+    } finally {
+      addTime(phase, System.nanoTime() - start);
+    }
+  }
+
+  public void time(Phase phase, Runnable task) {
+    long start = System.nanoTime();
+    try {
+      task.run();
+    } finally {
+      addTime(phase, System.nanoTime() - start);
+    }
+  }
+
+  public void addTime(Phase phase, long elapsedNanos) {
+    nanos.addAndGet(phase.ordinal(), elapsedNanos);
+  }
+
+  public long getNanos(Phase phase) {
+    return nanos.get(phase.ordinal());
+  }
+
+  public void increment(Counter counter) {
+    counters.incrementAndGet(counter.ordinal());
+  }
+
+  /** Raises the counter to the given value if it is lower. */
+  public void max(Counter counter, long value) {
+    counters.accumulateAndGet(counter.ordinal(), value, Math::max);
+  }
+
+  public long get(Counter counter) {
+    return counters.get(counter.ordinal());
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    for (Phase phase : Phase.values()) {
+      sb.append(String.format("%-24s %10.3f ms%n", phase, getNanos(phase) / 1e6));
+    }
+    for (Counter counter : Counter.values()) {
+      sb.append(String.format("%-24s %10d%n", counter, get(counter)));
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,455 @@
+package org.openapitools.openapidiff.core.model;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.callbacks.Callback;
+import io.swagger.v3.oas.models.headers.Header;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.Encoding;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.security.SecurityRequirement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.openapitools.openapidiff.core.utils.EndpointUtils;
+import org.openapitools.openapidiff.core.utils.RefPointer;
+import org.openapitools.openapidiff.core.utils.RefType;
+
+/**
+ * Reverse references of one specification: the components and operations referencing every
+ * component, directly or through other components, e.g. the operations reaching the Pet schema.
+ *
+ * <p>Components and operations are numbered once, references are held in compressed rows of int
+ * arrays and queries walk them with bit sets.
+ */
+public final class ReferenceIndex {
+  private static final RefType[] REF_TYPES = {
+    RefType.SCHEMAS,
+    RefType.PARAMETERS,
+    RefType.RESPONSES,
+    RefType.REQUEST_BODIES,
+    RefType.HEADERS,
+    RefType.SECURITY_SCHEMES
+  };
+
+  private final Map<String, Integer> ids;
+  private final String[] components;
+  private final Endpoint[] operations;
+  // components referencing every component: referrers[referrerOffsets[i]..referrerOffsets[i+1]]
+  private final int[] referrerOffsets;
+  private final int[] referrers;
+  // operations referencing every component without going through another component
+  private final int[] operationOffsets;
+  private final int[] operationReferrers;
+
+  private ReferenceIndex(
+      Map<String, Integer> ids,
+      String[] components,
+      Endpoint[] operations,
+      int[] referrerOffsets,
+      int[] referrers,
+      int[] operationOffsets,
+      int[] operationReferrers) {
+    this.ids = ids;
+    this.components = components;
+    this.operations = operations;
+    this.referrerOffsets = referrerOffsets;
+    this.referrers = referrers;
+    this.operationOffsets = operationOffsets;
+    this.operationReferrers = operationReferrers;
+  }
+
+  public static ReferenceIndex of(OpenAPI openApi) {
+    return new Builder(openApi).build();
+  }
+
+  /** Operations reaching the schema of the given name, in the order of the specification. */
+  public List<Endpoint> operationsAffectedBy(String schemaName) {
+    return operationsReaching(RefPointer.BASE_REF + RefType.SCHEMAS.getName() + "/" + schemaName);
+  }
+
+  /**
+   * Operations reaching the component of the given reference, e.g. #/components/responses/NotFound,
+   * directly or through other components.
+   */
+  public List<Endpoint> operationsReaching(String ref) {
+    BitSet reaching = reaching(ref);
+    if (reaching == null) {
+      return Collections.emptyList();
+    }
+    BitSet found = new BitSet(operations.length);
+    for (int id = reaching.nextSetBit(0); id >= 0; id = reaching.nextSetBit(id + 1)) {
+      for (int i = operationOffsets[id]; i < operationOffsets[id + 1]; i++) {
+        found.set(operationReferrers[i]);
+      }
+    }
+    List<Endpoint> endpoints = new ArrayList<>(found.cardinality());
+    for (int op = found.nextSetBit(0); op >= 0; op = found.nextSetBit(op + 1)) {
+      endpoints.add(operations[op]);
+    }
+    return endpoints;
+  }
+
+  /**
+   * References of the components reaching the component of the given reference through their own
+   * references, the component excluded unless it is part of a cycle.
+   */
+  public List<String> componentsReaching(String ref) {
+    BitSet reaching = reaching(ref);
+    if (reaching == null) {
+      return Collections.emptyList();
+    }
+    int id = ids.get(ref);
+    if (!isInCycle(id, reaching)) {
+      reaching.clear(id);
+    }
+    List<String> refs = new ArrayList<>(reaching.cardinality());
+    for (int i = reaching.nextSetBit(0); i >= 0; i = reaching.nextSetBit(i + 1)) {
+      refs.add(components[i]);
+    }
+    return refs;
+  }
+
+  /**
+   * Id of the component of the given reference, dense from 0 to {@link #getComponentCount()}, or -1
+   * when it is unknown.
+   */
+  public int idOf(String ref) {
+    Integer id = ids.get(ref);
+    return id == null ? -1 : id;
+  }
+
+  /** Number of components of the specification. */
+  public int getComponentCount() {
+    return components.length;
+  }
+
+  /** Number of operations of the specification. */
+  public int getOperationCount() {
+    return operations.length;
+  }
+
+  private boolean isInCycle(int id, BitSet reaching) {
+    // the component reaches itself when it references one of the components reaching it
+    for (int target = reaching.nextSetBit(0);
+        target >= 0;
+        target = reaching.nextSetBit(target + 1)) {
+      for (int i = referrerOffsets[target]; i < referrerOffsets[target + 1]; i++) {
+        if (referrers[i] == id) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /** The component and all the components referencing it, or null when it is unknown. */
+  private BitSet reaching(String ref) {
+    Integer start = ids.get(ref);
+    if (start == null) {
+      return null;
+    }
+    BitSet reached = new BitSet(components.length);
+    int[] stack = new int[components.length];
+    int size = 0;
+    reached.set(start);
+    stack[size++] = start;
+    while (size > 0) {
+      int id = stack[--size];
+      for (int i = referrerOffsets[id]; i < referrerOffsets[id + 1]; i++) {
+        int referrer = referrers[i];
+        if (!reached.get(referrer)) {
+          reached.set(referrer);
+          stack[size++] = referrer;
+        }
+      }
+    }
+    return reached;
+  }
+
+  /** Collects the references of every component and operation as pairs of ids. */
+  private static class Builder {
+    private final OpenAPI openApi;
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> components = new ArrayList<>();
+    private final List<Endpoint> operations = new ArrayList<>();
+    private final Edges componentEdges = new Edges();
+    private final Edges operationEdges = new Edges();
+    // the edges of the current source, and the last source which referenced every component
+    private Edges edges;
+    private int source;
+    private int[] lastSource;
+
+    Builder(OpenAPI openApi) {
+      this.openApi = openApi;
+    }
+
+    ReferenceIndex build() {
+      Components definitions = openApi.getComponents();
+      if (definitions != null) {
+        for (RefType refType : REF_TYPES) {
+          Map<String, ?> values = getComponents(definitions, refType);
+          if (values != null) {
+            String baseRef = RefPointer.BASE_REF + refType.getName() + "/";
+            for (String name : values.keySet()) {
+              ids.put(baseRef + name, components.size());
+              components.add(baseRef + name);
+            }
+          }
+        }
+      }
+      lastSource = new int[components.size()];
+
+      edges = componentEdges;
+      Arrays.fill(lastSource, -1);
+      if (definitions != null) {
+        visitComponents(definitions.getSchemas(), this::schema);
+        visitComponents(definitions.getParameters(), this::parameter);
+        visitComponents(definitions.getResponses(), this::response);
+        visitComponents(definitions.getRequestBodies(), this::requestBody);
+        visitComponents(definitions.getHeaders(), this::header);
+      }
+
+      edges = operationEdges;
+      Arrays.fill(lastSource, -1);
+      if (openApi.getPaths() != null) {
+        openApi
+            .getPaths()
+            .forEach(
+                (url, pathItem) ->
+                    pathItem
+                        .readOperationsMap()
+                        .forEach(
+                            (method, operation) -> {
+                              source = operations.size();
+                              operations.add(
+                                  EndpointUtils.convert2Endpoint(url, method, operation));
+                              forEach(pathItem.getParameters(), this::parameter);
+                              operation(operation);
+                            }));
+      }
+
+      int[] referrerOffsets = new int[components.size() + 1];
+      int[] referrers = componentEdges.reverse(referrerOffsets);
+      int[] operationOffsets = new int[components.size() + 1];
+      int[] operationReferrers = operationEdges.reverse(operationOffsets);
+      return new ReferenceIndex(
+          ids,
+          components.toArray(new String[0]),
+          operations.toArray(new Endpoint[0]),
+          referrerOffsets,
+          referrers,
+          operationOffsets,
+          operationReferrers);
+    }
+
+    private static Map<String, ?> getComponents(Components components, RefType refType) {
+      switch (refType) {
+        case SCHEMAS:
+          return components.getSchemas();
+        case PARAMETERS:
+          return components.getParameters();
+        case RESPONSES:
+          return components.getResponses();
+        case REQUEST_BODIES:
+          return components.getRequestBodies();
+        case HEADERS:
+          return components.getHeaders();
+        case SECURITY_SCHEMES:
+          return components.getSecuritySchemes();
+        default:
+          throw new IllegalArgumentException("Not mapped for refType: " + refType);
+      }
+    }
+
+    private <T> void visitComponents(Map<String, T> values, Visitor<T> visitor) {
+      if (values != null) {
+        values.forEach(
+            (name, value) -> {
+              source = ids.get(RefPointer.BASE_REF + refTypeOf(value).getName() + "/" + name);
+              visitor.visit(value);
+            });
+      }
+    }
+
+    private static RefType refTypeOf(Object value) {
+      if (value instanceof Schema) {
+        return RefType.SCHEMAS;
+      } else if (value instanceof Parameter) {
+        return RefType.PARAMETERS;
+      } else if (value instanceof ApiResponse) {
+        return RefType.RESPONSES;
+      } else if (value instanceof RequestBody) {
+        return RefType.REQUEST_BODIES;
+      }
+      return RefType.HEADERS;
+    }
+
+    private void reference(String ref) {
+      if (ref == null) {
+        return;
+      }
+      Integer target = ids.get(ref);
+      if (target != null && lastSource[target] != source) {
+        lastSource[target] = source;
+        edges.add(source, target);
+      }
+    }
+
+    private <T> void forEach(Collection<T> values, Visitor<T> visitor) {
+      if (values != null) {
+        for (T value : values) {
+          visitor.visit(value);
+        }
+      }
+    }
+
+    private void operation(Operation operation) {
+      forEach(operation.getParameters(), this::parameter);
+      requestBody(operation.getRequestBody());
+      if (operation.getResponses() != null) {
+        forEach(operation.getResponses().values(), this::response);
+      }
+      if (operation.getSecurity() != null) {
+        for (SecurityRequirement requirement : operation.getSecurity()) {
+          for (String name : requirement.keySet()) {
+            reference(RefPointer.BASE_REF + RefType.SECURITY_SCHEMES.getName() + "/" + name);
+          }
+        }
+      }
+      if (operation.getCallbacks() != null) {
+        for (Callback callback : operation.getCallbacks().values()) {
+          reference(callback.get$ref());
+          for (PathItem pathItem : callback.values()) {
+            forEach(pathItem.getParameters(), this::parameter);
+            forEach(pathItem.readOperations(), this::operation);
+          }
+        }
+      }
+    }
+
+    private void parameter(Parameter parameter) {
+      if (parameter != null) {
+        reference(parameter.get$ref());
+        schema(parameter.getSchema());
+        content(parameter.getContent());
+      }
+    }
+
+    private void requestBody(RequestBody requestBody) {
+      if (requestBody != null) {
+        reference(requestBody.get$ref());
+        content(requestBody.getContent());
+      }
+    }
+
+    private void response(ApiResponse response) {
+      if (response != null) {
+        reference(response.get$ref());
+        if (response.getHeaders() != null) {
+          forEach(response.getHeaders().values(), this::header);
+        }
+        content(response.getContent());
+      }
+    }
+
+    private void header(Header header) {
+      if (header != null) {
+        reference(header.get$ref());
+        schema(header.getSchema());
+        content(header.getContent());
+      }
+    }
+
+    private void content(Content content) {
+      if (content != null) {
+        for (MediaType mediaType : content.values()) {
+          schema(mediaType.getSchema());
+          if (mediaType.getEncoding() != null) {
+            for (Encoding encoding : mediaType.getEncoding().values()) {
+              if (encoding.getHeaders() != null) {
+                forEach(encoding.getHeaders().values(), this::header);
+              }
+            }
+          }
+        }
+      }
+    }
+
+    private void schema(Schema<?> schema) {
+      if (schema == null) {
+        return;
+      }
+      reference(schema.get$ref());
+      if (schema.getProperties() != null) {
+        forEach(schema.getProperties().values(), this::schema);
+      }
+      if (schema.getAdditionalProperties() instanceof Schema) {
+        schema((Schema<?>) schema.getAdditionalProperties());
+      }
+      schema(schema.getNot());
+      if (schema instanceof ArraySchema) {
+        schema(((ArraySchema) schema).getItems());
+      }
+      if (schema instanceof ComposedSchema) {
+        ComposedSchema composedSchema = (ComposedSchema) schema;
+        forEach(composedSchema.getAllOf(), this::schema);
+        forEach(composedSchema.getAnyOf(), this::schema);
+        forEach(composedSchema.getOneOf(), this::schema);
+      }
+    }
+  }
+
+  private interface Visitor<T> {
+    void visit(T value);
+  }
+
+  /** Growable list of (source, target) id pairs. */
+  private static class Edges {
+    private int[] sources = new int[64];
+    private int[] targets = new int[64];
+    private int size;
+
+    void add(int source, int target) {
+      if (size == sources.length) {
+        sources = Arrays.copyOf(sources, size * 2);
+        targets = Arrays.copyOf(targets, size * 2);
+      }
+      sources[size] = source;
+      targets[size] = target;
+      size++;
+    }
+
+    /**
+     * Sources of the edges grouped by target, in source order: the sources of target i are at
+     * [offsets[i], offsets[i + 1]) of the returned array.
+     */
+    int[] reverse(int[] offsets) {
+      for (int i = 0; i < size; i++) {
+        offsets[targets[i] + 1]++;
+      }
+      for (int i = 1; i < offsets.length; i++) {
+        offsets[i] += offsets[i - 1];
+      }
+      int[] next = Arrays.copyOf(offsets, offsets.length - 1);
+      int[] reversed = new int[size];
+      for (int i = 0; i < size; i++) {
+        reversed[next[targets[i]]++] = sources[i];
+      }
+      return reversed;
+    }
+  }
+}
@@ -6,11 +6,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import org.openapitools.openapidiff.core.model.Changed;
+import org.openapitools.openapidiff.core.model.DiffMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -59,34 +60,39 @@ public class DeferredBuilder<T> implements Consumer<DeferredChanged<T>> {
       return DeferredChanged.empty();
     }
 
-    log.debug("Building collected deferred {}", DeferredLogger.logValue(deferredValues));
+    if (log.isDebugEnabled()) {
+      log.debug("Building collected deferred {}", DeferredLogger.logValue(deferredValues));
+    }
 
-    final PendingChanged<List<Optional<? super T>>> changed = new PendingChanged<>();
+    final PendingChanged<List<Optional<? super T>>> changed = new PendingChanged<>(metrics());
     whenSet.forEach(changed::whenSet);
 
-    Optional[] values = new Optional[deferredValues.size()];
-
-    IntStream.range(0, deferredValues.size())
-        .forEach(
-            i -> {
-              DeferredChanged<? extends T> deferredItem = deferredValues.get(i);
-              deferredItem.whenSet(
-                  value -> {
-                    values[i] = value;
-                    log.debug(
-                        "Collected deferred item set this={}, item={}, values = {}",
-                        this,
-                        DeferredLogger.logValue(value),
-                        DeferredLogger.logValue(values));
-                    if (isFull(values)) {
-                      log.debug(
-                          "Collected deferred triggering complete this={}, values = {}",
-                          this,
-                          DeferredLogger.logValue(values));
-                      changed.setValue(Optional.of(Arrays.asList(values)));
-                    }
-                  });
-            });
+    int size = deferredValues.size();
+    Optional[] values = new Optional[size];
+    // every item is set once: the item counting down to zero completes the list, and sees the
+    // values written by the items set before it on other threads of a parallel diff
+    AtomicInteger pending = new AtomicInteger(size);
+
+    for (int i = 0; i < size; i++) {
+      final int index = i;
+      deferredValues
+          .get(i)
+          .whenSet(
+              value -> {
+                values[index] = value;
+                boolean full = pending.decrementAndGet() == 0;
+                if (log.isDebugEnabled()) {
+                  log.debug(
+                      "Collected deferred item set this={}, item={}, full={}",
+                      this,
+                      DeferredLogger.logValue(value),
+                      full);
+                }
+                if (full) {
+                  changed.setValue(Optional.of(Arrays.asList(values)));
+                }
+              });
+    }
 
     return changed;
   }
@@ -95,12 +101,13 @@ public class DeferredBuilder<T> implements Consumer<DeferredChanged<T>> {
     return build().flatMap(values -> (DeferredChanged<V>) DeferredChanged.of(isChanged(changed)));
   }
 
-  private static boolean isFull(Object[] values) {
-    for (Object value : values) {
-      if (value == null) {
-        return false;
+  /** Metrics of the comparison the collected values belong to, if any. */
+  private DiffMetrics metrics() {
+    for (DeferredChanged<? extends T> value : deferredValues) {
+      if (value instanceof PendingChanged && ((PendingChanged<?>) value).getMetrics() != null) {
+        return ((PendingChanged<?>) value).getMetrics();
       }
     }
-    return true;
+    return null;
   }
 }
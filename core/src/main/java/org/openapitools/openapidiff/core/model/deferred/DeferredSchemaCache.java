@@ -2,23 +2,41 @@ package org.openapitools.openapidiff.core.model.deferred;
 
 import io.swagger.v3.oas.models.media.Schema;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import org.openapitools.openapidiff.core.compare.CacheKey;
 import org.openapitools.openapidiff.core.compare.OpenApiDiff;
+import org.openapitools.openapidiff.core.events.DiffEvents;
 import org.openapitools.openapidiff.core.model.ChangedSchema;
+import org.openapitools.openapidiff.core.model.DiffMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class DeferredSchemaCache {
   private static final Logger log = LoggerFactory.getLogger(DeferredSchemaCache.class);
 
-  private final Map<CacheKey, SchemaDiffOperation> cache = new LinkedHashMap<>();
-  private final Queue<CacheKey> processingQueue = new ArrayDeque<>();
+  private final Map<SchemaKey, SchemaDiffOperation> cache = new ConcurrentHashMap<>();
+  private final List<SchemaDiffOperation> operations = new ArrayList<>();
+  private final Queue<SchemaDiffOperation> processingQueue = new ArrayDeque<>();
+  private int queued;
+  // results of the schemas to report, in place of the operations, in a memory bounded diff
+  private final Map<SchemaKey, Comparisons> results = new LinkedHashMap<>();
+  // schemas added by the current task of a parallel diff, queued once all tasks are done
+  private final ThreadLocal<List<SchemaDiffOperation>> discovered = new ThreadLocal<>();
+  // schemas requested from every path, by url, when references are tracked
+  private Map<String, Set<SchemaDiffOperation>> pathReferences;
+  // schema being compared by the current thread, when references are tracked
+  private final ThreadLocal<SchemaDiffOperation> processing = new ThreadLocal<>();
 
   private final OpenApiDiff openApiDiff;
 
@@ -27,21 +45,49 @@ public class DeferredSchemaCache {
   }
 
   public SchemaDiffOperation addSchema(
-      RecursiveSchemaSet refSet, CacheKey key, Schema left, Schema right) {
-    if (!cache.containsKey(key)) {
-      log.debug("Added schema cache {}", key);
-      SchemaDiffOperation operation =
-          new SchemaDiffOperation(openApiDiff, refSet, key, left, right);
-      cache.put(key, operation);
-      processingQueue.add(key);
-      return operation;
+      RecursiveSchemaSet refSet, SchemaKey key, Schema left, Schema right) {
+    SchemaDiffOperation cached = cache.get(key);
+    if (cached != null) {
+      return cached;
+    }
+    SchemaDiffOperation operation = new SchemaDiffOperation(openApiDiff, refSet, key, left, right);
+    // the tasks of a parallel diff may add the same schema: the first one queues it
+    cached = cache.putIfAbsent(key, operation);
+    if (cached != null) {
+      return cached;
+    }
+    log.debug("Added schema cache {}", key);
+    List<SchemaDiffOperation> sink = discovered.get();
+    if (sink != null) {
+      sink.add(operation);
     } else {
-      return cache.get(key);
+      enqueue(operation);
     }
+    return operation;
+  }
+
+  private void enqueue(SchemaDiffOperation operation) {
+    if (!openApiDiff.getOptions().isMemoryBounded()) {
+      operations.add(operation);
+    } else {
+      group(results, operation.key, operation.diffResult);
+    }
+    queued++;
+    processingQueue.add(operation);
+    openApiDiff.getMetrics().max(DiffMetrics.Counter.PEAK_QUEUE_LENGTH, processingQueue.size());
+  }
+
+  public DeferredChanged<ChangedSchema> getOrAddSchema(
+      RecursiveSchemaSet refSet, SchemaKey key, Schema left, Schema right) {
+    return getOrAddSchema(refSet, key, left, right, null);
   }
 
+  /**
+   * Returns the diff of the schemas, queued on first use. When references are tracked, the schema
+   * is recorded as requested from the schema being compared or else from the path of the given url.
+   */
   public DeferredChanged<ChangedSchema> getOrAddSchema(
-      RecursiveSchemaSet refSet, CacheKey key, Schema left, Schema right) {
+      RecursiveSchemaSet refSet, SchemaKey key, Schema left, Schema right, String url) {
     // don't allow recursive references to schemas
     if (refSet.contains(key)) {
       log.debug("getOrAddSchema recursive call aborted {} ", key);
@@ -49,17 +95,80 @@ public class DeferredSchemaCache {
     }
 
     refSet.put(key);
-    SchemaDiffOperation operation;
-    if (cache.containsKey(key)) {
-      operation = cache.get(key);
+    SchemaDiffOperation operation = cache.get(key);
+    if (operation != null) {
+      openApiDiff.getMetrics().increment(DiffMetrics.Counter.SCHEMA_CACHE_HITS);
       log.debug("getOrAddSchema cached {} {}", key, operation.diffResult);
     } else {
+      openApiDiff.getMetrics().increment(DiffMetrics.Counter.SCHEMA_CACHE_MISSES);
       operation = addSchema(refSet, key, left, right);
       log.debug("getOrAddSchema added {} {}", key, operation.diffResult);
     }
+    if (pathReferences != null) {
+      reference(url, operation);
+    }
     return operation.diffResult;
   }
 
+  /**
+   * Records which schemas every path and schema requests, so that the schemas reached from a path
+   * can be listed with {@link #getReachable(String)}.
+   */
+  public void trackReferences() {
+    pathReferences = new ConcurrentHashMap<>();
+  }
+
+  private void reference(String url, SchemaDiffOperation operation) {
+    SchemaDiffOperation parent = processing.get();
+    if (parent != null) {
+      parent.referenced.add(operation);
+    } else if (url != null) {
+      pathReferences
+          .computeIfAbsent(url, key -> Collections.synchronizedSet(new LinkedHashSet<>()))
+          .add(operation);
+    }
+  }
+
+  /**
+   * Schemas requested from the path of the given url, directly or through other schemas, in the
+   * order they were first reached.
+   */
+  public Set<SchemaDiffOperation> getReachable(String url) {
+    Set<SchemaDiffOperation> reachable = new LinkedHashSet<>();
+    Set<SchemaDiffOperation> roots = pathReferences.get(url);
+    if (roots == null) {
+      return reachable;
+    }
+    Deque<SchemaDiffOperation> pending;
+    synchronized (roots) {
+      pending = new ArrayDeque<>(roots);
+    }
+    // iterative, chains of nested schemas may be very long
+    while (!pending.isEmpty()) {
+      SchemaDiffOperation operation = pending.poll();
+      if (reachable.add(operation)) {
+        pending.addAll(operation.referenced);
+      }
+    }
+    return reachable;
+  }
+
+  /**
+   * Reuses the diff of a schema compared by a previous diff of the same specifications, the schemas
+   * it references being unchanged. Only the diffs of schemas referenced from the root of a
+   * traversal are shared, nested ones are reached through them.
+   */
+  public void reuse(SchemaDiffOperation operation) {
+    if (!operation.key.isScoped() && operation.diffResult.isValueSet()) {
+      // the ids of the references are those of the specifications of this diff
+      SchemaKey key = operation.key;
+      cache.putIfAbsent(
+          key.withIds(
+              openApiDiff.getOldRefId(key.getLeft()), openApiDiff.getNewRefId(key.getRight())),
+          operation);
+    }
+  }
+
   public void process() {
     processSchemaQueue();
     //        while(! deferredOperations.isEmpty()) {
@@ -73,38 +182,216 @@ public class DeferredSchemaCache {
   }
 
   public void processSchemaQueue() {
-    PendingChanged.logResolved();
+    DiffEvents.Event event = DiffEvents.DEFERRED_QUEUE_DRAIN.begin();
+    int processed = queued - processingQueue.size();
+    try {
+      drainSchemaQueue();
+    } finally {
+      if (event != null) {
+        event.commit((long) (queued - processed));
+      }
+    }
+  }
+
+  private void drainSchemaQueue() {
+    logResolved();
+    if (openApiDiff.getOptions().isParallel()) {
+      processSchemaQueueInParallel();
+      return;
+    }
+    while (!processingQueue.isEmpty()) {
+      SchemaDiffOperation operation = processingQueue.poll();
+      if (operation != null) {
+        process(operation);
+      }
+      logResolved();
+    }
+  }
+
+  /**
+   * Processes the queue in waves. The schemas of one path only depend on each other, so every path
+   * of a wave is processed on its own thread in queue order, and the schemas found along the way
+   * are queued in the order a serial run would have queued them.
+   */
+  private void processSchemaQueueInParallel() {
     while (!processingQueue.isEmpty()) {
-      CacheKey key = processingQueue.poll();
-      if (key != null) {
-        log.debug("Processing schema {}", key);
-        SchemaDiffOperation operation = cache.get(key);
-        DeferredChanged<ChangedSchema> realValue =
-            operation
-                .openApiDiff
-                .getSchemaDiff()
-                .computeDiffForReal(
-                    operation.refSet, operation.left, operation.right, key.getContext());
-        operation.processed = true;
-        realValue.whenSet(
-            value -> {
-              log.debug("Schema processed {} {}", key, DeferredLogger.logValue(value));
-              operation.diffResult.setValue(value);
-            });
-        log.debug("Processing schema started {}", key);
+      List<SchemaDiffOperation> wave = new ArrayList<>(processingQueue);
+      processingQueue.clear();
+      List<List<SchemaDiffOperation>> found = new ArrayList<>(wave.size());
+      Map<String, List<Integer>> paths = new LinkedHashMap<>();
+      for (int i = 0; i < wave.size(); i++) {
+        found.add(new ArrayList<>());
+        paths
+            .computeIfAbsent(wave.get(i).key.getContext().getUrl(), url -> new ArrayList<>())
+            .add(i);
       }
-      PendingChanged.logResolved();
+      List<Supplier<Void>> tasks = new ArrayList<>(paths.size());
+      paths
+          .values()
+          .forEach(
+              indexes ->
+                  tasks.add(
+                      () -> {
+                        for (int i : indexes) {
+                          SchemaDiffOperation operation = wave.get(i);
+                          discover(
+                              found.get(i),
+                              () -> {
+                                process(operation);
+                                return null;
+                              });
+                        }
+                        return null;
+                      }));
+      openApiDiff.invokeAll(tasks);
+      found.forEach(batch -> batch.forEach(this::enqueue));
+      logResolved();
     }
   }
 
+  /**
+   * Runs the tasks, on the pool of a parallel diff if any. Schemas added by the tasks are queued in
+   * task order, as if the tasks had run one after the other.
+   */
+  public <T> List<T> runAll(List<Supplier<T>> tasks) {
+    if (!openApiDiff.getOptions().isParallel()) {
+      return tasks.stream().map(Supplier::get).collect(Collectors.toList());
+    }
+    List<List<SchemaDiffOperation>> found = new ArrayList<>(tasks.size());
+    List<Supplier<T>> discovering = new ArrayList<>(tasks.size());
+    for (Supplier<T> task : tasks) {
+      List<SchemaDiffOperation> sink = new ArrayList<>();
+      found.add(sink);
+      discovering.add(() -> discover(sink, task));
+    }
+    List<T> results = openApiDiff.invokeAll(discovering);
+    found.forEach(batch -> batch.forEach(this::enqueue));
+    return results;
+  }
+
+  private <T> T discover(List<SchemaDiffOperation> sink, Supplier<T> task) {
+    discovered.set(sink);
+    try {
+      return task.get();
+    } finally {
+      discovered.remove();
+    }
+  }
+
+  private void process(SchemaDiffOperation operation) {
+    SchemaKey key = operation.key;
+    log.debug("Processing schema {}", key);
+    if (pathReferences != null) {
+      processing.set(operation);
+    }
+    DeferredChanged<ChangedSchema> realValue;
+    try {
+      realValue =
+          operation
+              .openApiDiff
+              .getSchemaDiff()
+              .computeDiffForReal(
+                  operation.refSet, operation.left, operation.right, key.getContext());
+    } finally {
+      processing.remove();
+    }
+    operation.processed = true;
+    if (openApiDiff.getOptions().isMemoryBounded()) {
+      // the pending diffs of the nested schemas hold what they still need
+      operation.releaseInputs();
+    }
+    realValue.whenSet(
+        value -> {
+          log.debug("Schema processed {} {}", key, DeferredLogger.logValue(value));
+          if (value.isPresent() && value.get().isCoreChanged().isIncompatible()) {
+            openApiDiff.reportIncompatible();
+          }
+          operation.diffResult.setValue(value);
+        });
+    log.debug("Processing schema started {}", key);
+  }
+
+  private void logResolved() {
+    if (log.isDebugEnabled()) {
+      long deferred = openApiDiff.getMetrics().get(DiffMetrics.Counter.DEFERRED_CREATED);
+      long resolved = openApiDiff.getMetrics().get(DiffMetrics.Counter.DEFERRED_RESOLVED);
+      log.debug(
+          "Outstanding: {}  Deferred: {}  Resolved {}", deferred - resolved, deferred, resolved);
+    }
+  }
+
+  /** Compared schemas, in the order they were queued. Not kept by a memory bounded diff. */
   public Collection<SchemaDiffOperation> getOperations() {
-    return cache.values();
+    return operations;
   }
 
+  /** Changed schemas, see {@link #getChangedSchemas(Collection)}. */
   public List<ChangedSchema> getChangedSchemas() {
-    return cache.values().stream()
-        .filter(op -> op.processed && op.diffResult.isPresent())
-        .map(op -> op.diffResult.get())
-        .collect(Collectors.toList());
+    if (openApiDiff.getOptions().isMemoryBounded()) {
+      return getChangedSchemas(results);
+    }
+    return getChangedSchemas(operations);
+  }
+
+  /**
+   * Changed schemas among the given compared schemas. Nested schemas are compared once per
+   * traversal, and per path in a parallel diff, so a pair of schemas is reported once per context:
+   * by the comparison from the root of a traversal if it changed, otherwise by the nested one which
+   * went the deepest, with the most changed elements. Pairs are listed in the order of their first
+   * comparison. Which comparisons of a pair were made, not their order, decides the one reported.
+   */
+  public static List<ChangedSchema> getChangedSchemas(Collection<SchemaDiffOperation> operations) {
+    Map<SchemaKey, Comparisons> groups = new LinkedHashMap<>();
+    for (SchemaDiffOperation operation : operations) {
+      // a schema left unprocessed, e.g. once the result is known, has no result to report
+      group(groups, operation.key, operation.processed ? operation.diffResult : null);
+    }
+    return getChangedSchemas(groups);
+  }
+
+  private static void group(
+      Map<SchemaKey, Comparisons> groups, SchemaKey key, PendingChanged<ChangedSchema> result) {
+    Comparisons comparisons = groups.computeIfAbsent(key.unscoped(), unscoped -> new Comparisons());
+    if (result == null) {
+      return;
+    }
+    if (key.isScoped()) {
+      comparisons.nested.add(result);
+    } else {
+      comparisons.root = result;
+    }
+  }
+
+  private static List<ChangedSchema> getChangedSchemas(Map<SchemaKey, Comparisons> groups) {
+    List<ChangedSchema> changedSchemas = new ArrayList<>();
+    for (Comparisons comparisons : groups.values()) {
+      ChangedSchema reported = comparisons.getReported();
+      if (reported != null) {
+        changedSchemas.add(reported);
+      }
+    }
+    return changedSchemas;
+  }
+
+  /** Comparisons of a pair of schemas in a context. */
+  private static class Comparisons {
+    PendingChanged<ChangedSchema> root;
+    final List<PendingChanged<ChangedSchema>> nested = new ArrayList<>(1);
+
+    ChangedSchema getReported() {
+      if (root != null && root.isPresent()) {
+        return root.get();
+      }
+      ChangedSchema reported = null;
+      for (PendingChanged<ChangedSchema> result : nested) {
+        if (result.isPresent()
+            && (reported == null
+                || result.get().getChangedElements().size()
+                    > reported.getChangedElements().size())) {
+          reported = result.get();
+        }
+      }
+      return reported;
+    }
   }
 }
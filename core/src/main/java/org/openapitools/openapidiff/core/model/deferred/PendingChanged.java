@@ -1,169 +1,348 @@
 package org.openapitools.openapidiff.core.model.deferred;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import javax.annotation.Nullable;
+import org.openapitools.openapidiff.core.model.DiffMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * A value set once, later on. Transformations of a pending value are pending values themselves,
+ * registered as its listeners and holding their function until it is set: a transformation costs a
+ * single object, and a value set drops its listeners and function so that they can be collected.
+ *
+ * <p>Listeners are notified from a loop rather than recursively, so that the depth of the stack
+ * does not depend on the length of the chains of values, e.g. on the depth of the schemas compared.
+ * Unlike a recursive call, {@link #setValue} called by a listener returns before the listeners of
+ * that value are notified: they are notified once the listener returns, before the following
+ * listeners of the value it listens to. A listener therefore never sees the effects of the values
+ * it sets; the listeners of the diff only set values as their last step.
+ */
 public class PendingChanged<T> implements DeferredChanged<T> {
   private static final Logger log = LoggerFactory.getLogger(PendingChanged.class);
+  private static final ThreadLocal<Notifier> NOTIFIER = ThreadLocal.withInitial(Notifier::new);
 
-  private final List<Consumer<T>> ifPresentConsumers = new ArrayList<>();
-  private final List<Consumer<Optional<T>>> whenSetConsumers = new ArrayList<>();
+  // how a derived value is computed from the value of its source
+  private static final byte SOURCE = 0;
+  private static final byte MAP = 1;
+  private static final byte MAP_OPTIONAL = 2;
+  private static final byte FLAT_MAP = 3;
+  // the value of the pending value returned by the function of a flat map
+  private static final byte FORWARD = 4;
 
-  @Nullable private T value;
-  private Optional<T> valueOptional = Optional.empty();
-  private boolean valueIsPresent;
-  private boolean valueSet;
+  @Nullable private Optional<T> value;
+  // listeners are registered under the lock and run outside of it, once the value is published
+  private volatile boolean valueSet;
+  // null, a listener or an array of listeners, dropped once the value is set
+  @Nullable private Object listeners;
+  private int listenerCount;
 
-  private static final AtomicInteger deferredCounter = new AtomicInteger();
-  private static final AtomicInteger resolvedCounter = new AtomicInteger();
+  private byte kind;
+  // function of a derived value, dropped once applied
+  @Nullable private Function<Optional<?>, ?> function;
+
+  // counts the values deferred and resolved by the comparison this value belongs to, if any
+  @Nullable private final DiffMetrics metrics;
+
+  public PendingChanged() {
+    this(null);
+  }
+
+  public PendingChanged(@Nullable DiffMetrics metrics) {
+    this(metrics, SOURCE, null);
+  }
+
+  @SuppressWarnings("unchecked")
+  private PendingChanged(
+      @Nullable DiffMetrics metrics, byte kind, @Nullable Function<?, ?> function) {
+    this.metrics = metrics;
+    this.kind = kind;
+    this.function = (Function<Optional<?>, ?>) function;
+  }
+
+  @Nullable
+  DiffMetrics getMetrics() {
+    return metrics;
+  }
 
   @Override
   public void ifPresent(Consumer<T> consumer) {
-    if (valueSet) {
-      if (valueIsPresent) {
-        consumer.accept(value);
-      }
-    } else {
-      ifPresentConsumers.add(consumer);
+    if (valueSet || !addListener(new IfPresent<>(consumer))) {
+      value.ifPresent(consumer);
+    }
+  }
+
+  @Override
+  public void whenSet(Consumer<Optional<T>> consumer) {
+    if (valueSet || !addListener(consumer)) {
+      consumer.accept(value);
     }
   }
 
   public void setValue(Optional<T> value) {
-    if (!valueSet) {
+    Object listeners;
+    int listenerCount;
+    synchronized (this) {
+      if (valueSet) {
+        throw new IllegalStateException(
+            "PendingChanged may not be set more than once. Value was already set.");
+      }
+      this.value = value;
+      listeners = this.listeners;
+      listenerCount = this.listenerCount;
+      this.listeners = null;
+      this.listenerCount = 0;
       this.valueSet = true;
-      this.valueIsPresent = value.isPresent();
-      this.value = value.orElse(null);
-      this.valueOptional = value;
+    }
 
-      log.debug("set {}", DeferredLogger.logValue(this.value));
+    if (log.isDebugEnabled()) {
+      log.debug("set {}", DeferredLogger.logValue(value));
+    }
 
-      if (this.valueIsPresent) {
-        ifPresentConsumers.forEach(c -> c.accept(this.value));
+    if (listenerCount > 0) {
+      Notifier notifier = NOTIFIER.get();
+      notifier.push(listeners, listenerCount, value);
+      if (!notifier.running) {
+        notifier.run();
       }
-
-      whenSetConsumers.forEach(c -> c.accept(this.valueOptional));
-
-    } else {
-      throw new IllegalStateException(
-          "PendingChanged may not be set more than once. Value was already set.");
     }
   }
 
   public boolean isPresent() {
-    return valueSet && valueIsPresent;
+    return valueSet && value.isPresent();
   }
 
   public T get() {
-    return valueOptional.get();
+    return (valueSet ? value : Optional.<T>empty()).get();
   }
 
   public boolean isValueSet() {
     return valueSet;
   }
 
-  public void whenSet(Consumer<Optional<T>> consumer) {
+  public <Q> DeferredChanged<Q> map(Function<Optional<T>, Q> function) {
     if (valueSet) {
-      consumer.accept(valueOptional);
-    } else {
-      whenSetConsumers.add(consumer);
+      return new RealizedChanged<>(function.apply(value));
     }
+    return derive(MAP, function);
   }
 
-  public <Q> DeferredChanged<Q> map(Function<Optional<T>, Q> function) {
-    return mapOptional(v -> Optional.ofNullable(function.apply(v)));
+  public <Q> DeferredChanged<Q> mapOptional(Function<Optional<T>, Optional<Q>> function) {
+    if (valueSet) {
+      return new RealizedChanged<>(function.apply(value));
+    }
+    return derive(MAP_OPTIONAL, function);
   }
 
-  public <Q> DeferredChanged<Q> mapOptional(Function<Optional<T>, Optional<Q>> function) {
+  public <Q> DeferredChanged<Q> flatMap(Function<Optional<T>, DeferredChanged<Q>> function) {
     if (valueSet) {
-      Optional<Q> result = function.apply(this.valueOptional);
-      log.debug(
-          "map resolved {} {} -> {}",
-          function,
-          DeferredLogger.logValue(this.value),
-          DeferredLogger.logValue(result));
-      return new RealizedChanged<>(result);
+      return function.apply(value);
+    }
+    return derive(FLAT_MAP, function);
+  }
+
+  private <Q> DeferredChanged<Q> derive(byte kind, Function<Optional<T>, ?> function) {
+    PendingChanged<Q> derived = new PendingChanged<>(metrics, kind, function);
+    count(DiffMetrics.Counter.DEFERRED_CREATED);
+    if (!addListener(derived)) {
+      // set in the meantime by another thread
+      derived.apply(value);
+    }
+    return derived;
+  }
+
+  /** Computes this derived value from the value of its source. */
+  @SuppressWarnings("unchecked")
+  private void apply(Optional<?> source) {
+    Function<Optional<?>, ?> function = this.function;
+    this.function = null;
+    switch (kind) {
+      case MAP:
+        resolve(Optional.ofNullable((T) function.apply(source)));
+        break;
+      case MAP_OPTIONAL:
+        resolve((Optional<T>) function.apply(source));
+        break;
+      case FLAT_MAP:
+        forward((DeferredChanged<T>) function.apply(source));
+        break;
+      default:
+        resolve((Optional<T>) source);
+        break;
+    }
+  }
+
+  private void forward(DeferredChanged<T> next) {
+    if (next instanceof PendingChanged) {
+      PendingChanged<T> pending = (PendingChanged<T>) next;
+      kind = FORWARD;
+      if (pending.valueSet || !pending.addListener(this)) {
+        resolve(pending.value);
+      }
+    } else if (next.isValueSet()) {
+      resolve(next.isPresent() ? Optional.of(next.get()) : Optional.empty());
     } else {
-      final PendingChanged<Q> mappedChanged = new PendingChanged<>();
-      log.debug("map deferred {} ? -> ?", function);
-      deferredCounter.incrementAndGet();
-      whenSet(
-          value -> {
-            Optional<Q> result = function.apply(this.valueOptional);
-            log.debug(
-                "map resolved {} {} -> {}",
-                function,
-                DeferredLogger.logValue(this.value),
-                DeferredLogger.logValue(result));
-            resolvedCounter.incrementAndGet();
-            mappedChanged.setValue(result);
-          });
-      return mappedChanged;
+      next.whenSet(this::resolve);
     }
   }
 
-  public <Q> DeferredChanged<Q> flatMap(Function<Optional<T>, DeferredChanged<Q>> function) {
+  private void resolve(Optional<T> value) {
+    count(DiffMetrics.Counter.DEFERRED_RESOLVED);
+    setValue(value);
+  }
+
+  /** Registers the listener, unless the value is already set. */
+  private synchronized boolean addListener(Object listener) {
     if (valueSet) {
-      DeferredChanged<Q> nextDeferred = function.apply(this.valueOptional);
-      log.debug("flat map deferred {} {} -> ?", function, DeferredLogger.logValue(this.value));
-      deferredCounter.incrementAndGet();
-      nextDeferred.whenSet(
-          nextValue -> {
-            log.debug(
-                "flat map resolved {} {} -> {}",
-                function,
-                DeferredLogger.logValue(this.value),
-                DeferredLogger.logValue(nextValue));
-            resolvedCounter.incrementAndGet();
-          });
-      return nextDeferred;
+      return false;
+    }
+    if (listenerCount == 0) {
+      listeners = listener;
+    } else if (listenerCount == 1) {
+      listeners = new Object[] {listeners, listener, null, null};
     } else {
-      final PendingChanged<Q> mappedChanged = new PendingChanged<>();
-      log.debug("flat map deferred {} ? -> ?", function);
-      deferredCounter.incrementAndGet();
-      whenSet(
-          value -> {
-            DeferredChanged<Q> nextDeferred = function.apply(value);
-            nextDeferred.whenSet(
-                nextValue -> {
-                  log.debug(
-                      "flat map deferred {} {} -> {}",
-                      function,
-                      DeferredLogger.logValue(this.value),
-                      DeferredLogger.logValue(nextValue));
-                  resolvedCounter.incrementAndGet();
-                  mappedChanged.setValue(nextValue);
-                });
-            log.debug("flat map resolved {} {} -> ?", function, DeferredLogger.logValue(value));
-          });
-      return mappedChanged;
+      Object[] array = (Object[]) listeners;
+      if (listenerCount == array.length) {
+        array = Arrays.copyOf(array, listenerCount * 2);
+        listeners = array;
+      }
+      array[listenerCount] = listener;
     }
+    listenerCount++;
+    return true;
   }
 
   @Override
   public String toString() {
     return "PendingChanged{"
         + "value="
-        + DeferredLogger.logValue(value)
+        + DeferredLogger.logValue(valueSet ? value : null)
         + ", valueSet="
         + valueSet
-        + ", ifPresentConsumers.size="
-        + ifPresentConsumers.size()
-        + ", whenSetConsumers.size="
-        + whenSetConsumers.size()
+        + ", listeners="
+        + listenerCount
         + '}';
   }
 
-  public static void logResolved() {
-    int deferred = deferredCounter.get();
-    int resolved = resolvedCounter.get();
-    log.debug(
-        "Outstanding: {}  Deferred: {}  Resolved {}", deferred - resolved, deferred, resolved);
+  private void count(DiffMetrics.Counter counter) {
+    if (metrics != null) {
+      metrics.increment(counter);
+    }
+  }
+
+  /** A consumer of the value, if any, run before the other listeners. */
+  private static class IfPresent<T> implements Consumer<Optional<T>> {
+    private final Consumer<T> consumer;
+
+    IfPresent(Consumer<T> consumer) {
+      this.consumer = consumer;
+    }
+
+    @Override
+    public void accept(Optional<T> value) {
+      value.ifPresent(consumer);
+    }
+  }
+
+  /**
+   * Listeners of the values set on a thread, notified depth first: the listeners of the values set
+   * by a listener are notified before the following listeners of the value it listens to.
+   */
+  private static class Notifier {
+    private Frame[] stack = new Frame[16];
+    private int depth;
+    private boolean running;
+
+    void push(Object listeners, int listenerCount, Optional<?> value) {
+      if (depth == stack.length) {
+        stack = Arrays.copyOf(stack, depth * 2);
+      }
+      Frame frame = stack[depth];
+      if (frame == null) {
+        frame = new Frame();
+        stack[depth] = frame;
+      }
+      frame.reset(listeners, listenerCount, value);
+      depth++;
+    }
+
+    void run() {
+      running = true;
+      try {
+        while (depth > 0) {
+          Frame frame = stack[depth - 1];
+          Object listener = frame.next();
+          if (listener == null) {
+            frame.reset(null, 0, null);
+            depth--;
+            continue;
+          }
+          int top = depth;
+          notify(listener, frame.value);
+          // values set by the listener are notified in the order they were set
+          for (int i = top, j = depth - 1; i < j; i++, j--) {
+            Frame swapped = stack[i];
+            stack[i] = stack[j];
+            stack[j] = swapped;
+          }
+        }
+      } finally {
+        // a listener threw: the exception is thrown by the outermost setValue
+        while (depth > 0) {
+          stack[--depth].reset(null, 0, null);
+        }
+        running = false;
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void notify(Object listener, Optional<?> value) {
+      if (listener instanceof PendingChanged) {
+        ((PendingChanged<?>) listener).apply(value);
+      } else {
+        ((Consumer<Optional<?>>) listener).accept(value);
+      }
+    }
+  }
+
+  /** Listeners of a value set, the consumers given to ifPresent first. */
+  private static class Frame {
+    private Object listeners;
+    private int listenerCount;
+    private Optional<?> value;
+    private int index;
+    private boolean ifPresentDone;
+
+    void reset(Object listeners, int listenerCount, Optional<?> value) {
+      this.listeners = listeners;
+      this.listenerCount = listenerCount;
+      this.value = value;
+      this.index = 0;
+      this.ifPresentDone = listenerCount == 1;
+    }
+
+    /** The next listener to notify, or null once all are. */
+    Object next() {
+      if (listenerCount == 1) {
+        return index++ == 0 ? listeners : null;
+      }
+      Object[] array = (Object[]) listeners;
+      while (true) {
+        if (index == listenerCount) {
+          if (ifPresentDone) {
+            return null;
+          }
+          ifPresentDone = true;
+          index = 0;
+        }
+        Object listener = array[index++];
+        if ((listener instanceof IfPresent) != ifPresentDone) {
+          return listener;
+        }
+      }
+    }
   }
 }
@@ -1,18 +1,85 @@
 package org.openapitools.openapidiff.core.model.deferred;
 
-import java.util.HashSet;
-import org.openapitools.openapidiff.core.compare.CacheKey;
+import java.util.Arrays;
 
+/**
+ * References of the schemas compared along a traversal, by id, stopping cycles. A schema is
+ * compared again neither when its left reference nor when its right one was already compared.
+ */
 public class RecursiveSchemaSet {
-  HashSet<String> leftKeys = new HashSet<>();
-  HashSet<String> rightKeys = new HashSet<>();
+  private final Ids leftIds = new Ids();
+  private final Ids rightIds = new Ids();
 
-  public boolean contains(CacheKey key) {
-    return leftKeys.contains(key.getLeft()) || rightKeys.contains(key.getRight());
+  public boolean contains(SchemaKey key) {
+    return leftIds.contains(key.getLeftId()) || rightIds.contains(key.getRightId());
   }
 
-  public void put(CacheKey key) {
-    leftKeys.add(key.getLeft());
-    leftKeys.add(key.getRight());
+  public boolean isEmpty() {
+    return leftIds.isEmpty() && rightIds.isEmpty();
+  }
+
+  public void put(SchemaKey key) {
+    leftIds.add(key.getLeftId());
+    rightIds.add(key.getRightId());
+  }
+
+  /**
+   * Set of ids: a few ids are scanned in an array, more are held as a bit set. Traversals mostly
+   * reach a few schemas, and the ids of a specification are dense.
+   */
+  private static final class Ids {
+    private static final int SCANNED = 8;
+    private static final int[] NONE = new int[0];
+
+    private int[] ids = NONE;
+    private int size;
+    private long[] bits;
+
+    boolean contains(int id) {
+      if (bits != null) {
+        int word = id >>> 6;
+        return word < bits.length && (bits[word] & (1L << id)) != 0;
+      }
+      for (int i = 0; i < size; i++) {
+        if (ids[i] == id) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    boolean isEmpty() {
+      return size == 0;
+    }
+
+    void add(int id) {
+      if (contains(id)) {
+        return;
+      }
+      size++;
+      if (bits == null && size <= SCANNED) {
+        if (ids.length < size) {
+          ids = Arrays.copyOf(ids, SCANNED);
+        }
+        ids[size - 1] = id;
+        return;
+      }
+      if (bits == null) {
+        bits = new long[0];
+        for (int i = 0; i < size - 1; i++) {
+          set(ids[i]);
+        }
+        ids = null;
+      }
+      set(id);
+    }
+
+    private void set(int id) {
+      int word = id >>> 6;
+      if (word >= bits.length) {
+        bits = Arrays.copyOf(bits, Math.max(word + 1, bits.length * 2));
+      }
+      bits[word] |= 1L << id;
+    }
   }
 }
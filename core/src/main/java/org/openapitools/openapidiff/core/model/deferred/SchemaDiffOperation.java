@@ -1,26 +1,45 @@
 package org.openapitools.openapidiff.core.model.deferred;
 
 import io.swagger.v3.oas.models.media.Schema;
-import org.openapitools.openapidiff.core.compare.CacheKey;
+import java.util.ArrayList;
+import java.util.List;
 import org.openapitools.openapidiff.core.compare.OpenApiDiff;
 import org.openapitools.openapidiff.core.model.ChangedSchema;
 
 public class SchemaDiffOperation {
   final OpenApiDiff openApiDiff;
-  final RecursiveSchemaSet refSet;
-  final CacheKey key;
-  final Schema left;
-  final Schema right;
+  final SchemaKey key;
+  // inputs of the comparison, released once processed by a memory bounded diff
+  RecursiveSchemaSet refSet;
+  Schema left;
+  Schema right;
   boolean processed;
 
-  PendingChanged<ChangedSchema> diffResult = new PendingChanged<>();
+  final PendingChanged<ChangedSchema> diffResult;
+  // schemas requested while comparing this one, when references are tracked
+  final List<SchemaDiffOperation> referenced = new ArrayList<>();
 
   SchemaDiffOperation(
-      OpenApiDiff openApiDiff, RecursiveSchemaSet refSet, CacheKey key, Schema left, Schema right) {
+      OpenApiDiff openApiDiff,
+      RecursiveSchemaSet refSet,
+      SchemaKey key,
+      Schema left,
+      Schema right) {
     this.openApiDiff = openApiDiff;
     this.refSet = refSet;
     this.key = key;
     this.left = left;
     this.right = right;
+    this.diffResult = new PendingChanged<>(openApiDiff.getMetrics());
+  }
+
+  public SchemaKey getKey() {
+    return key;
+  }
+
+  void releaseInputs() {
+    refSet = null;
+    left = null;
+    right = null;
   }
 }
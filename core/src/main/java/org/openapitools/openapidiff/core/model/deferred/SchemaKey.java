@@ -0,0 +1,129 @@
+package org.openapitools.openapidiff.core.model.deferred;
+
+import io.swagger.v3.oas.models.PathItem;
+import java.util.Objects;
+import org.openapitools.openapidiff.core.model.DiffContext;
+
+/**
+ * Key of the diff of two referenced schemas in the {@link DeferredSchemaCache}. The references are
+ * compared by their ids, interned once per specification, and the context by the bits a schema diff
+ * depends on, so that a lookup neither hashes the references nor compares the contexts field by
+ * field.
+ */
+public final class SchemaKey {
+  private static final int REQUEST = 1;
+  private static final int RESPONSE = 1 << 1;
+  private static final int PUT = 1 << 2;
+  private static final int REQUIRED = 1 << 3;
+  private static final int NOT_REQUIRED = 1 << 4;
+
+  // the ids of the left and right references
+  private final long refs;
+  private final int flags;
+  // url of the path owning the schema in a parallel diff
+  private final String url;
+  private final RecursiveSchemaSet scope;
+  private final int hash;
+
+  private final String left;
+  private final String right;
+  private final DiffContext context;
+
+  /**
+   * Key of the schemas of the given references and ids in the given context, as returned by {@link
+   * DiffContext#copyForSchema()}. A key with a scope only matches keys of the same scope, the
+   * scopes being compared by identity.
+   */
+  public SchemaKey(
+      String left,
+      int leftId,
+      String right,
+      int rightId,
+      DiffContext context,
+      RecursiveSchemaSet scope) {
+    this.left = left;
+    this.right = right;
+    this.context = context;
+    this.refs = (long) leftId << 32 | (rightId & 0xffffffffL);
+    this.flags = flags(context);
+    this.url = context.getUrl();
+    this.scope = scope;
+    int hash = Long.hashCode(refs);
+    hash = 31 * hash + flags;
+    hash = 31 * hash + Objects.hashCode(url);
+    this.hash = 31 * hash + System.identityHashCode(scope);
+  }
+
+  private static int flags(DiffContext context) {
+    int flags = 0;
+    if (context.isRequest()) {
+      flags |= REQUEST;
+    }
+    if (context.isResponse()) {
+      flags |= RESPONSE;
+    }
+    if (PathItem.HttpMethod.PUT.equals(context.getMethod())) {
+      flags |= PUT;
+    }
+    if (context.isRequired() != null) {
+      flags |= context.isRequired() ? REQUIRED : NOT_REQUIRED;
+    }
+    return flags;
+  }
+
+  public String getLeft() {
+    return left;
+  }
+
+  public String getRight() {
+    return right;
+  }
+
+  public int getLeftId() {
+    return (int) (refs >>> 32);
+  }
+
+  public int getRightId() {
+    return (int) refs;
+  }
+
+  public DiffContext getContext() {
+    return context;
+  }
+
+  /** Whether the key only matches keys of its scope, i.e. of a nested schema. */
+  public boolean isScoped() {
+    return scope != null;
+  }
+
+  /** Key of the same references with the ids they have in other specifications. */
+  public SchemaKey withIds(int leftId, int rightId) {
+    return new SchemaKey(left, leftId, right, rightId, context, scope);
+  }
+
+  /** Key of the same schemas in the same context, whatever the path and scope. */
+  public SchemaKey unscoped() {
+    return new SchemaKey(left, getLeftId(), right, getRightId(), context.copyForSchema(), null);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    SchemaKey that = (SchemaKey) o;
+    return refs == that.refs
+        && flags == that.flags
+        && scope == that.scope
+        && Objects.equals(url, that.url);
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return "SchemaKey(left=" + left + ", right=" + right + ", context=" + context + ")";
+  }
+}
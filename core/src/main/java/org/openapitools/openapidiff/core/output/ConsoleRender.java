@@ -1,11 +1,13 @@
 package org.openapitools.openapidiff.core.output;
 
-import static org.openapitools.openapidiff.core.model.Changed.result;
-
 import io.swagger.v3.oas.models.media.ArraySchema;
 import io.swagger.v3.oas.models.media.Schema;
 import io.swagger.v3.oas.models.parameters.Parameter;
 import io.swagger.v3.oas.models.responses.ApiResponse;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -15,87 +17,123 @@ import org.openapitools.openapidiff.core.model.*;
 import org.openapitools.openapidiff.core.utils.RefPointer;
 import org.openapitools.openapidiff.core.utils.RefType;
 
-public class ConsoleRender implements Render {
+public class ConsoleRender implements VisitorRender {
   private static final int LINE_LENGTH = 74;
   protected static RefPointer<Schema<?>> refPointer = new RefPointer<>(RefType.SCHEMAS);
   protected ChangedOpenApi diff;
 
   @Override
   public String render(ChangedOpenApi diff) {
-    this.diff = diff;
-    StringBuilder output = new StringBuilder();
-    if (diff.isUnchanged()) {
-      output.append("No differences. Specifications are equivalents");
-    } else {
-      output
-          .append(bigTitle("Api Change Log"))
-          .append(StringUtils.center(diff.getNewSpecOpenApi().getInfo().getTitle(), LINE_LENGTH))
-          .append(System.lineSeparator());
-
-      List<Endpoint> newEndpoints = diff.getNewEndpoints();
-      String ol_newEndpoint = listEndpoints(newEndpoints, "What's New");
-
-      List<Endpoint> missingEndpoints = diff.getMissingEndpoints();
-      String ol_missingEndpoint = listEndpoints(missingEndpoints, "What's Deleted");
-
-      List<Endpoint> deprecatedEndpoints = diff.getDeprecatedEndpoints();
-      String ol_deprecatedEndpoint = listEndpoints(deprecatedEndpoints, "What's Deprecated");
-
-      List<ChangedOperation> changedOperations = diff.getChangedOperations();
-      String ol_changed = ol_changed(changedOperations);
-
-      output
-          .append(renderBody(ol_newEndpoint, ol_missingEndpoint, ol_deprecatedEndpoint, ol_changed))
-          .append(title("Result"))
-          .append(
-              StringUtils.center(
-                  diff.isCompatible()
-                      ? "API changes are backward compatible"
-                      : "API changes broke backward compatibility",
-                  LINE_LENGTH))
-          .append(System.lineSeparator())
-          .append(separator('-'));
+    StringWriter output = new StringWriter();
+    try {
+      render(diff, output);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
     }
     return output.toString();
   }
 
-  private String ol_changed(List<ChangedOperation> operations) {
-    if (null == operations || operations.isEmpty()) {
-      return "";
+  @Override
+  public RenderVisitor visitor(Writer output) {
+    return new ConsoleVisitor(output);
+  }
+
+  private class ConsoleVisitor implements RenderVisitor {
+    private final Writer output;
+    private DiffResults results;
+    private boolean unchanged;
+
+    ConsoleVisitor(Writer output) {
+      this.output = output;
     }
-    StringBuilder sb = new StringBuilder();
-    sb.append(title("What's Changed"));
-    for (ChangedOperation operation : operations) {
-      String pathUrl = operation.getPathUrl();
-      String method = operation.getHttpMethod().toString();
-      String desc =
-          Optional.ofNullable(operation.getSummary()).map(ChangedMetadata::getRight).orElse("");
-
-      StringBuilder ul_detail = new StringBuilder();
-      if (result(operation.getParameters()).isDifferent()) {
-        ul_detail
-            .append(StringUtils.repeat(' ', 2))
-            .append("Parameter:")
-            .append(System.lineSeparator())
-            .append(ul_param(operation.getParameters()));
+
+    @Override
+    public void visitStart(ChangedOpenApi diff, DiffResults results) throws IOException {
+      ConsoleRender.this.diff = diff;
+      this.results = results;
+      unchanged = results.get(diff).isUnchanged();
+      if (unchanged) {
+        output.write("No differences. Specifications are equivalents");
+      } else {
+        output.write(bigTitle("Api Change Log"));
+        output.write(
+            StringUtils.center(diff.getNewSpecOpenApi().getInfo().getTitle(), LINE_LENGTH));
+        output.write(System.lineSeparator());
       }
-      if (operation.resultRequestBody().isDifferent()) {
-        ul_detail
-            .append(StringUtils.repeat(' ', 2))
-            .append("Request:")
-            .append(System.lineSeparator())
-            .append(ul_content(operation.getRequestBody().getContent(), true));
+    }
+
+    @Override
+    public void visitSectionStart(Section section, int size) throws IOException {
+      if (size > 0) {
+        output.write(title(section.getTitle()));
+      }
+    }
+
+    @Override
+    public void visitEndpoint(Section section, Endpoint endpoint) throws IOException {
+      output.write(
+          itemEndpoint(
+              endpoint.getMethod().toString(), endpoint.getPathUrl(), endpoint.getSummary()));
+    }
+
+    @Override
+    public void visitChangedOperation(ChangedOperation operation) throws IOException {
+      output.write(li_changedOperation(operation, results));
+    }
+
+    @Override
+    public void visitSectionEnd(Section section, int size) throws IOException {
+      if (size > 0 && section != Section.CHANGED) {
+        output.write(System.lineSeparator());
       }
-      if (operation.resultApiResponses().isDifferent()) {
-        ul_detail
-            .append(StringUtils.repeat(' ', 2))
-            .append("Return Type:")
-            .append(System.lineSeparator())
-            .append(ul_response(operation.getApiResponses()));
+    }
+
+    @Override
+    public void visitEnd(ChangedOpenApi diff) throws IOException {
+      if (unchanged) {
+        return;
       }
-      sb.append(itemEndpoint(method, pathUrl, desc)).append(ul_detail);
+      output.write(title("Result"));
+      output.write(
+          StringUtils.center(
+              results.get(diff).isCompatible()
+                  ? "API changes are backward compatible"
+                  : "API changes broke backward compatibility",
+              LINE_LENGTH));
+      output.write(System.lineSeparator());
+      output.append(separator('-'));
     }
-    return sb.toString();
+  }
+
+  private String li_changedOperation(ChangedOperation operation, DiffResults results) {
+    String pathUrl = operation.getPathUrl();
+    String method = operation.getHttpMethod().toString();
+    String desc =
+        Optional.ofNullable(operation.getSummary()).map(ChangedMetadata::getRight).orElse("");
+
+    StringBuilder ul_detail = new StringBuilder();
+    if (results.get(operation.getParameters()).isDifferent()) {
+      ul_detail
+          .append(StringUtils.repeat(' ', 2))
+          .append("Parameter:")
+          .append(System.lineSeparator())
+          .append(ul_param(operation.getParameters()));
+    }
+    if (results.get(operation.getRequestBody()).isDifferent()) {
+      ul_detail
+          .append(StringUtils.repeat(' ', 2))
+          .append("Request:")
+          .append(System.lineSeparator())
+          .append(ul_content(operation.getRequestBody().getContent(), true));
+    }
+    if (results.get(operation.getApiResponses()).isDifferent()) {
+      ul_detail
+          .append(StringUtils.repeat(' ', 2))
+          .append("Return Type:")
+          .append(System.lineSeparator())
+          .append(ul_response(operation.getApiResponses()));
+    }
+    return itemEndpoint(method, pathUrl, desc) + ul_detail;
   }
 
   private String ul_response(ChangedApiResponse changedApiResponse) {
@@ -279,20 +317,6 @@ public class ConsoleRender implements Render {
     }
   }
 
-  private String listEndpoints(List<Endpoint> endpoints, String title) {
-    if (null == endpoints || endpoints.isEmpty()) {
-      return "";
-    }
-    StringBuilder sb = new StringBuilder();
-    sb.append(title(title));
-    for (Endpoint endpoint : endpoints) {
-      sb.append(
-          itemEndpoint(
-              endpoint.getMethod().toString(), endpoint.getPathUrl(), endpoint.getSummary()));
-    }
-    return sb.append(System.lineSeparator()).toString();
-  }
-
   private String itemEndpoint(String method, String path, String desc) {
     return String.format("- %s %s%n", StringUtils.rightPad(method, 6), path);
   }
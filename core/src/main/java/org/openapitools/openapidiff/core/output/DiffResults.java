@@ -0,0 +1,18 @@
+package org.openapitools.openapidiff.core.output;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import org.openapitools.openapidiff.core.model.Changed;
+import org.openapitools.openapidiff.core.model.DiffResult;
+
+/** Results of the changes of a diff, computed once per walk and shared by all the visitors. */
+public class DiffResults {
+  private final Map<Changed, DiffResult> results = new IdentityHashMap<>();
+
+  public DiffResult get(Changed changed) {
+    if (changed == null) {
+      return DiffResult.NO_CHANGES;
+    }
+    return results.computeIfAbsent(changed, Changed::isChanged);
+  }
+}
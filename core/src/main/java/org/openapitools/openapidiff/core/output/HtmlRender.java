@@ -14,24 +14,28 @@ import static j2html.TagCreator.html;
 import static j2html.TagCreator.li;
 import static j2html.TagCreator.link;
 import static j2html.TagCreator.meta;
-import static j2html.TagCreator.ol;
 import static j2html.TagCreator.p;
 import static j2html.TagCreator.span;
 import static j2html.TagCreator.title;
 import static j2html.TagCreator.ul;
-import static org.openapitools.openapidiff.core.model.Changed.result;
 
 import io.swagger.v3.oas.models.media.ArraySchema;
 import io.swagger.v3.oas.models.media.MediaType;
 import io.swagger.v3.oas.models.media.Schema;
 import io.swagger.v3.oas.models.parameters.Parameter;
 import io.swagger.v3.oas.models.responses.ApiResponse;
+import j2html.rendering.FlatHtml;
+import j2html.rendering.HtmlBuilder;
 import j2html.tags.ContainerTag;
 import j2html.tags.specialized.DivTag;
 import j2html.tags.specialized.HtmlTag;
 import j2html.tags.specialized.LiTag;
 import j2html.tags.specialized.OlTag;
 import j2html.tags.specialized.UlTag;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -52,7 +56,7 @@ import org.openapitools.openapidiff.core.model.Endpoint;
 import org.openapitools.openapidiff.core.utils.RefPointer;
 import org.openapitools.openapidiff.core.utils.RefType;
 
-public class HtmlRender implements Render {
+public class HtmlRender implements VisitorRender {
 
   private static final RefPointer<Schema<?>> refPointer = new RefPointer<>(RefType.SCHEMAS);
   public static final String COMMENT = "comment";
@@ -71,22 +75,89 @@ public class HtmlRender implements Render {
     this.linkCss = linkCss;
   }
 
-  public String render(ChangedOpenApi diff) {
-    this.diff = diff;
+  @Override
+  public RenderVisitor visitor(Writer writer) {
+    return new HtmlVisitor(writer);
+  }
+
+  /** Builds tags for the items of the lists only, the page around them is written directly. */
+  private class HtmlVisitor implements RenderVisitor {
+    private final Writer writer;
+    private final HtmlBuilder<Writer> html;
+    private DiffResults results;
+
+    HtmlVisitor(Writer writer) {
+      this.writer = writer;
+      this.html = FlatHtml.into(writer);
+    }
+
+    @Override
+    public void visitStart(ChangedOpenApi diff, DiffResults results) throws IOException {
+      HtmlRender.this.diff = diff;
+      this.results = results;
+      writer.write(document().render());
+      html.appendStartTag("html").appendAttribute("lang", "en").completeTag();
+      head()
+          .with(
+              meta().withCharset("utf-8"),
+              title(title),
+              link().withRel("stylesheet").withHref(linkCss))
+          .render(html);
+      html.appendStartTag("body").completeTag();
+      header().with(h1(title)).render(html);
+      html.appendStartTag("div").appendAttribute("class", "article").completeTag();
+    }
 
-    List<Endpoint> newEndpoints = diff.getNewEndpoints();
-    OlTag ol_newEndpoint = ol_newEndpoint(newEndpoints);
+    @Override
+    public void visitSectionStart(Section section, int size) throws IOException {
+      html.appendStartTag("div").completeTag();
+      h2(section.getTitle()).render(html);
+      hr().render(html);
+      html.appendStartTag("ol").completeTag();
+    }
 
-    List<Endpoint> missingEndpoints = diff.getMissingEndpoints();
-    OlTag ol_missingEndpoint = ol_missingEndpoint(missingEndpoints);
+    @Override
+    public void visitEndpoint(Section section, Endpoint endpoint) throws IOException {
+      switch (section) {
+        case NEW:
+          li_newEndpoint(endpoint).render(html);
+          break;
+        case DELETED:
+          li_missingEndpoint(endpoint).render(html);
+          break;
+        default:
+          li_deprecatedEndpoint(endpoint).render(html);
+          break;
+      }
+    }
 
-    List<Endpoint> deprecatedEndpoints = diff.getDeprecatedEndpoints();
-    OlTag ol_deprecatedEndpoint = ol_deprecatedEndpoint(deprecatedEndpoints);
+    @Override
+    public void visitChangedOperation(ChangedOperation operation) throws IOException {
+      li_changedOperation(operation, results).render(html);
+    }
 
-    List<ChangedOperation> changedOperations = diff.getChangedOperations();
-    OlTag ol_changed = ol_changed(changedOperations);
+    @Override
+    public void visitSectionEnd(Section section, int size) throws IOException {
+      html.appendEndTag("ol");
+      html.appendEndTag("div");
+    }
 
-    return renderHtml(ol_newEndpoint, ol_missingEndpoint, ol_deprecatedEndpoint, ol_changed);
+    @Override
+    public void visitEnd(ChangedOpenApi diff) throws IOException {
+      html.appendEndTag("div");
+      html.appendEndTag("body");
+      html.appendEndTag("html");
+    }
+  }
+
+  public String render(ChangedOpenApi diff) {
+    StringWriter writer = new StringWriter();
+    try {
+      render(diff, writer);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return writer.toString();
   }
 
   public String renderHtml(OlTag ol_new, OlTag ol_miss, OlTag ol_deprec, OlTag ol_changed) {
@@ -113,83 +184,58 @@ public class HtmlRender implements Render {
     return document().render() + html.render();
   }
 
-  private OlTag ol_newEndpoint(List<Endpoint> endpoints) {
-    if (null == endpoints) return ol();
-    OlTag ol = ol();
-    for (Endpoint endpoint : endpoints) {
-      ol.with(
-          li_newEndpoint(
-              endpoint.getMethod().toString(), endpoint.getPathUrl(), endpoint.getSummary()));
-    }
-    return ol;
+  private LiTag li_newEndpoint(Endpoint endpoint) {
+    return li_newEndpoint(
+        endpoint.getMethod().toString(), endpoint.getPathUrl(), endpoint.getSummary());
   }
 
   private LiTag li_newEndpoint(String method, String path, String desc) {
     return li().with(span(method).withClass(method)).withText(path + " ").with(span(desc));
   }
 
-  private OlTag ol_missingEndpoint(List<Endpoint> endpoints) {
-    if (null == endpoints) return ol();
-    OlTag ol = ol();
-    for (Endpoint endpoint : endpoints) {
-      ol.with(
-          li_missingEndpoint(
-              endpoint.getMethod().toString(), endpoint.getPathUrl(), endpoint.getSummary()));
-    }
-    return ol;
+  private LiTag li_missingEndpoint(Endpoint endpoint) {
+    return li_missingEndpoint(
+        endpoint.getMethod().toString(), endpoint.getPathUrl(), endpoint.getSummary());
   }
 
   private LiTag li_missingEndpoint(String method, String path, String desc) {
     return li().with(span(method).withClass(method), del().withText(path)).with(span(" " + desc));
   }
 
-  private OlTag ol_deprecatedEndpoint(List<Endpoint> endpoints) {
-    if (null == endpoints) return ol();
-    OlTag ol = ol();
-    for (Endpoint endpoint : endpoints) {
-      ol.with(
-          li_deprecatedEndpoint(
-              endpoint.getMethod().toString(), endpoint.getPathUrl(), endpoint.getSummary()));
-    }
-    return ol;
+  private LiTag li_deprecatedEndpoint(Endpoint endpoint) {
+    return li_deprecatedEndpoint(
+        endpoint.getMethod().toString(), endpoint.getPathUrl(), endpoint.getSummary());
   }
 
   private LiTag li_deprecatedEndpoint(String method, String path, String desc) {
     return li().with(span(method).withClass(method), del().withText(path)).with(span(" " + desc));
   }
 
-  private OlTag ol_changed(List<ChangedOperation> changedOperations) {
-    if (null == changedOperations) return ol();
-    OlTag ol = ol();
-    for (ChangedOperation changedOperation : changedOperations) {
-      String pathUrl = changedOperation.getPathUrl();
-      String method = changedOperation.getHttpMethod().toString();
-      String desc =
-          Optional.ofNullable(changedOperation.getSummary())
-              .map(ChangedMetadata::getRight)
-              .orElse("");
-
-      UlTag ul_detail = ul().withClass("detail");
-      if (result(changedOperation.getParameters()).isDifferent()) {
-        ul_detail.with(
-            li().with(h3("Parameters")).with(ul_param(changedOperation.getParameters())));
-      }
-      if (changedOperation.resultRequestBody().isDifferent()) {
-        ul_detail.with(
-            li().with(h3("Request"))
-                .with(ul_request(changedOperation.getRequestBody().getContent())));
-      }
-      if (changedOperation.resultApiResponses().isDifferent()) {
-        ul_detail.with(
-            li().with(h3("Response")).with(ul_response(changedOperation.getApiResponses())));
-      }
-      ol.with(
-          li().with(span(method).withClass(method))
-              .withText(pathUrl + " ")
-              .with(span(desc))
-              .with(ul_detail));
+  private LiTag li_changedOperation(ChangedOperation changedOperation, DiffResults results) {
+    String pathUrl = changedOperation.getPathUrl();
+    String method = changedOperation.getHttpMethod().toString();
+    String desc =
+        Optional.ofNullable(changedOperation.getSummary())
+            .map(ChangedMetadata::getRight)
+            .orElse("");
+
+    UlTag ul_detail = ul().withClass("detail");
+    if (results.get(changedOperation.getParameters()).isDifferent()) {
+      ul_detail.with(li().with(h3("Parameters")).with(ul_param(changedOperation.getParameters())));
+    }
+    if (results.get(changedOperation.getRequestBody()).isDifferent()) {
+      ul_detail.with(
+          li().with(h3("Request"))
+              .with(ul_request(changedOperation.getRequestBody().getContent())));
+    }
+    if (results.get(changedOperation.getApiResponses()).isDifferent()) {
+      ul_detail.with(
+          li().with(h3("Response")).with(ul_response(changedOperation.getApiResponses())));
     }
-    return ol;
+    return li().with(span(method).withClass(method))
+        .withText(pathUrl + " ")
+        .with(span(desc))
+        .with(ul_detail);
   }
 
   private UlTag ul_response(ChangedApiResponse changedApiResponse) {
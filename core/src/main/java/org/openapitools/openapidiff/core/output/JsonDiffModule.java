@@ -0,0 +1,244 @@
+package org.openapitools.openapidiff.core.output;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.impl.UnknownSerializer;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.headers.Header;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.security.SecurityScheme;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.openapitools.openapidiff.core.model.Changed;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.model.Endpoint;
+
+/**
+ * Serializers of the compact JSON output. Objects of the specifications are written as {@code
+ * {"$ref": pointer}} when they can be located in the old or new specification, the {@link
+ * SpecPointers} being taken from the {@code SpecPointers} attribute of the writer. Pointers and
+ * local references start with the specification they point into, e.g. {@code
+ * old#/components/schemas/Pet}. Properties derived from other ones, like {@code changedElements},
+ * are left out.
+ */
+class JsonDiffModule extends SimpleModule {
+  private static final long serialVersionUID = 1L;
+  private static final List<Class<?>> SPEC_TYPES =
+      Arrays.asList(
+          PathItem.class,
+          Operation.class,
+          Parameter.class,
+          RequestBody.class,
+          ApiResponse.class,
+          MediaType.class,
+          Header.class,
+          Schema.class,
+          SecurityScheme.class);
+  private static final Set<String> DERIVED_PROPERTIES =
+      new HashSet<>(
+          Arrays.asList(
+              "changedElements",
+              "context",
+              "compatible",
+              "incompatible",
+              "unchanged",
+              "different"));
+
+  JsonDiffModule() {
+    super("JsonDiffModule");
+    addSerializer(ChangedOpenApi.class, new ChangedOpenApiSerializer());
+    addSerializer(Endpoint.class, new EndpointSerializer());
+    setSerializerModifier(new Modifier());
+  }
+
+  private static class Modifier extends BeanSerializerModifier {
+    @Override
+    public List<BeanPropertyWriter> changeProperties(
+        SerializationConfig config, BeanDescription beanDesc, List<BeanPropertyWriter> properties) {
+      if (!Changed.class.isAssignableFrom(beanDesc.getBeanClass())) {
+        return properties;
+      }
+      return properties.stream()
+          .filter(property -> !DERIVED_PROPERTIES.contains(property.getName()))
+          .collect(Collectors.toList());
+    }
+
+    @Override
+    public JsonSerializer<?> modifySerializer(
+        SerializationConfig config, BeanDescription beanDesc, JsonSerializer<?> serializer) {
+      if (Changed.class.isAssignableFrom(beanDesc.getBeanClass())) {
+        if (serializer instanceof BeanSerializerBase) {
+          return new ChangedSerializer((BeanSerializerBase) serializer);
+        } else if (serializer instanceof UnknownSerializer) {
+          // changes having only derived properties
+          return new ChangedSerializer(null);
+        }
+        return serializer;
+      }
+      for (Class<?> specType : SPEC_TYPES) {
+        if (specType.isAssignableFrom(beanDesc.getBeanClass())) {
+          return new RefSerializer(serializer);
+        }
+      }
+      return serializer;
+    }
+  }
+
+  /** Writes the result of the change before its properties. */
+  private static class ChangedSerializer extends StdSerializer<Object>
+      implements ResolvableSerializer {
+    private static final long serialVersionUID = 1L;
+    private final BeanSerializerBase delegate;
+    private JsonSerializer<Object> properties;
+
+    ChangedSerializer(BeanSerializerBase delegate) {
+      super(Object.class);
+      this.delegate = delegate;
+    }
+
+    @Override
+    public void resolve(SerializerProvider provider) throws JsonMappingException {
+      if (delegate != null) {
+        delegate.resolve(provider);
+        properties = delegate.unwrappingSerializer(null);
+      }
+    }
+
+    @Override
+    public void serialize(Object value, JsonGenerator generator, SerializerProvider provider)
+        throws IOException {
+      generator.writeStartObject(value);
+      generator.writeStringField("result", ((Changed) value).isChanged().name());
+      if (properties != null) {
+        properties.serialize(value, generator, provider);
+      }
+      generator.writeEndObject();
+    }
+  }
+
+  /** Writes a reference in place of the objects found in the specifications. */
+  private static class RefSerializer extends StdSerializer<Object> implements ResolvableSerializer {
+    private static final long serialVersionUID = 1L;
+    private final JsonSerializer<Object> delegate;
+
+    @SuppressWarnings("unchecked")
+    RefSerializer(JsonSerializer<?> delegate) {
+      super(Object.class);
+      this.delegate = (JsonSerializer<Object>) delegate;
+    }
+
+    @Override
+    public void resolve(SerializerProvider provider) throws JsonMappingException {
+      if (delegate instanceof ResolvableSerializer) {
+        ((ResolvableSerializer) delegate).resolve(provider);
+      }
+    }
+
+    @Override
+    public void serialize(Object value, JsonGenerator generator, SerializerProvider provider)
+        throws IOException {
+      String ref = getRef(value);
+      SpecPointers pointers = (SpecPointers) provider.getAttribute(SpecPointers.class);
+      if (pointers != null) {
+        ref = ref == null ? pointers.get(value) : pointers.qualify(value, ref);
+      }
+      if (ref == null) {
+        delegate.serialize(value, generator, provider);
+        return;
+      }
+      generator.writeStartObject();
+      generator.writeStringField("$ref", ref);
+      generator.writeEndObject();
+    }
+
+    private static String getRef(Object value) {
+      if (value instanceof Schema) {
+        return ((Schema<?>) value).get$ref();
+      } else if (value instanceof Parameter) {
+        return ((Parameter) value).get$ref();
+      } else if (value instanceof ApiResponse) {
+        return ((ApiResponse) value).get$ref();
+      } else if (value instanceof RequestBody) {
+        return ((RequestBody) value).get$ref();
+      } else if (value instanceof Header) {
+        return ((Header) value).get$ref();
+      } else if (value instanceof PathItem) {
+        return ((PathItem) value).get$ref();
+      } else if (value instanceof SecurityScheme) {
+        return ((SecurityScheme) value).get$ref();
+      }
+      return null;
+    }
+  }
+
+  private static class ChangedOpenApiSerializer extends StdSerializer<ChangedOpenApi> {
+    private static final long serialVersionUID = 1L;
+
+    ChangedOpenApiSerializer() {
+      super(ChangedOpenApi.class);
+    }
+
+    @Override
+    public void serialize(ChangedOpenApi diff, JsonGenerator generator, SerializerProvider provider)
+        throws IOException {
+      generator.writeStartObject();
+      generator.writeStringField("result", diff.isChanged().name());
+      provider.defaultSerializeField("newEndpoints", diff.getNewEndpoints(), generator);
+      provider.defaultSerializeField("missingEndpoints", diff.getMissingEndpoints(), generator);
+      provider.defaultSerializeField(
+          "deprecatedEndpoints", diff.getDeprecatedEndpoints(), generator);
+      provider.defaultSerializeField("changedOperations", diff.getChangedOperations(), generator);
+      provider.defaultSerializeField(
+          "changedSchemas",
+          diff.getChangedSchemas() == null ? Collections.emptyList() : diff.getChangedSchemas(),
+          generator);
+      if (diff.getChangedExtensions() != null) {
+        provider.defaultSerializeField("changedExtensions", diff.getChangedExtensions(), generator);
+      }
+      generator.writeEndObject();
+    }
+  }
+
+  private static class EndpointSerializer extends StdSerializer<Endpoint> {
+    private static final long serialVersionUID = 1L;
+
+    EndpointSerializer() {
+      super(Endpoint.class);
+    }
+
+    @Override
+    public void serialize(Endpoint endpoint, JsonGenerator generator, SerializerProvider provider)
+        throws IOException {
+      generator.writeStartObject();
+      generator.writeStringField("method", endpoint.getMethod().name());
+      generator.writeStringField("pathUrl", endpoint.getPathUrl());
+      if (endpoint.getSummary() != null) {
+        generator.writeStringField("summary", endpoint.getSummary());
+      }
+      if (endpoint.getOperation() != null) {
+        provider.defaultSerializeField("operation", endpoint.getOperation(), generator);
+      }
+      generator.writeEndObject();
+    }
+  }
+}
@@ -1,20 +1,88 @@
 package org.openapitools.openapidiff.core.output;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import org.openapitools.openapidiff.core.events.DiffEvents;
 import org.openapitools.openapidiff.core.model.ChangedOpenApi;
 
 public class JsonRender implements Render {
   private final ObjectMapper objectMapper =
       new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+  private final boolean compact;
+
+  public JsonRender() {
+    this(false);
+  }
+
+  private JsonRender(boolean compact) {
+    this.compact = compact;
+    if (compact) {
+      objectMapper.registerModule(new JsonDiffModule());
+    }
+  }
+
+  /**
+   * Render leaving out the specifications and the values derived from other ones. The schemas,
+   * operations and other objects of the specifications are written as {@code $ref} pointers into
+   * the old or new specification instead of being embedded, e.g. {@code
+   * new#/components/schemas/Pet}.
+   */
+  public static JsonRender compact() {
+    return new JsonRender(true);
+  }
 
   @Override
   public String render(ChangedOpenApi diff) {
+    if (compact) {
+      StringWriter writer = new StringWriter();
+      try {
+        render(diff, writer);
+      } catch (IOException e) {
+        throw new RuntimeException("Could not serialize diff as JSON", e);
+      }
+      return writer.toString();
+    }
+    DiffEvents.Event event = DiffEvents.RENDER.begin();
     try {
       return objectMapper.writeValueAsString(diff);
     } catch (JsonProcessingException e) {
       throw new RuntimeException("Could not serialize diff as JSON", e);
+    } finally {
+      if (event != null) {
+        event.commit("json");
+      }
+    }
+  }
+
+  @Override
+  public void render(ChangedOpenApi diff, Writer writer) throws IOException {
+    DiffEvents.Event event = DiffEvents.RENDER.begin();
+    try {
+      write(diff, writer);
+    } finally {
+      if (event != null) {
+        event.commit(compact ? "json-compact" : "json");
+      }
+    }
+  }
+
+  private void write(ChangedOpenApi diff, Writer writer) throws IOException {
+    ObjectWriter objectWriter = objectMapper.writer();
+    if (compact) {
+      objectWriter =
+          objectWriter.withAttribute(
+              SpecPointers.class,
+              SpecPointers.of(diff.getOldSpecOpenApi(), diff.getNewSpecOpenApi()));
     }
+    // the generator is flushed but not closed, closing it would close the writer
+    JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+    objectWriter.writeValue(generator, diff);
+    generator.flush();
   }
 }
@@ -1,7 +1,6 @@
 package org.openapitools.openapidiff.core.output;
 
 import static java.lang.String.format;
-import static org.openapitools.openapidiff.core.model.Changed.result;
 import static org.openapitools.openapidiff.core.utils.ChangedUtils.isUnchanged;
 
 import io.swagger.v3.oas.models.headers.Header;
@@ -11,6 +10,10 @@ import io.swagger.v3.oas.models.media.MediaType;
 import io.swagger.v3.oas.models.media.Schema;
 import io.swagger.v3.oas.models.parameters.Parameter;
 import io.swagger.v3.oas.models.responses.ApiResponse;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.List;
 import java.util.Map;
 import org.apache.commons.lang3.StringUtils;
@@ -20,7 +23,7 @@ import org.openapitools.openapidiff.core.utils.RefType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class MarkdownRender implements Render {
+public class MarkdownRender implements VisitorRender {
   private static final Logger LOGGER = LoggerFactory.getLogger(MarkdownRender.class);
   private static final String H3 = "### ";
   private static final String H4 = "#### ";
@@ -42,11 +45,58 @@ public class MarkdownRender implements Render {
   protected boolean showChangedMetadata;
 
   public String render(ChangedOpenApi diff) {
-    this.diff = diff;
-    return listEndpoints("What's New", diff.getNewEndpoints())
-        + listEndpoints("What's Deleted", diff.getMissingEndpoints())
-        + listEndpoints("What's Deprecated", diff.getDeprecatedEndpoints())
-        + listEndpoints(diff.getChangedOperations());
+    StringWriter output = new StringWriter();
+    try {
+      render(diff, output);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return output.toString();
+  }
+
+  @Override
+  public RenderVisitor visitor(Writer output) {
+    return new MarkdownVisitor(output);
+  }
+
+  private class MarkdownVisitor implements RenderVisitor {
+    private final Writer output;
+    private DiffResults results;
+
+    MarkdownVisitor(Writer output) {
+      this.output = output;
+    }
+
+    @Override
+    public void visitStart(ChangedOpenApi diff, DiffResults results) {
+      MarkdownRender.this.diff = diff;
+      this.results = results;
+    }
+
+    @Override
+    public void visitSectionStart(Section section, int size) throws IOException {
+      if (size > 0) {
+        output.write(sectionTitle(section.getTitle()));
+      }
+    }
+
+    @Override
+    public void visitEndpoint(Section section, Endpoint endpoint) throws IOException {
+      output.write(
+          itemEndpoint(
+              endpoint.getMethod().toString(), endpoint.getPathUrl(), endpoint.getSummary()));
+    }
+
+    @Override
+    public void visitChangedOperation(ChangedOperation operation) throws IOException {
+      output.write(itemChangedOperation(operation, results));
+    }
+
+    @Override
+    public void visitSectionEnd(Section section, int size) {}
+
+    @Override
+    public void visitEnd(ChangedOpenApi diff) {}
   }
 
   protected String sectionTitle(String title) {
@@ -81,38 +131,36 @@ public class MarkdownRender implements Render {
       return "";
     }
     StringBuilder sb = new StringBuilder(sectionTitle("What's Changed"));
+    DiffResults results = new DiffResults();
     changedOperations.stream()
-        .map(
-            operation -> {
-              StringBuilder details =
-                  new StringBuilder()
-                      .append(
-                          itemEndpoint(
-                              operation.getHttpMethod().toString(),
-                              operation.getPathUrl(),
-                              operation.getSummary()));
-              if (result(operation.getParameters()).isDifferent()) {
-                details
-                    .append(titleH5("Parameters:"))
-                    .append(parameters(operation.getParameters()));
-              }
-              if (operation.resultRequestBody().isDifferent()) {
-                details
-                    .append(titleH5("Request:"))
-                    .append(metadata("Description", operation.getRequestBody().getDescription()))
-                    .append(bodyContent(operation.getRequestBody().getContent()));
-              }
-              if (operation.resultApiResponses().isDifferent()) {
-                details
-                    .append(titleH5("Return Type:"))
-                    .append(responses(operation.getApiResponses()));
-              }
-              return details.toString();
-            })
+        .map(operation -> itemChangedOperation(operation, results))
         .forEach(sb::append);
     return sb.toString();
   }
 
+  protected String itemChangedOperation(ChangedOperation operation, DiffResults results) {
+    StringBuilder details =
+        new StringBuilder()
+            .append(
+                itemEndpoint(
+                    operation.getHttpMethod().toString(),
+                    operation.getPathUrl(),
+                    operation.getSummary()));
+    if (results.get(operation.getParameters()).isDifferent()) {
+      details.append(titleH5("Parameters:")).append(parameters(operation.getParameters()));
+    }
+    if (results.get(operation.getRequestBody()).isDifferent()) {
+      details
+          .append(titleH5("Request:"))
+          .append(metadata("Description", operation.getRequestBody().getDescription()))
+          .append(bodyContent(operation.getRequestBody().getContent()));
+    }
+    if (results.get(operation.getApiResponses()).isDifferent()) {
+      details.append(titleH5("Return Type:")).append(responses(operation.getApiResponses()));
+    }
+    return details.toString();
+  }
+
   protected String responses(ChangedApiResponse changedApiResponse) {
     StringBuilder sb = new StringBuilder("\n");
     sb.append(listResponse("New response", changedApiResponse.getIncreased()));
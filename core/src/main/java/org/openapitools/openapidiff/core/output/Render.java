@@ -1,8 +1,29 @@
 package org.openapitools.openapidiff.core.output;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import org.openapitools.openapidiff.core.model.ChangedOpenApi;
 
 public interface Render {
 
   String render(ChangedOpenApi diff);
+
+  /** Writes the diff to the writer as it is rendered, the writer is neither flushed nor closed. */
+  default void render(ChangedOpenApi diff, Writer writer) throws IOException {
+    writer.write(render(diff));
+  }
+
+  /**
+   * Writes the diff to the stream in UTF-8 as it is rendered, the stream is flushed, not closed.
+   */
+  default void render(ChangedOpenApi diff, OutputStream outputStream) throws IOException {
+    Writer writer =
+        new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    render(diff, writer);
+    writer.flush();
+  }
 }
@@ -0,0 +1,42 @@
+package org.openapitools.openapidiff.core.output;
+
+import java.io.IOException;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.model.ChangedOperation;
+import org.openapitools.openapidiff.core.model.Endpoint;
+
+/**
+ * Receives the parts of a diff in document order from a {@link RenderWalker}. Every section is
+ * visited, empty ones included.
+ */
+public interface RenderVisitor {
+  enum Section {
+    NEW("What's New"),
+    DELETED("What's Deleted"),
+    DEPRECATED("What's Deprecated"),
+    CHANGED("What's Changed");
+
+    private final String title;
+
+    Section(String title) {
+      this.title = title;
+    }
+
+    public String getTitle() {
+      return title;
+    }
+  }
+
+  void visitStart(ChangedOpenApi diff, DiffResults results) throws IOException;
+
+  void visitSectionStart(Section section, int size) throws IOException;
+
+  /** Endpoint of the {@link Section#NEW}, {@link Section#DELETED} or {@link Section#DEPRECATED}. */
+  void visitEndpoint(Section section, Endpoint endpoint) throws IOException;
+
+  void visitChangedOperation(ChangedOperation operation) throws IOException;
+
+  void visitSectionEnd(Section section, int size) throws IOException;
+
+  void visitEnd(ChangedOpenApi diff) throws IOException;
+}
@@ -0,0 +1,89 @@
+package org.openapitools.openapidiff.core.output;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.openapitools.openapidiff.core.events.DiffEvents;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.model.ChangedOperation;
+import org.openapitools.openapidiff.core.model.Endpoint;
+import org.openapitools.openapidiff.core.output.RenderVisitor.Section;
+
+/**
+ * Walks a diff once, handing every part to all the visitors in turn, so that rendering several
+ * formats costs a single traversal and a single evaluation of each result.
+ */
+public class RenderWalker {
+
+  private RenderWalker() {}
+
+  public static void walk(ChangedOpenApi diff, List<? extends RenderVisitor> visitors)
+      throws IOException {
+    walk(diff, visitors, new DiffResults());
+  }
+
+  /** Walks the diff, reusing the results already computed by the caller. */
+  public static void walk(
+      ChangedOpenApi diff, List<? extends RenderVisitor> visitors, DiffResults results)
+      throws IOException {
+    DiffEvents.Event event = DiffEvents.RENDER.begin();
+    try {
+      visit(diff, visitors, results);
+    } finally {
+      if (event != null) {
+        event.commit(
+            visitors.stream()
+                .map(visitor -> visitor.getClass().getSimpleName())
+                .collect(Collectors.joining(",")));
+      }
+    }
+  }
+
+  private static void visit(
+      ChangedOpenApi diff, List<? extends RenderVisitor> visitors, DiffResults results)
+      throws IOException {
+    for (RenderVisitor visitor : visitors) {
+      visitor.visitStart(diff, results);
+    }
+    endpoints(visitors, Section.NEW, diff.getNewEndpoints());
+    endpoints(visitors, Section.DELETED, diff.getMissingEndpoints());
+    endpoints(visitors, Section.DEPRECATED, diff.getDeprecatedEndpoints());
+    List<ChangedOperation> operations = orEmpty(diff.getChangedOperations());
+    for (RenderVisitor visitor : visitors) {
+      visitor.visitSectionStart(Section.CHANGED, operations.size());
+    }
+    for (ChangedOperation operation : operations) {
+      for (RenderVisitor visitor : visitors) {
+        visitor.visitChangedOperation(operation);
+      }
+    }
+    for (RenderVisitor visitor : visitors) {
+      visitor.visitSectionEnd(Section.CHANGED, operations.size());
+    }
+    for (RenderVisitor visitor : visitors) {
+      visitor.visitEnd(diff);
+    }
+  }
+
+  private static void endpoints(
+      List<? extends RenderVisitor> visitors, Section section, List<Endpoint> endpoints)
+      throws IOException {
+    endpoints = orEmpty(endpoints);
+    for (RenderVisitor visitor : visitors) {
+      visitor.visitSectionStart(section, endpoints.size());
+    }
+    for (Endpoint endpoint : endpoints) {
+      for (RenderVisitor visitor : visitors) {
+        visitor.visitEndpoint(section, endpoint);
+      }
+    }
+    for (RenderVisitor visitor : visitors) {
+      visitor.visitSectionEnd(section, endpoints.size());
+    }
+  }
+
+  private static <T> List<T> orEmpty(List<T> values) {
+    return values == null ? Collections.emptyList() : values;
+  }
+}
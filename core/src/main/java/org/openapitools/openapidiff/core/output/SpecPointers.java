@@ -0,0 +1,181 @@
+package org.openapitools.openapidiff.core.output;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.headers.Header;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.security.SecurityScheme;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * JSON pointers of the objects of the old and new specifications, prefixed with the specification
+ * they point into, e.g. old#/components/schemas/Pet for the Pet schema of the old specification or
+ * new#/paths/~1pet/put for the operation PUT /pet of the new one. An object reachable in several
+ * places keeps the first pointer found, components being visited before paths and the old
+ * specification before the new one.
+ */
+class SpecPointers {
+  private static final String OLD = "old";
+  private static final String NEW = "new";
+
+  private final Map<Object, String> pointers = new IdentityHashMap<>();
+
+  static SpecPointers of(OpenAPI oldSpec, OpenAPI newSpec) {
+    SpecPointers specPointers = new SpecPointers();
+    if (oldSpec != null) {
+      specPointers.openApi(oldSpec, OLD);
+    }
+    if (newSpec != null) {
+      specPointers.openApi(newSpec, NEW);
+    }
+    return specPointers;
+  }
+
+  /** @return the pointer of the object, or null when it is not part of the specifications */
+  String get(Object value) {
+    return pointers.get(value);
+  }
+
+  /**
+   * @return the local reference of the object prefixed with the specification the object belongs
+   *     to, other references unchanged
+   */
+  String qualify(Object value, String ref) {
+    String pointer = pointers.get(value);
+    if (pointer == null || !ref.startsWith("#")) {
+      return ref;
+    }
+    return pointer.substring(0, pointer.indexOf('#')) + ref;
+  }
+
+  private static String escape(String token) {
+    return token.replace("~", "~0").replace("/", "~1");
+  }
+
+  private boolean put(Object value, String pointer) {
+    return value != null && pointers.putIfAbsent(value, pointer) == null;
+  }
+
+  private void openApi(OpenAPI openApi, String document) {
+    Components components = openApi.getComponents();
+    if (components != null) {
+      String base = document + "#/components/";
+      forEach(components.getSchemas(), base + "schemas", this::schema);
+      forEach(components.getParameters(), base + "parameters", this::parameter);
+      forEach(components.getResponses(), base + "responses", this::response);
+      forEach(components.getRequestBodies(), base + "requestBodies", this::requestBody);
+      forEach(components.getHeaders(), base + "headers", this::header);
+      forEach(
+          components.getSecuritySchemes(),
+          base + "securitySchemes",
+          (SecurityScheme securityScheme, String pointer) -> put(securityScheme, pointer));
+    }
+    forEach(openApi.getPaths(), document + "#/paths", this::pathItem);
+  }
+
+  private static <T> void forEach(
+      Map<String, T> values, String pointer, BiConsumer<T, String> visitor) {
+    if (values != null) {
+      values.forEach((name, value) -> visitor.accept(value, pointer + "/" + escape(name)));
+    }
+  }
+
+  private static <T> void forEach(List<T> values, String pointer, BiConsumer<T, String> visitor) {
+    if (values != null) {
+      for (int i = 0; i < values.size(); i++) {
+        visitor.accept(values.get(i), pointer + "/" + i);
+      }
+    }
+  }
+
+  private void pathItem(PathItem pathItem, String pointer) {
+    if (put(pathItem, pointer)) {
+      forEach(pathItem.getParameters(), pointer + "/parameters", this::parameter);
+      pathItem
+          .readOperationsMap()
+          .forEach(
+              (method, operation) ->
+                  operation(operation, pointer + "/" + method.name().toLowerCase()));
+    }
+  }
+
+  private void operation(Operation operation, String pointer) {
+    if (put(operation, pointer)) {
+      forEach(operation.getParameters(), pointer + "/parameters", this::parameter);
+      requestBody(operation.getRequestBody(), pointer + "/requestBody");
+      forEach(operation.getResponses(), pointer + "/responses", this::response);
+    }
+  }
+
+  private void parameter(Parameter parameter, String pointer) {
+    if (put(parameter, pointer)) {
+      schema(parameter.getSchema(), pointer + "/schema");
+      content(parameter.getContent(), pointer + "/content");
+    }
+  }
+
+  private void requestBody(RequestBody requestBody, String pointer) {
+    if (put(requestBody, pointer)) {
+      content(requestBody.getContent(), pointer + "/content");
+    }
+  }
+
+  private void response(ApiResponse response, String pointer) {
+    if (put(response, pointer)) {
+      forEach(response.getHeaders(), pointer + "/headers", this::header);
+      content(response.getContent(), pointer + "/content");
+    }
+  }
+
+  private void header(Header header, String pointer) {
+    if (put(header, pointer)) {
+      schema(header.getSchema(), pointer + "/schema");
+      content(header.getContent(), pointer + "/content");
+    }
+  }
+
+  private void content(Content content, String pointer) {
+    forEach(
+        content,
+        pointer,
+        (MediaType mediaType, String mediaTypePointer) -> {
+          if (put(mediaType, mediaTypePointer)) {
+            schema(mediaType.getSchema(), mediaTypePointer + "/schema");
+          }
+        });
+  }
+
+  private void schema(Schema<?> schema, String pointer) {
+    if (!put(schema, pointer)) {
+      return;
+    }
+    forEach(schema.getProperties(), pointer + "/properties", this::schema);
+    if (schema.getAdditionalProperties() instanceof Schema) {
+      schema((Schema<?>) schema.getAdditionalProperties(), pointer + "/additionalProperties");
+    }
+    if (schema.getNot() != null) {
+      schema(schema.getNot(), pointer + "/not");
+    }
+    if (schema instanceof ArraySchema) {
+      schema(((ArraySchema) schema).getItems(), pointer + "/items");
+    }
+    if (schema instanceof ComposedSchema) {
+      ComposedSchema composedSchema = (ComposedSchema) schema;
+      forEach(composedSchema.getAllOf(), pointer + "/allOf", this::schema);
+      forEach(composedSchema.getAnyOf(), pointer + "/anyOf", this::schema);
+      forEach(composedSchema.getOneOf(), pointer + "/oneOf", this::schema);
+    }
+  }
+}
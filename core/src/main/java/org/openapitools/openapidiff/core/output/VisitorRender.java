@@ -0,0 +1,20 @@
+package org.openapitools.openapidiff.core.output;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+
+/** Render producing its output from the walk of a {@link RenderWalker}. */
+public interface VisitorRender extends Render {
+
+  /**
+   * Visitor writing the output of this render to the writer, which is neither flushed nor closed.
+   */
+  RenderVisitor visitor(Writer writer);
+
+  @Override
+  default void render(ChangedOpenApi diff, Writer writer) throws IOException {
+    RenderWalker.walk(diff, Collections.singletonList(visitor(writer)));
+  }
+}
@@ -0,0 +1,34 @@
+package org.openapitools.openapidiff.core.utils;
+
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds the references of a JSON or YAML document to other documents. The document is searched as
+ * text rather than parsed, any {@code $ref} which does not point into the document itself counts,
+ * even one quoted in a description.
+ */
+public final class ExternalRefs {
+  private static final Pattern REF =
+      Pattern.compile("[\"']?\\$ref[\"']?\\s*:\\s*[\"']?([^\"'\\s,}]+)");
+
+  private ExternalRefs() {}
+
+  /** The first reference to another document, if any. */
+  public static Optional<String> find(String document) {
+    Matcher matcher = REF.matcher(document);
+    while (matcher.find()) {
+      String ref = matcher.group(1);
+      if (!isLocal(ref)) {
+        return Optional.of(ref);
+      }
+    }
+    return Optional.empty();
+  }
+
+  // a pointer into the document, or a bare swagger 2 definition name
+  private static boolean isLocal(String ref) {
+    return ref.startsWith("#") || !ref.matches(".*[/.:].*");
+  }
+}
@@ -0,0 +1,83 @@
+package org.openapitools.openapidiff.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.output.MarkdownRender;
+
+public class CompareAllTest {
+
+  @Test
+  public void testCompareAllMatchesSingleComparisons() {
+    assertCompareAllMatchesSingleComparisons(
+        "petstore_v2_1.yaml",
+        Arrays.asList(
+            "petstore_v2_2.yaml",
+            "petstore_v2_1.yaml",
+            "petstore_v2_empty.yaml",
+            "petstore_v2_2.yaml"));
+  }
+
+  @Test
+  public void testCompareAllWithComposedSchemas() {
+    // allOf is merged in the shared baseline, concurrent comparisons must not see it half done
+    assertCompareAllMatchesSingleComparisons(
+        "allOf_diff_1.yaml",
+        Arrays.asList(
+            "allOf_diff_2.yaml",
+            "allOf_diff_3.yaml",
+            "allOf_diff_4.yaml",
+            "allOf_diff_1.yaml",
+            "allOf_diff_3.yaml",
+            "allOf_diff_4.yaml"));
+  }
+
+  private static void assertCompareAllMatchesSingleComparisons(
+      String baseline, List<String> locations) {
+    List<OpenAPI> candidates = new ArrayList<>();
+    Map<OpenAPI, String> candidateLocations = new IdentityHashMap<>();
+    for (String location : locations) {
+      OpenAPI candidate = read(location);
+      candidates.add(candidate);
+      candidateLocations.put(candidate, location);
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      Iterator<ChangedOpenApi> results =
+          OpenApiCompare.compareAll(read(baseline), candidates, executor);
+      int count = 0;
+      while (results.hasNext()) {
+        ChangedOpenApi result = results.next();
+        ChangedOpenApi expected =
+            OpenApiCompare.fromLocations(
+                baseline, candidateLocations.get(result.getNewSpecOpenApi()));
+        assertThat(result.isChanged()).isEqualTo(expected.isChanged());
+        assertThat(new MarkdownRender().render(result))
+            .isEqualTo(new MarkdownRender().render(expected));
+        count++;
+      }
+      assertThat(count).isEqualTo(locations.size());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private static OpenAPI read(String location) {
+    ParseOptions options = new ParseOptions();
+    options.setResolve(true);
+    return new OpenAPIParser().readLocation(location, null, options).getOpenAPI();
+  }
+}
@@ -2,6 +2,10 @@ package org.openapitools.openapidiff.core;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import org.junit.jupiter.api.Test;
 import org.openapitools.openapidiff.core.model.ChangedOpenApi;
 import org.openapitools.openapidiff.core.output.ConsoleRender;
@@ -14,4 +18,17 @@ public class ConsoleRenderTest {
         OpenApiCompare.fromLocations("missing_property_1.yaml", "missing_property_2.yaml");
     assertThat(render.render(diff)).isNotBlank();
   }
+
+  @Test
+  public void renderToWriterAndStreamMatchesString() throws IOException {
+    ConsoleRender render = new ConsoleRender();
+    ChangedOpenApi diff = OpenApiCompare.fromLocations("petstore_v2_1.yaml", "petstore_v2_2.yaml");
+    String expected = render.render(diff);
+    StringWriter writer = new StringWriter();
+    render.render(diff, writer);
+    assertThat(writer.toString()).isEqualTo(expected);
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    render.render(diff, outputStream);
+    assertThat(new String(outputStream.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(expected);
+  }
 }
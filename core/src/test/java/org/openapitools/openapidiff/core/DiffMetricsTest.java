@@ -0,0 +1,44 @@
+package org.openapitools.openapidiff.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.model.DiffMetrics;
+
+public class DiffMetricsTest {
+  private static final String OPENAPI_DOC1 = "petstore_v2_1.yaml";
+  private static final String OPENAPI_DOC2 = "petstore_v2_2.yaml";
+
+  @Test
+  public void testPhasesAndCountersAreRecorded() {
+    DiffMetrics metrics = OpenApiCompare.fromLocations(OPENAPI_DOC1, OPENAPI_DOC2).getMetrics();
+    assertThat(metrics.getNanos(DiffMetrics.Phase.PARSE)).isPositive();
+    assertThat(metrics.getNanos(DiffMetrics.Phase.PREPROCESS)).isPositive();
+    assertThat(metrics.getNanos(DiffMetrics.Phase.PATHS)).isPositive();
+    assertThat(metrics.getNanos(DiffMetrics.Phase.DEFERRED_SCHEMAS)).isPositive();
+    assertThat(metrics.getNanos(DiffMetrics.Phase.RENDER)).isZero();
+    assertThat(metrics.get(DiffMetrics.Counter.SCHEMAS_COMPARED)).isPositive();
+    assertThat(metrics.get(DiffMetrics.Counter.SCHEMA_CACHE_MISSES)).isPositive();
+    assertThat(metrics.get(DiffMetrics.Counter.PEAK_QUEUE_LENGTH)).isPositive();
+    assertThat(metrics.get(DiffMetrics.Counter.DEFERRED_RESOLVED))
+        .isEqualTo(metrics.get(DiffMetrics.Counter.DEFERRED_CREATED));
+  }
+
+  @Test
+  public void testCountersArePerComparison() {
+    ChangedOpenApi first = OpenApiCompare.fromLocations(OPENAPI_DOC1, OPENAPI_DOC2);
+    ChangedOpenApi second = OpenApiCompare.fromLocations(OPENAPI_DOC1, OPENAPI_DOC2);
+    for (DiffMetrics.Counter counter : DiffMetrics.Counter.values()) {
+      assertThat(second.getMetrics().get(counter))
+          .as(counter.name())
+          .isEqualTo(first.getMetrics().get(counter));
+    }
+  }
+
+  @Test
+  public void testIdenticalSpecificationsCompareNoSchema() {
+    DiffMetrics metrics = OpenApiCompare.fromLocations(OPENAPI_DOC1, OPENAPI_DOC1).getMetrics();
+    assertThat(metrics.get(DiffMetrics.Counter.SCHEMAS_COMPARED)).isZero();
+  }
+}
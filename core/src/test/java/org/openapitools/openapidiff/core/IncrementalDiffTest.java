@@ -0,0 +1,195 @@
+package org.openapitools.openapidiff.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.openapitools.openapidiff.core.compare.DiffOptions;
+import org.openapitools.openapidiff.core.compare.IncrementalDiff;
+import org.openapitools.openapidiff.core.compare.OpenApiDiff;
+import org.openapitools.openapidiff.core.compare.PreparedSpec;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.model.DiffMetrics;
+import org.openapitools.openapidiff.core.output.MarkdownRender;
+
+public class IncrementalDiffTest {
+  private static final String OPENAPI_DOC1 = "petstore_v2_1.yaml";
+  private static final String OPENAPI_DOC2 = "petstore_v2_2.yaml";
+
+  @Test
+  public void testUnchangedSpecIsNotComparedAgain() {
+    IncrementalDiff diff = start();
+    ChangedOpenApi updated = diff.update(PreparedSpec.of(read(OPENAPI_DOC2)));
+
+    assertMatchesFullDiff(updated, edit -> {});
+    assertThat(updated.getMetrics().get(DiffMetrics.Counter.SCHEMAS_COMPARED)).isZero();
+  }
+
+  @Test
+  public void testOnlyEditedOperationIsComparedAgain() {
+    Consumer<OpenAPI> edit =
+        openApi -> {
+          PathItem inventory = openApi.getPaths().get("/store/inventory");
+          inventory.getGet().setSummary("Returns the inventories");
+          inventory.getGet().getResponses().remove("404");
+        };
+    IncrementalDiff diff = start();
+    ChangedOpenApi updated = diff.update(PreparedSpec.of(edited(edit)));
+
+    assertMatchesFullDiff(updated, edit);
+    assertThat(updated.getMetrics().get(DiffMetrics.Counter.SCHEMAS_COMPARED)).isZero();
+  }
+
+  @Test
+  public void testOperationsReachingEditedSchemaAreComparedAgain() {
+    Consumer<OpenAPI> edit =
+        openApi -> {
+          openApi.getComponents().getSchemas().get("Pet").getProperties().remove("status");
+          openApi
+              .getComponents()
+              .getSchemas()
+              .get("Order")
+              .getProperties()
+              .put("note", new StringSchema());
+        };
+    IncrementalDiff diff = start();
+    long full = diff.getResult().getMetrics().get(DiffMetrics.Counter.SCHEMAS_COMPARED);
+    ChangedOpenApi updated = diff.update(PreparedSpec.of(edited(edit)));
+
+    assertMatchesFullDiff(updated, edit);
+    assertThat(updated.getMetrics().get(DiffMetrics.Counter.SCHEMAS_COMPARED))
+        .isPositive()
+        .isLessThan(full);
+
+    // a following edit reuses the diffs of the previous update
+    ChangedOpenApi again = diff.update(PreparedSpec.of(edited(edit)));
+    assertMatchesFullDiff(again, edit);
+    assertThat(again.getMetrics().get(DiffMetrics.Counter.SCHEMAS_COMPARED)).isZero();
+  }
+
+  @Test
+  public void testSchemasAreReusedWhenAddedComponentShiftsIds() {
+    Consumer<OpenAPI> edit =
+        openApi -> {
+          // ids are given in the order of the components, the added one shifts the others
+          Map<String, Schema> schemas = new LinkedHashMap<>();
+          schemas.put("Audit", new StringSchema());
+          schemas.putAll(openApi.getComponents().getSchemas());
+          openApi.getComponents().setSchemas(schemas);
+          openApi.getPaths().get("/pet").getPut().setSummary("Updates a pet");
+        };
+    IncrementalDiff diff = start();
+    ChangedOpenApi updated = diff.update(PreparedSpec.of(edited(edit)));
+
+    assertMatchesFullDiff(updated, edit);
+    assertThat(updated.getMetrics().get(DiffMetrics.Counter.SCHEMAS_COMPARED)).isZero();
+  }
+
+  @Test
+  public void testParallelUpdate() {
+    Consumer<OpenAPI> edit =
+        openApi -> openApi.getComponents().getSchemas().get("Pet").setRequired(null);
+    IncrementalDiff diff =
+        IncrementalDiff.start(
+            PreparedSpec.of(read(OPENAPI_DOC1)),
+            PreparedSpec.of(read(OPENAPI_DOC2)),
+            DiffOptions.parallelism(4));
+    ChangedOpenApi updated = diff.update(PreparedSpec.of(edited(edit)));
+
+    assertMatchesFullDiff(updated, edit);
+  }
+
+  @Test
+  public void testMemoryBoundedUpdate() {
+    Consumer<OpenAPI> edit =
+        openApi ->
+            openApi.getComponents().getSchemas().get("Order").getProperties().remove("status");
+    IncrementalDiff diff =
+        IncrementalDiff.start(
+            PreparedSpec.of(read(OPENAPI_DOC1)),
+            PreparedSpec.of(read(OPENAPI_DOC2)),
+            DiffOptions.defaults().setMemoryBounded(true));
+    long full = diff.getResult().getMetrics().get(DiffMetrics.Counter.SCHEMAS_COMPARED);
+    ChangedOpenApi updated = diff.update(PreparedSpec.of(edited(edit)));
+
+    // the diffs of the unchanged schemas are reused although their inputs were released
+    assertMatchesFullDiff(updated, edit);
+    assertThat(updated.getMetrics().get(DiffMetrics.Counter.SCHEMAS_COMPARED))
+        .isPositive()
+        .isLessThan(full);
+  }
+
+  @Test
+  public void testAddedPathComparesAllPaths() {
+    Consumer<OpenAPI> edit =
+        openApi -> openApi.getPaths().addPathItem("/store/audit", new PathItem());
+    IncrementalDiff diff = start();
+    ChangedOpenApi updated = diff.update(PreparedSpec.of(edited(edit)));
+
+    assertMatchesFullDiff(updated, edit);
+    assertThat(updated.getMetrics().get(DiffMetrics.Counter.SCHEMAS_COMPARED))
+        .isEqualTo(diff.getResult().getMetrics().get(DiffMetrics.Counter.SCHEMAS_COMPARED))
+        .isPositive();
+  }
+
+  private static IncrementalDiff start() {
+    return IncrementalDiff.start(
+        PreparedSpec.of(read(OPENAPI_DOC1)),
+        PreparedSpec.of(read(OPENAPI_DOC2)),
+        DiffOptions.defaults());
+  }
+
+  private static void assertMatchesFullDiff(ChangedOpenApi updated, Consumer<OpenAPI> edit) {
+    ChangedOpenApi full =
+        OpenApiDiff.compare(
+            PreparedSpec.of(read(OPENAPI_DOC1)),
+            PreparedSpec.of(edited(edit)),
+            DiffOptions.defaults());
+    assertThat(updated.isChanged()).isEqualTo(full.isChanged());
+    assertThat(describe(updated)).isEqualTo(describe(full));
+    assertThat(updated.getChangedSchemas())
+        .extracting(schema -> schema.getChangedElements().size() + ":" + schema.isChanged())
+        .containsExactlyInAnyOrderElementsOf(
+            full.getChangedSchemas().stream()
+                .map(schema -> schema.getChangedElements().size() + ":" + schema.isChanged())
+                .collect(Collectors.toList()));
+    assertThat(new MarkdownRender().render(updated)).isEqualTo(new MarkdownRender().render(full));
+  }
+
+  private static String describe(ChangedOpenApi changedOpenApi) {
+    return changedOpenApi.getChangedOperations().stream()
+            .map(
+                operation ->
+                    operation.getHttpMethod()
+                        + " "
+                        + operation.getPathUrl()
+                        + " "
+                        + operation.isChanged())
+            .collect(Collectors.joining(", "))
+        + " | "
+        + changedOpenApi.getNewEndpoints().size()
+        + " | "
+        + changedOpenApi.getMissingEndpoints().size();
+  }
+
+  private static OpenAPI edited(Consumer<OpenAPI> edit) {
+    OpenAPI openApi = read(OPENAPI_DOC2);
+    edit.accept(openApi);
+    return openApi;
+  }
+
+  private static OpenAPI read(String location) {
+    ParseOptions options = new ParseOptions();
+    options.setResolve(true);
+    return new OpenAPIParser().readLocation(location, null, options).getOpenAPI();
+  }
+}
@@ -2,6 +2,12 @@ package org.openapitools.openapidiff.core;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import org.junit.jupiter.api.Test;
 import org.openapitools.openapidiff.core.model.ChangedOpenApi;
 import org.openapitools.openapidiff.core.output.JsonRender;
@@ -14,4 +20,43 @@ public class JsonRenderTest {
         OpenApiCompare.fromLocations("missing_property_1.yaml", "missing_property_2.yaml");
     assertThat(render.render(diff)).isNotBlank();
   }
+
+  @Test
+  public void renderToWriterAndStreamMatchesString() throws IOException {
+    JsonRender render = new JsonRender();
+    ChangedOpenApi diff = OpenApiCompare.fromLocations("petstore_v2_1.yaml", "petstore_v2_2.yaml");
+    String expected = render.render(diff);
+    StringWriter writer = new StringWriter();
+    render.render(diff, writer);
+    assertThat(writer.toString()).isEqualTo(expected);
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    render.render(diff, outputStream);
+    assertThat(new String(outputStream.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(expected);
+  }
+
+  @Test
+  public void compactRenderWritesReferences() throws IOException {
+    ChangedOpenApi diff = OpenApiCompare.fromLocations("petstore_v2_1.yaml", "petstore_v2_2.yaml");
+    String compact = JsonRender.compact().render(diff);
+    JsonNode json = new ObjectMapper().readTree(compact);
+    assertThat(json.get("result").asText()).isEqualTo("INCOMPATIBLE");
+    assertThat(json.has("oldSpecOpenApi")).isFalse();
+    assertThat(compact).doesNotContain("changedElements");
+    JsonNode schema =
+        json.at("/changedOperations/0/requestBody/content/changed/application~1json/schema");
+    // old and new schemas have the same pointer, each in its own specification
+    assertThat(schema.at("/oldSchema/$ref").asText()).isEqualTo("old#/components/schemas/Pet");
+    assertThat(schema.at("/newSchema/$ref").asText()).isEqualTo("new#/components/schemas/Pet");
+    assertThat(schema.at("/increasedProperties/newField/$ref").asText())
+        .isEqualTo("new#/components/schemas/Pet/properties/newField");
+    assertThat(compact.length()).isLessThan(new JsonRender().render(diff).length() / 10);
+  }
+
+  @Test
+  public void compactRenderOfRecursiveSchema() throws IOException {
+    ChangedOpenApi diff =
+        OpenApiCompare.fromLocations("recursive_model_1.yaml", "recursive_model_2.yaml");
+    JsonNode json = new ObjectMapper().readTree(JsonRender.compact().render(diff));
+    assertThat(json.get("changedOperations")).isNotEmpty();
+  }
 }
@@ -0,0 +1,54 @@
+package org.openapitools.openapidiff.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.openapitools.openapidiff.core.compare.DiffOptions;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.output.MarkdownRender;
+
+public class MemoryBoundedDiffTest {
+  private static final String[][] SPECS = {
+    {"petstore_v2_1.yaml", "petstore_v2_2.yaml"},
+    {"allOf_diff_1.yaml", "allOf_diff_2.yaml"},
+    {"composed_schema_1.yaml", "composed_schema_2.yaml"},
+    {"recursive_model_1.yaml", "recursive_model_2.yaml"},
+    {"request_diff_1.yaml", "request_diff_2.yaml"}
+  };
+
+  @Test
+  public void testMemoryBoundedDiffMatchesDiff() {
+    for (String[] specs : SPECS) {
+      ChangedOpenApi diff = OpenApiCompare.fromLocations(specs[0], specs[1]);
+      ChangedOpenApi bounded =
+          OpenApiCompare.fromLocations(
+              specs[0], specs[1], null, DiffOptions.defaults().setMemoryBounded(true));
+      assertThat(describe(bounded)).as(specs[0]).isEqualTo(describe(diff));
+      assertThat(new MarkdownRender().render(bounded))
+          .as(specs[0])
+          .isEqualTo(new MarkdownRender().render(diff));
+    }
+  }
+
+  @Test
+  public void testParallelMemoryBoundedDiffMatchesDiff() {
+    for (String[] specs : SPECS) {
+      ChangedOpenApi diff = OpenApiCompare.fromLocations(specs[0], specs[1]);
+      ChangedOpenApi bounded =
+          OpenApiCompare.fromLocations(
+              specs[0], specs[1], null, DiffOptions.parallelism(4).setMemoryBounded(true));
+      assertThat(describe(bounded)).as(specs[0]).isEqualTo(describe(diff));
+    }
+  }
+
+  private static String describe(ChangedOpenApi changedOpenApi) {
+    return changedOpenApi.getChangedOperations().stream()
+            .map(operation -> operation.getHttpMethod() + " " + operation.getPathUrl())
+            .collect(Collectors.joining(", "))
+        + " | "
+        + changedOpenApi.getChangedSchemas().stream()
+            .map(schema -> schema.getChangedElements().size() + ":" + schema.isChanged())
+            .collect(Collectors.joining(", "));
+  }
+}
@@ -0,0 +1,137 @@
+package org.openapitools.openapidiff.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.openapitools.openapidiff.core.compare.DiffOptions;
+import org.openapitools.openapidiff.core.compare.OperationFilter;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.model.DiffMetrics;
+
+public class OperationFilterTest {
+  private static final String OPENAPI_DOC1 = "petstore_v2_1.yaml";
+  private static final String OPENAPI_DOC2 = "petstore_v2_2.yaml";
+
+  @Test
+  public void testIncludedTagMatchesFilteredFullDiff() {
+    ChangedOpenApi full = OpenApiCompare.fromLocations(OPENAPI_DOC1, OPENAPI_DOC2);
+    ChangedOpenApi scoped = compare(OperationFilter.all().includeTags("user"));
+
+    assertThat(describe(scoped))
+        .isNotEmpty()
+        .containsExactlyElementsOf(
+            full.getChangedOperations().stream()
+                .filter(operation -> operation.getPathUrl().startsWith("/user"))
+                .map(operation -> operation.getHttpMethod() + " " + operation.getPathUrl())
+                .collect(Collectors.toList()));
+    assertThat(scoped.getNewEndpoints())
+        .allSatisfy(endpoint -> assertThat(endpoint.getPathUrl()).startsWith("/user"));
+    assertThat(scoped.getMissingEndpoints())
+        .allSatisfy(endpoint -> assertThat(endpoint.getPathUrl()).startsWith("/user"));
+    // the schemas only reached from the operations left out are not compared
+    assertThat(scoped.getMetrics().get(DiffMetrics.Counter.SCHEMAS_COMPARED))
+        .isLessThan(full.getMetrics().get(DiffMetrics.Counter.SCHEMAS_COMPARED));
+  }
+
+  @Test
+  public void testPathGlobs() {
+    assertThat(describe(compare(OperationFilter.all().includePaths("/pet/*"))))
+        .isNotEmpty()
+        .allSatisfy(
+            operation ->
+                assertThat(operation).matches("[A-Z]+ /pet/[^/]+").doesNotContain("uploadImage"));
+    assertThat(describe(compare(OperationFilter.all().includePaths("/pet/**"))))
+        .anySatisfy(operation -> assertThat(operation).endsWith("/pet/{petId}/uploadImage"));
+    // /user/** does not match /user itself
+    assertThat(describe(compare(OperationFilter.all().excludePaths("/pet**", "/user/**"))))
+        .containsExactly("POST /user");
+  }
+
+  @Test
+  public void testExcludedMethodsAndOperationIds() {
+    List<String> changed =
+        describe(
+            compare(
+                OperationFilter.all()
+                    .includeTags("pet")
+                    .excludeMethods(PathItem.HttpMethod.GET)
+                    .excludeOperationIds("updatePet")));
+
+    assertThat(changed)
+        .isNotEmpty()
+        .allSatisfy(operation -> assertThat(operation).doesNotStartWith("GET"))
+        .doesNotContain("PUT /pet");
+  }
+
+  @Test
+  public void testEmptyFilterComparesAll() {
+    ChangedOpenApi full = OpenApiCompare.fromLocations(OPENAPI_DOC1, OPENAPI_DOC2);
+
+    assertThat(describe(compare(OperationFilter.all()))).isEqualTo(describe(full));
+  }
+
+  @Test
+  public void testRetaggedOperationIsFilteredOnBothSides() {
+    OpenAPI oldSpec = petSpec("pet", "/pet/{petId}", new StringSchema());
+    OpenAPI newSpec = petSpec("animal", "/pet/{id}", new IntegerSchema());
+
+    assertThat(describe(compare(oldSpec, newSpec, OperationFilter.all().includeTags("pet"))))
+        .containsExactly("GET /pet/{petId}");
+    assertThat(describe(compare(oldSpec, newSpec, OperationFilter.all().includeTags("animal"))))
+        .containsExactly("GET /pet/{petId}");
+    assertThat(describe(compare(oldSpec, newSpec, OperationFilter.all().excludeTags("pet"))))
+        .containsExactly("GET /pet/{petId}");
+    ChangedOpenApi excluded =
+        compare(oldSpec, newSpec, OperationFilter.all().excludeTags("pet", "animal"));
+    assertThat(excluded.getChangedOperations()).isEmpty();
+    assertThat(excluded.getNewEndpoints()).isEmpty();
+    assertThat(excluded.getMissingEndpoints()).isEmpty();
+  }
+
+  private static OpenAPI petSpec(String tag, String url, Schema<?> schema) {
+    Operation operation =
+        new Operation()
+            .addTagsItem(tag)
+            .operationId("getPet")
+            .responses(
+                new ApiResponses()
+                    .addApiResponse(
+                        "200",
+                        new ApiResponse()
+                            .description("OK")
+                            .content(
+                                new Content()
+                                    .addMediaType(
+                                        "application/json", new MediaType().schema(schema)))));
+    return new OpenAPI().paths(new Paths().addPathItem(url, new PathItem().get(operation)));
+  }
+
+  private static ChangedOpenApi compare(OpenAPI oldSpec, OpenAPI newSpec, OperationFilter filter) {
+    return OpenApiCompare.fromSpecifications(
+        oldSpec, newSpec, DiffOptions.defaults().setFilter(filter));
+  }
+
+  private static ChangedOpenApi compare(OperationFilter filter) {
+    return OpenApiCompare.fromLocations(
+        OPENAPI_DOC1, OPENAPI_DOC2, null, DiffOptions.defaults().setFilter(filter));
+  }
+
+  private static List<String> describe(ChangedOpenApi changedOpenApi) {
+    return changedOpenApi.getChangedOperations().stream()
+        .map(operation -> operation.getHttpMethod() + " " + operation.getPathUrl())
+        .collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,74 @@
+package org.openapitools.openapidiff.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.openapitools.openapidiff.core.compare.DiffOptions;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.output.MarkdownRender;
+
+public class ParallelDiffTest {
+  private static final String[][] SPECS = {
+    {"petstore_v2_1.yaml", "petstore_v2_2.yaml"},
+    {"allOf_diff_1.yaml", "allOf_diff_2.yaml"},
+    {"composed_schema_1.yaml", "composed_schema_2.yaml"},
+    {"recursive_model_1.yaml", "recursive_model_2.yaml"},
+    {"parameters_diff_1.yaml", "parameters_diff_2.yaml"},
+    {"path_1.yaml", "path_2.yaml"},
+    {"request_diff_1.yaml", "request_diff_2.yaml"},
+    {"header_1.yaml", "header_2.yaml"},
+    {"security_diff_1.yaml", "security_diff_2.yaml"}
+  };
+
+  @Test
+  public void testParallelDiffMatchesSerialDiff() {
+    for (String[] specs : SPECS) {
+      ChangedOpenApi serial = OpenApiCompare.fromLocations(specs[0], specs[1]);
+      ChangedOpenApi parallel =
+          OpenApiCompare.fromLocations(specs[0], specs[1], null, DiffOptions.parallelism(4));
+      assertThat(parallel.isChanged()).as(specs[0]).isEqualTo(serial.isChanged());
+      assertThat(describe(parallel)).as(specs[0]).isEqualTo(describe(serial));
+      assertThat(new MarkdownRender().render(parallel))
+          .as(specs[0])
+          .isEqualTo(new MarkdownRender().render(serial));
+    }
+  }
+
+  @Test
+  public void testParallelDiffOnGivenExecutor() {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      ChangedOpenApi serial =
+          OpenApiCompare.fromLocations("petstore_v2_1.yaml", "petstore_v2_2.yaml");
+      ChangedOpenApi parallel =
+          OpenApiCompare.fromLocations(
+              "petstore_v2_1.yaml",
+              "petstore_v2_2.yaml",
+              null,
+              DiffOptions.defaults().setExecutor(executor));
+      assertThat(describe(parallel)).isEqualTo(describe(serial));
+      assertThat(executor.isShutdown()).isFalse();
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testInvalidParallelism() {
+    assertThrows(IllegalArgumentException.class, () -> DiffOptions.parallelism(0));
+  }
+
+  private static String describe(ChangedOpenApi changedOpenApi) {
+    return changedOpenApi.getChangedOperations().stream()
+            .map(operation -> operation.getHttpMethod() + " " + operation.getPathUrl())
+            .collect(Collectors.joining(", "))
+        + " | "
+        + changedOpenApi.getChangedSchemas().stream()
+            .map(schema -> schema.getChangedElements().size() + ":" + schema.isChanged())
+            .collect(Collectors.joining(", "));
+  }
+}
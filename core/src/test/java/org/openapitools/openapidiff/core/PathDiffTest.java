@@ -4,6 +4,12 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.openapitools.openapidiff.core.TestUtils.assertOpenApiAreEquals;
 
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
 import org.junit.jupiter.api.Test;
 import org.openapitools.openapidiff.core.model.ChangedOpenApi;
 
@@ -35,4 +41,31 @@ public class PathDiffTest {
                 assertThat(endpoint.getOperation().getOperationId()).isEqualTo("deletePet"));
     assertThat(changedOpenApi.isCompatible()).isTrue();
   }
+
+  @Test
+  public void testRenamedPathParametersAmongManyPaths() {
+    OpenAPI oldSpec = new OpenAPI().paths(new Paths());
+    OpenAPI newSpec = new OpenAPI().paths(new Paths());
+    for (int i = 0; i < 500; i++) {
+      oldSpec.getPaths().addPathItem("/pets" + i + "/{petId}/toys/{toyId}", getPathItem());
+      newSpec.getPaths().addPathItem("/pets" + i + "/{id}/toys/{toy}", getPathItem());
+    }
+    oldSpec.getPaths().addPathItem("/removed/{id}", getPathItem());
+    newSpec.getPaths().addPathItem("/added/{id}", getPathItem());
+
+    ChangedOpenApi changedOpenApi = OpenApiCompare.fromSpecifications(oldSpec, newSpec);
+    assertThat(changedOpenApi.getChangedOperations()).isEmpty();
+    assertThat(changedOpenApi.getMissingEndpoints())
+        .singleElement()
+        .satisfies(endpoint -> assertThat(endpoint.getPathUrl()).isEqualTo("/removed/{id}"));
+    assertThat(changedOpenApi.getNewEndpoints())
+        .singleElement()
+        .satisfies(endpoint -> assertThat(endpoint.getPathUrl()).isEqualTo("/added/{id}"));
+  }
+
+  private static PathItem getPathItem() {
+    return new PathItem()
+        .get(
+            new Operation().responses(new ApiResponses().addApiResponse("200", new ApiResponse())));
+  }
 }
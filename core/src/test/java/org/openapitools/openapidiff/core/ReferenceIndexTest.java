@@ -0,0 +1,61 @@
+package org.openapitools.openapidiff.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.model.ReferenceIndex;
+
+public class ReferenceIndexTest {
+  private static final String OPENAPI_DOC1 = "petstore_v2_1.yaml";
+  private static final String OPENAPI_DOC2 = "petstore_v2_2.yaml";
+
+  @Test
+  public void testOperationsAffectedBySchema() {
+    ChangedOpenApi changedOpenApi = OpenApiCompare.fromLocations(OPENAPI_DOC1, OPENAPI_DOC2);
+
+    // Category is only referenced by Pet, itself referenced by the Pet request body
+    assertThat(changedOpenApi.operationsAffectedBy("Category"))
+        .extracting(endpoint -> endpoint.getMethod() + " " + endpoint.getPathUrl())
+        .containsExactly(
+            "PUT /pet",
+            "POST /pet",
+            "GET /pet/findByStatus",
+            "GET /pet/findByTags",
+            "GET /pet/{petId}");
+    assertThat(changedOpenApi.operationsAffectedBy("User"))
+        .extracting(endpoint -> endpoint.getMethod() + " " + endpoint.getPathUrl())
+        .containsExactly(
+            "POST /user",
+            "POST /user/createWithArray",
+            "POST /user/createWithList",
+            "GET /user/{username}",
+            "PUT /user/{username}");
+    assertThat(changedOpenApi.operationsAffectedBy("Unknown")).isEmpty();
+  }
+
+  @Test
+  public void testComponentsReaching() {
+    ReferenceIndex index =
+        OpenApiCompare.fromLocations(OPENAPI_DOC1, OPENAPI_DOC2).getNewReferenceIndex();
+
+    assertThat(index.componentsReaching("#/components/schemas/Tag"))
+        .containsExactlyInAnyOrder("#/components/schemas/Pet", "#/components/requestBodies/Pet");
+    assertThat(index.operationsReaching("#/components/securitySchemes/api_key"))
+        .extracting(endpoint -> endpoint.getMethod() + " " + endpoint.getPathUrl())
+        .contains("GET /store/inventory");
+  }
+
+  @Test
+  public void testRecursiveSchema() {
+    ReferenceIndex index =
+        OpenApiCompare.fromLocations("recursive_model_1.yaml", "recursive_model_2.yaml")
+            .getNewReferenceIndex();
+
+    assertThat(index.componentsReaching("#/components/schemas/B"))
+        .contains("#/components/schemas/B");
+    assertThat(index.operationsAffectedBy("B"))
+        .extracting(endpoint -> endpoint.getMethod() + " " + endpoint.getPathUrl())
+        .containsExactly("GET /ping");
+  }
+}
@@ -0,0 +1,51 @@
+package org.openapitools.openapidiff.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.openapitools.openapidiff.core.model.Changed;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.model.DiffResult;
+import org.openapitools.openapidiff.core.output.ConsoleRender;
+import org.openapitools.openapidiff.core.output.DiffResults;
+import org.openapitools.openapidiff.core.output.HtmlRender;
+import org.openapitools.openapidiff.core.output.MarkdownRender;
+import org.openapitools.openapidiff.core.output.RenderWalker;
+
+public class RenderWalkerTest {
+  @Test
+  public void testOneWalkFeedsAllRenders() throws IOException {
+    ChangedOpenApi diff = OpenApiCompare.fromLocations("petstore_v2_1.yaml", "petstore_v2_2.yaml");
+    StringWriter console = new StringWriter();
+    StringWriter html = new StringWriter();
+    StringWriter markdown = new StringWriter();
+    RenderWalker.walk(
+        diff,
+        Arrays.asList(
+            new ConsoleRender().visitor(console),
+            new HtmlRender().visitor(html),
+            new MarkdownRender().visitor(markdown)));
+    assertThat(console.toString()).isEqualTo(new ConsoleRender().render(diff));
+    assertThat(html.toString()).isEqualTo(new HtmlRender().render(diff));
+    assertThat(markdown.toString()).isEqualTo(new MarkdownRender().render(diff));
+  }
+
+  @Test
+  public void testResultsAreComputedOnce() {
+    AtomicInteger calls = new AtomicInteger();
+    Changed changed =
+        () -> {
+          calls.incrementAndGet();
+          return DiffResult.COMPATIBLE;
+        };
+    DiffResults results = new DiffResults();
+    assertThat(results.get(changed)).isEqualTo(DiffResult.COMPATIBLE);
+    assertThat(results.get(changed)).isEqualTo(DiffResult.COMPATIBLE);
+    assertThat(results.get(null)).isEqualTo(DiffResult.NO_CHANGES);
+    assertThat(calls.get()).isEqualTo(1);
+  }
+}
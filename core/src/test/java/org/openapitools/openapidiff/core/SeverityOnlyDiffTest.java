@@ -0,0 +1,68 @@
+package org.openapitools.openapidiff.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.openapitools.openapidiff.core.compare.DiffOptions;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.model.DiffMetrics;
+
+public class SeverityOnlyDiffTest {
+  private static final String[][] SPECS = {
+    {"petstore_v2_1.yaml", "petstore_v2_2.yaml"},
+    {"petstore_v2_2.yaml", "petstore_v2_1.yaml"},
+    {"allOf_diff_1.yaml", "allOf_diff_2.yaml"},
+    {"composed_schema_1.yaml", "composed_schema_2.yaml"},
+    {"recursive_model_1.yaml", "recursive_model_2.yaml"},
+    {"parameters_diff_1.yaml", "parameters_diff_2.yaml"},
+    {"path_1.yaml", "path_2.yaml"},
+    {"request_diff_1.yaml", "request_diff_2.yaml"},
+    {"missing_property_1.yaml", "missing_property_2.yaml"},
+    {"add-prop-put-1.yaml", "add-prop-put-2.yaml"},
+    {"security_diff_1.yaml", "security_diff_2.yaml"}
+  };
+
+  @Test
+  public void testSeverityOnlyDiffMatchesFullDiff() {
+    for (String[] specs : SPECS) {
+      ChangedOpenApi full = OpenApiCompare.fromLocations(specs[0], specs[1]);
+      ChangedOpenApi severity =
+          OpenApiCompare.fromLocations(
+              specs[0], specs[1], null, DiffOptions.defaults().setSeverityOnly(true));
+      assertThat(severity.isIncompatible()).as(specs[0]).isEqualTo(full.isIncompatible());
+      if (full.isCompatible() && !full.isChanged().isMetaChanged()) {
+        assertThat(severity.isChanged()).as(specs[0]).isEqualTo(full.isChanged());
+      }
+    }
+  }
+
+  @Test
+  public void testSeverityOnlyDiffStopsOnceIncompatible() {
+    ChangedOpenApi full = OpenApiCompare.fromLocations("petstore_v2_2.yaml", "petstore_v2_1.yaml");
+    ChangedOpenApi severity =
+        OpenApiCompare.fromLocations(
+            "petstore_v2_2.yaml",
+            "petstore_v2_1.yaml",
+            null,
+            DiffOptions.defaults().setSeverityOnly(true));
+    assertThat(severity.isIncompatible()).isTrue();
+    assertThat(severity.getMetrics().get(DiffMetrics.Counter.SCHEMAS_COMPARED))
+        .isLessThan(full.getMetrics().get(DiffMetrics.Counter.SCHEMAS_COMPARED));
+  }
+
+  @Test
+  public void testSeverityOnlyDiffSkipsMetadata() {
+    ChangedOpenApi severity =
+        OpenApiCompare.fromLocations(
+            "petstore_v2_1.yaml",
+            "petstore_v2_2.yaml",
+            null,
+            DiffOptions.defaults().setSeverityOnly(true));
+    assertThat(severity.getChangedOperations())
+        .allSatisfy(
+            operation -> {
+              assertThat(operation.getSummary()).isNull();
+              assertThat(operation.getDescription()).isNull();
+            });
+  }
+}
@@ -0,0 +1,119 @@
+package org.openapitools.openapidiff.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import org.junit.jupiter.api.Test;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.model.ChangedOperation;
+import org.openapitools.openapidiff.core.model.DiffResult;
+
+public class SharedSchemaDiffTest {
+  private static final int PATH_COUNT = 50;
+
+  @Test
+  public void testSharedSchemaIsDiffedOncePerContext() {
+    ChangedOpenApi changedOpenApi = OpenApiCompare.fromSpecifications(spec(false), spec(true));
+
+    assertThat(changedOpenApi.getChangedOperations()).hasSize(2 * PATH_COUNT);
+    // Order is used as a response of GET and as a request of PUT
+    assertThat(changedOpenApi.getChangedSchemas()).hasSize(2);
+    for (ChangedOperation operation : changedOpenApi.getChangedOperations()) {
+      DiffResult expected =
+          operation.getHttpMethod() == PathItem.HttpMethod.PUT
+              ? DiffResult.INCOMPATIBLE
+              : DiffResult.COMPATIBLE;
+      assertThat(operation.isChanged()).as(operation.getPathUrl()).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  public void testCycleBetweenSharedSchemasIsResolved() {
+    ChangedOpenApi changedOpenApi =
+        OpenApiCompare.fromSpecifications(cycleSpec(false), cycleSpec(true));
+
+    assertThat(changedOpenApi.getChangedOperations()).hasSize(2);
+    for (ChangedOperation operation : changedOpenApi.getChangedOperations()) {
+      assertThat(operation.isChanged()).as(operation.getPathUrl()).isEqualTo(DiffResult.COMPATIBLE);
+    }
+  }
+
+  /**
+   * Two operations returning a changed schema each, the two schemas requiring each other: the
+   * references are diffed in the same context as the response contents.
+   */
+  private static OpenAPI cycleSpec(boolean withName) {
+    ObjectSchema left = new ObjectSchema();
+    left.addProperties("right", new Schema<>().$ref("#/components/schemas/Right"));
+    left.addRequiredItem("right");
+    if (withName) {
+      left.addProperties("name", new StringSchema());
+    }
+    ObjectSchema right = new ObjectSchema();
+    right.addProperties("left", new Schema<>().$ref("#/components/schemas/Left"));
+    right.addRequiredItem("left");
+    if (withName) {
+      right.addProperties("name", new StringSchema());
+    }
+    return new OpenAPI()
+        .components(new Components().addSchemas("Left", left).addSchemas("Right", right))
+        .paths(
+            new Paths()
+                .addPathItem(
+                    "/left",
+                    new PathItem().get(new Operation().responses(responses(content("Left")))))
+                .addPathItem(
+                    "/right",
+                    new PathItem().get(new Operation().responses(responses(content("Right"))))));
+  }
+
+  private static OpenAPI spec(boolean withName) {
+    ObjectSchema order = new ObjectSchema();
+    order.addProperties("id", new StringSchema());
+    if (withName) {
+      order.addProperties("name", new StringSchema());
+    }
+    OpenAPI openApi =
+        new OpenAPI().paths(new Paths()).components(new Components().addSchemas("Order", order));
+    for (int i = 0; i < PATH_COUNT; i++) {
+      openApi
+          .getPaths()
+          .addPathItem(
+              "/orders" + i,
+              new PathItem()
+                  .get(new Operation().responses(responses(orderContent())))
+                  .put(
+                      new Operation()
+                          .requestBody(new RequestBody().content(orderContent()))
+                          .responses(responses(null))));
+    }
+    return openApi;
+  }
+
+  private static Content orderContent() {
+    return content("Order");
+  }
+
+  private static Content content(String schema) {
+    return new Content()
+        .addMediaType(
+            "application/json",
+            new MediaType().schema(new Schema<>().$ref("#/components/schemas/" + schema)));
+  }
+
+  private static ApiResponses responses(Content content) {
+    return new ApiResponses().addApiResponse("200", new ApiResponse().content(content));
+  }
+}
@@ -0,0 +1,166 @@
+package org.openapitools.openapidiff.core.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.core.models.AuthorizationValue;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openapitools.openapidiff.core.OpenApiCompare;
+import org.openapitools.openapidiff.core.compare.DiffOptions;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.output.MarkdownRender;
+
+public class LruSpecCacheTest {
+
+  @Test
+  public void testCachedSpecsGiveSameDiff(@TempDir Path tempDir) throws IOException {
+    assertCachedDiffIsSame(tempDir, "petstore_v2_1.yaml", "petstore_v2_2.yaml");
+    assertCachedDiffIsSame(tempDir, "allOf_diff_1.yaml", "allOf_diff_2.yaml");
+  }
+
+  private static void assertCachedDiffIsSame(Path tempDir, String oldResource, String newResource)
+      throws IOException {
+    Path oldSpec = copy(oldResource, tempDir);
+    Path newSpec = copy(newResource, tempDir);
+    CountingCache cache = new CountingCache(new LruSpecCache(10));
+    DiffOptions options = DiffOptions.defaults().setSpecCache(cache);
+
+    ChangedOpenApi parsed = compare(oldSpec, newSpec, options);
+    assertThat(cache.hits.get()).isZero();
+    ChangedOpenApi cached = compare(oldSpec, newSpec, options);
+    assertThat(cache.hits.get()).isEqualTo(2);
+
+    assertThat(cached.isChanged()).isEqualTo(parsed.isChanged());
+    assertThat(new MarkdownRender().render(cached)).isEqualTo(new MarkdownRender().render(parsed));
+  }
+
+  @Test
+  public void testSpecsWithExternalRefsAreNotCached(@TempDir Path tempDir) throws IOException {
+    Path spec = write(tempDir, "api.yaml", spec("$ref: 'pet.yaml'"));
+    write(tempDir, "pet.yaml", "type: string\n");
+    CountingCache cache = new CountingCache(new LruSpecCache(10));
+    DiffOptions options = DiffOptions.defaults().setSpecCache(cache);
+
+    Path newSpec = write(tempDir, "new-api.yaml", spec("type: integer"));
+
+    assertThat(compare(spec, newSpec, options).isUnchanged()).isFalse();
+    write(tempDir, "pet.yaml", "type: integer\n");
+    assertThat(compare(spec, newSpec, options).isUnchanged()).isTrue();
+    assertThat(cache.hits.get()).isEqualTo(1);
+    assertThat(cache.puts.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void testSameDocumentAtAnotherLocationIsNotShared(@TempDir Path tempDir)
+      throws IOException {
+    Path oldSpec = write(tempDir, "old.yaml", spec("type: string"));
+    Path newSpec = write(tempDir, "new.yaml", spec("type: string"));
+    CountingCache cache = new CountingCache(new LruSpecCache(10));
+
+    compare(oldSpec, newSpec, DiffOptions.defaults().setSpecCache(cache));
+    assertThat(cache.hits.get()).isZero();
+    assertThat(cache.puts.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void testKeyCoversLocationAndAuths() {
+    byte[] source = spec("type: string").getBytes(StandardCharsets.UTF_8);
+    AuthorizationValue auth = new AuthorizationValue("Authorization", "token", "header");
+    assertThat(SpecCache.key(null, source, null))
+        .isEqualTo(SpecCache.key(null, source, Collections.emptyList()))
+        .isNotEqualTo(SpecCache.key("/api.yaml", source, null))
+        .isNotEqualTo(SpecCache.key(null, source, Collections.singletonList(auth)));
+    assertThat(SpecCache.key("/a", source, null)).isNotEqualTo(SpecCache.key("/b", source, null));
+  }
+
+  @Test
+  public void testLeastRecentlyUsedIsEvicted() {
+    LruSpecCache cache = new LruSpecCache(2);
+    cache.put("a", new OpenAPI());
+    cache.put("b", new OpenAPI());
+    assertThat(cache.get("a")).isPresent();
+    cache.put("c", new OpenAPI());
+    assertThat(cache.get("a")).isPresent();
+    assertThat(cache.get("b")).isEmpty();
+    assertThat(cache.get("c")).isPresent();
+  }
+
+  @Test
+  public void testDiskTierSurvivesMemoryTier(@TempDir Path tempDir) {
+    OpenAPI openApi = new OpenAPI();
+    openApi.setOpenapi("3.0.1");
+    new LruSpecCache(1, tempDir).put("a", openApi);
+
+    Optional<OpenAPI> cached = new LruSpecCache(1, tempDir).get("a");
+    assertThat(cached).isPresent();
+    assertThat(cached.get().getOpenapi()).isEqualTo("3.0.1");
+    assertThat(cached.get()).isNotSameAs(openApi);
+  }
+
+  private static ChangedOpenApi compare(Path oldSpec, Path newSpec, DiffOptions options) {
+    return OpenApiCompare.fromLocations(oldSpec.toString(), newSpec.toString(), null, options);
+  }
+
+  private static String spec(String schema) {
+    return "openapi: 3.0.1\n"
+        + "info:\n"
+        + "  title: api\n"
+        + "  version: '1'\n"
+        + "paths:\n"
+        + "  /pets:\n"
+        + "    get:\n"
+        + "      responses:\n"
+        + "        '200':\n"
+        + "          description: ok\n"
+        + "          content:\n"
+        + "            application/json:\n"
+        + "              schema:\n"
+        + "                "
+        + schema
+        + "\n";
+  }
+
+  private static Path write(Path directory, String name, String content) throws IOException {
+    return Files.write(directory.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static Path copy(String resource, Path directory) throws IOException {
+    Path file = directory.resolve(resource);
+    try (InputStream in = LruSpecCacheTest.class.getClassLoader().getResourceAsStream(resource)) {
+      Files.copy(in, file);
+    }
+    return file;
+  }
+
+  private static class CountingCache implements SpecCache {
+    private final SpecCache cache;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger puts = new AtomicInteger();
+
+    CountingCache(SpecCache cache) {
+      this.cache = cache;
+    }
+
+    @Override
+    public Optional<OpenAPI> get(String key) {
+      Optional<OpenAPI> openApi = cache.get(key);
+      openApi.ifPresent(cached -> hits.incrementAndGet());
+      return openApi;
+    }
+
+    @Override
+    public void put(String key, OpenAPI openApi) {
+      puts.incrementAndGet();
+      cache.put(key, openApi);
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package org.openapitools.openapidiff.core.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.openapitools.openapidiff.core.OpenApiCompare;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.output.JsonRender;
+import org.openapitools.openapidiff.core.output.MarkdownRender;
+
+public class DiffEventsTest {
+  private static final String OPENAPI_DOC1 = "petstore_v2_1.yaml";
+  private static final String OPENAPI_DOC2 = "petstore_v2_2.yaml";
+
+  @Test
+  public void testNoEventWithoutRecording() {
+    assertThat(DiffEvents.SCHEMA_DIFF.begin()).isNull();
+  }
+
+  @Test
+  public void testEventsAreRecorded() throws Exception {
+    assumeTrue(DiffEvents.isAvailable());
+    Path file = Files.createTempFile("openapi-diff", ".jfr");
+    try {
+      try (Recording recording = new Recording()) {
+        recording.enable(DiffEvents.SCHEMA_DIFF.getName()).withThreshold(null);
+        recording.start();
+        ChangedOpenApi diff = OpenApiCompare.fromLocations(OPENAPI_DOC1, OPENAPI_DOC2);
+        new MarkdownRender().render(diff, new StringWriter());
+        new JsonRender().render(diff);
+        recording.stop();
+        recording.dump(file);
+      }
+      List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+      Set<String> names =
+          events.stream().map(event -> event.getEventType().getName()).collect(Collectors.toSet());
+      assertThat(names)
+          .contains(
+              DiffEvents.SPEC_PARSE.getName(),
+              DiffEvents.OPERATION_DIFF.getName(),
+              DiffEvents.SCHEMA_DIFF.getName(),
+              DiffEvents.DEFERRED_QUEUE_DRAIN.getName(),
+              DiffEvents.RENDER.getName());
+      assertThat(events)
+          .filteredOn(event -> event.getEventType().getName().equals(DiffEvents.RENDER.getName()))
+          .extracting(event -> event.getString("format"))
+          .containsExactly("MarkdownVisitor", "json");
+      assertThat(events)
+          .filteredOn(
+              event -> event.getEventType().getName().equals(DiffEvents.SPEC_PARSE.getName()))
+          .extracting(event -> event.getString("location"))
+          .containsExactlyInAnyOrder(OPENAPI_DOC1, OPENAPI_DOC2);
+    } finally {
+      Files.delete(file);
+    }
+  }
+}
@@ -0,0 +1,92 @@
+package org.openapitools.openapidiff.core.fingerprint;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Discriminator;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import org.junit.jupiter.api.Test;
+
+public class SpecFingerprintsTest {
+  private static final String PET = "#/components/schemas/Pet";
+  private static final String RECURSIVE = "#/components/schemas/B";
+
+  private static OpenAPI read(String location) {
+    ParseOptions options = new ParseOptions();
+    options.setResolve(true);
+    return new OpenAPIParser().readLocation(location, null, options).getOpenAPI();
+  }
+
+  @Test
+  public void testSameSpecHasSameFingerprints() {
+    SpecFingerprints left = SpecFingerprints.of(read("petstore_v2_1.yaml"));
+    SpecFingerprints right = SpecFingerprints.of(read("petstore_v2_1.yaml"));
+    assertThat(left.getComponent(PET)).isNotNull().isEqualTo(right.getComponent(PET));
+  }
+
+  @Test
+  public void testChangedSchemaHasDifferentFingerprint() {
+    OpenAPI spec = read("petstore_v2_1.yaml");
+    Fingerprint before = SpecFingerprints.of(spec).getComponent(PET);
+    spec.getComponents().getSchemas().get("Pet").setTitle("changed");
+    assertThat(SpecFingerprints.of(spec).getComponent(PET)).isNotEqualTo(before);
+  }
+
+  @Test
+  public void testReferencedChangeIsFoldedIn() {
+    OpenAPI spec = read("petstore_v2_1.yaml");
+    Fingerprint before = SpecFingerprints.of(spec).getComponent(PET);
+    spec.getComponents().getSchemas().get("Category").setDescription("changed");
+    assertThat(SpecFingerprints.of(spec).getComponent(PET)).isNotEqualTo(before);
+  }
+
+  @Test
+  public void testRecursiveSchema() {
+    SpecFingerprints same = SpecFingerprints.of(read("recursive_model_1.yaml"));
+    SpecFingerprints changed = SpecFingerprints.of(read("recursive_model_2.yaml"));
+    assertThat(same.getComponent(RECURSIVE))
+        .isEqualTo(SpecFingerprints.of(read("recursive_model_1.yaml")).getComponent(RECURSIVE))
+        .isNotEqualTo(changed.getComponent(RECURSIVE));
+  }
+
+  @Test
+  public void testInlineSchemaFollowsReference() {
+    SpecFingerprints fingerprints = SpecFingerprints.of(read("petstore_v2_1.yaml"));
+    Schema<?> ref = new Schema<>().$ref(PET);
+    assertThat(fingerprints.get(ref)).isEqualTo(fingerprints.getComponent(PET));
+    assertThat(fingerprints.get(new Schema<>().$ref("#/components/schemas/Unknown"))).isNull();
+    assertThat(Fingerprint.same(null, null)).isFalse();
+  }
+
+  @Test
+  public void testOnlyReferencesAreFollowed() {
+    OpenAPI spec = read("petstore_v2_1.yaml");
+    spec.getComponents().addSchemas("A", new StringSchema());
+    spec.getComponents().addSchemas("B", new StringSchema());
+    SpecFingerprints fingerprints = SpecFingerprints.of(spec);
+
+    // the references of identical components have the same fingerprint
+    assertThat(fingerprints.get(new ObjectSchema().addProperties("a", ref("A"))))
+        .isEqualTo(fingerprints.get(new ObjectSchema().addProperties("a", ref("B"))));
+    // other strings naming them are compared as they are
+    assertThat(fingerprints.get(new StringSchema().description("#/components/schemas/A")))
+        .isNotEqualTo(fingerprints.get(new StringSchema().description("#/components/schemas/B")));
+    assertThat(fingerprints.get(mapped("A"))).isNotEqualTo(fingerprints.get(mapped("B")));
+  }
+
+  private static Schema<?> ref(String name) {
+    return new Schema<>().$ref("#/components/schemas/" + name);
+  }
+
+  private static Schema<?> mapped(String name) {
+    return new ObjectSchema()
+        .discriminator(
+            new Discriminator()
+                .propertyName("type")
+                .mapping("value", "#/components/schemas/" + name));
+  }
+}
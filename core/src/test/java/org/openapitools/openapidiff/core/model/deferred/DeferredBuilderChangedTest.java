@@ -1,10 +1,18 @@
 package org.openapitools.openapidiff.core.model.deferred;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.openapitools.openapidiff.core.model.DiffMetrics;
 import org.openapitools.openapidiff.core.model.schema.ChangedReadOnly;
 import org.openapitools.openapidiff.core.model.schema.ChangedWriteOnly;
 
@@ -166,4 +174,134 @@ public class DeferredBuilderChangedTest {
     changed.setValue(Optional.of("hello"));
     builderAssertion.assertSet(true);
   }
+
+  @Test
+  public void testDeferredBuilderPendingSetConcurrently() throws InterruptedException {
+    int size = 2000;
+    List<PendingChanged<String>> items = new ArrayList<>();
+    DeferredBuilder<String> builder = new DeferredBuilder<>();
+    for (int i = 0; i < size; i++) {
+      PendingChanged<String> item = new PendingChanged<>();
+      items.add(item);
+      builder.add(item);
+    }
+    AtomicInteger completions = new AtomicInteger();
+    List<Optional<? super String>> collected = new ArrayList<>();
+    builder
+        .build()
+        .ifPresent(
+            values -> {
+              completions.incrementAndGet();
+              collected.addAll(values);
+            });
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    for (int i = size - 1; i >= 0; i--) {
+      int index = i;
+      executor.execute(() -> items.get(index).setValue(Optional.of("item " + index)));
+    }
+    executor.shutdown();
+    Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+    Assertions.assertEquals(1, completions.get());
+    Assertions.assertEquals(size, collected.size());
+    for (int i = 0; i < size; i++) {
+      Assertions.assertEquals(Optional.of("item " + i), collected.get(i));
+    }
+  }
+
+  @Test
+  public void testPendingChangedChain() {
+    DiffMetrics metrics = new DiffMetrics();
+    PendingChanged<Integer> source = new PendingChanged<>(metrics);
+    PendingChanged<Integer> next = new PendingChanged<>(metrics);
+    List<Object> values = new ArrayList<>();
+
+    DeferredChanged<Integer> chained =
+        source
+            .map(value -> value.orElse(0) + 1)
+            .flatMap(value -> next.map(n -> value.get() + n.get()))
+            .mapOptional(value -> value.map(n -> n * 2));
+    chained.whenSet(values::add);
+    // values are taken before the values depending on them are computed
+    source.whenSet(value -> values.add("whenSet"));
+    source.ifPresent(value -> values.add("ifPresent"));
+
+    source.setValue(Optional.of(1));
+    Assertions.assertEquals(Arrays.asList("ifPresent", "whenSet"), values);
+    Assertions.assertFalse(chained.isValueSet());
+
+    next.setValue(Optional.of(10));
+    Assertions.assertEquals(Arrays.asList("ifPresent", "whenSet", Optional.of(24)), values);
+    Assertions.assertEquals(24, chained.get());
+    Assertions.assertEquals(
+        metrics.get(DiffMetrics.Counter.DEFERRED_CREATED),
+        metrics.get(DiffMetrics.Counter.DEFERRED_RESOLVED));
+  }
+
+  @Test
+  public void testDeepChainsAreResolvedIteratively() {
+    int depth = 200_000;
+    PendingChanged<Integer> source = new PendingChanged<>();
+    DeferredChanged<Integer> mapped = source;
+    for (int i = 0; i < depth; i++) {
+      mapped = mapped.flatMap(value -> DeferredChanged.ofNullable(value.get() + 1));
+    }
+
+    // each value is set by a listener of the previous one
+    PendingChanged<Integer> first = new PendingChanged<>();
+    PendingChanged<Integer> last = first;
+    for (int i = 0; i < depth; i++) {
+      PendingChanged<Integer> next = new PendingChanged<>();
+      last.whenSet(value -> next.setValue(value.map(n -> n + 1)));
+      last = next;
+    }
+
+    source.setValue(Optional.of(0));
+    first.setValue(Optional.of(0));
+    Assertions.assertEquals(depth, mapped.get());
+    Assertions.assertEquals(depth, last.get());
+  }
+
+  @Test
+  public void testListenersAreNotifiedDepthFirst() {
+    PendingChanged<String> source = new PendingChanged<>();
+    PendingChanged<String> first = new PendingChanged<>();
+    PendingChanged<String> second = new PendingChanged<>();
+    List<String> order = new ArrayList<>();
+    source.whenSet(
+        value -> {
+          first.setValue(Optional.of("first"));
+          second.setValue(Optional.of("second"));
+        });
+    source.whenSet(value -> order.add("source"));
+    first.whenSet(value -> order.add(value.get()));
+    first.map(value -> order.add(value.get() + " mapped"));
+    second.whenSet(value -> order.add(value.get()));
+
+    source.setValue(Optional.of("source"));
+    Assertions.assertEquals(Arrays.asList("first", "first mapped", "second", "source"), order);
+  }
+
+  @Test
+  public void testValueSetByListenerIsNotifiedOnceListenerReturns() {
+    PendingChanged<String> x = new PendingChanged<>();
+    PendingChanged<String> y = new PendingChanged<>();
+    AtomicBoolean yNotified = new AtomicBoolean();
+    List<String> order = new ArrayList<>();
+    x.whenSet(
+        value -> {
+          y.setValue(Optional.of("y"));
+          order.add("x listener after y.setValue, y listener ran=" + yNotified.get());
+        });
+    y.whenSet(
+        value -> {
+          yNotified.set(true);
+          order.add("y listener");
+        });
+
+    x.setValue(Optional.of("x"));
+    Assertions.assertEquals(
+        Arrays.asList("x listener after y.setValue, y listener ran=false", "y listener"), order);
+  }
 }
@@ -0,0 +1,56 @@
+package org.openapitools.openapidiff.core.model.deferred;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.openapitools.openapidiff.core.model.DiffContext;
+
+public class RecursiveSchemaSetTest {
+
+  @Test
+  public void testLeftAndRightReferencesAreTrackedApart() {
+    RecursiveSchemaSet refSet = new RecursiveSchemaSet();
+    assertThat(refSet.isEmpty()).isTrue();
+
+    refSet.put(key(1, 2));
+
+    assertThat(refSet.isEmpty()).isFalse();
+    assertThat(refSet.contains(key(1, 5))).isTrue();
+    assertThat(refSet.contains(key(5, 2))).isTrue();
+    assertThat(refSet.contains(key(2, 1))).isFalse();
+  }
+
+  @Test
+  public void testManyReferences() {
+    RecursiveSchemaSet refSet = new RecursiveSchemaSet();
+    for (int id = 0; id < 1000; id += 3) {
+      refSet.put(key(id, id + 1));
+    }
+
+    for (int id = 0; id < 1000; id++) {
+      assertThat(refSet.contains(key(id, -1))).as("left %s", id).isEqualTo(id % 3 == 0);
+      assertThat(refSet.contains(key(Integer.MAX_VALUE, id)))
+          .as("right %s", id)
+          .isEqualTo(id % 3 == 1);
+    }
+  }
+
+  @Test
+  public void testKeysOfSameIdsAndContextAreEqual() {
+    DiffContext context = new DiffContext().copyAsResponse();
+    SchemaKey key = new SchemaKey("#/a", 1, "#/b", 2, context.copyForSchema(), null);
+
+    assertThat(new SchemaKey("#/a", 1, "#/b", 2, context.copyForSchema(), null))
+        .isEqualTo(key)
+        .hasSameHashCodeAs(key);
+    assertThat(new SchemaKey("#/a", 1, "#/b", 3, context.copyForSchema(), null)).isNotEqualTo(key);
+    assertThat(new SchemaKey("#/a", 1, "#/b", 2, new DiffContext().copyForSchema(), null))
+        .isNotEqualTo(key);
+    assertThat(new SchemaKey("#/a", 1, "#/b", 2, context, new RecursiveSchemaSet()))
+        .isNotEqualTo(key);
+  }
+
+  private static SchemaKey key(int leftId, int rightId) {
+    return new SchemaKey("left", leftId, "right", rightId, new DiffContext(), null);
+  }
+}
@@ -0,0 +1,145 @@
+package org.openapitools.openapidiff.generator;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/** Shape of the specifications made by {@link SpecGenerator}. */
+public class GeneratorOptions {
+  private long seed = 1;
+  private int paths = 20;
+  private int operations = 2;
+  private int schemas = 50;
+  private int properties = 8;
+  private int depth = 2;
+  private int composition = 10;
+  private int recursion = 10;
+  private int enumSize = 8;
+  private int mutationRate = 10;
+  private Set<Mutation> mutations = EnumSet.allOf(Mutation.class);
+
+  public static GeneratorOptions defaults() {
+    return new GeneratorOptions();
+  }
+
+  public long getSeed() {
+    return seed;
+  }
+
+  /** Seed of the random choices, the same options always giving the same specifications. */
+  public GeneratorOptions setSeed(long seed) {
+    this.seed = seed;
+    return this;
+  }
+
+  public int getPaths() {
+    return paths;
+  }
+
+  public GeneratorOptions setPaths(int paths) {
+    this.paths = check("paths", paths, 0, Integer.MAX_VALUE);
+    return this;
+  }
+
+  public int getOperations() {
+    return operations;
+  }
+
+  /** Operations of every path, taken from GET, POST, PUT, DELETE and PATCH in that order. */
+  public GeneratorOptions setOperations(int operations) {
+    this.operations = check("operations", operations, 1, 5);
+    return this;
+  }
+
+  public int getSchemas() {
+    return schemas;
+  }
+
+  /** Number of component schemas, referenced by the operations and by each other. */
+  public GeneratorOptions setSchemas(int schemas) {
+    this.schemas = check("schemas", schemas, 1, Integer.MAX_VALUE);
+    return this;
+  }
+
+  public int getProperties() {
+    return properties;
+  }
+
+  /** Number of properties of every object schema. */
+  public GeneratorOptions setProperties(int properties) {
+    this.properties = check("properties", properties, 0, Integer.MAX_VALUE);
+    return this;
+  }
+
+  public int getDepth() {
+    return depth;
+  }
+
+  /** Maximum nesting depth of inline object schemas, 1 for no nesting. */
+  public GeneratorOptions setDepth(int depth) {
+    this.depth = check("depth", depth, 1, Integer.MAX_VALUE);
+    return this;
+  }
+
+  public int getComposition() {
+    return composition;
+  }
+
+  /** Percentage of the component schemas composed with allOf or oneOf. */
+  public GeneratorOptions setComposition(int composition) {
+    this.composition = check("composition", composition, 0, 100);
+    return this;
+  }
+
+  public int getRecursion() {
+    return recursion;
+  }
+
+  /**
+   * Percentage of the references between component schemas pointing to the schema itself or to a
+   * previous one, which may close a cycle. The other references point to later schemas only.
+   */
+  public GeneratorOptions setRecursion(int recursion) {
+    this.recursion = check("recursion", recursion, 0, 100);
+    return this;
+  }
+
+  public int getEnumSize() {
+    return enumSize;
+  }
+
+  /** Number of values of the enum properties, none being generated when 0. */
+  public GeneratorOptions setEnumSize(int enumSize) {
+    this.enumSize = check("enum size", enumSize, 0, Integer.MAX_VALUE);
+    return this;
+  }
+
+  public int getMutationRate() {
+    return mutationRate;
+  }
+
+  /** Percentage of the schemas, paths and operations changed in the new specification. */
+  public GeneratorOptions setMutationRate(int mutationRate) {
+    this.mutationRate = check("mutation rate", mutationRate, 0, 100);
+    return this;
+  }
+
+  public Set<Mutation> getMutations() {
+    return Collections.unmodifiableSet(mutations);
+  }
+
+  /** Kinds of changes applied, each changed element getting one of them. */
+  public GeneratorOptions setMutations(Set<Mutation> mutations) {
+    this.mutations =
+        mutations.isEmpty() ? EnumSet.noneOf(Mutation.class) : EnumSet.copyOf(mutations);
+    return this;
+  }
+
+  private static int check(String name, int value, int min, int max) {
+    if (value < min || value > max) {
+      throw new IllegalArgumentException(
+          String.format("%s must be between %d and %d: %d", name, min, max, value));
+    }
+    return value;
+  }
+}
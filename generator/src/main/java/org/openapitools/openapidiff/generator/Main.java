@@ -0,0 +1,156 @@
+package org.openapitools.openapidiff.generator;
+
+import io.swagger.v3.core.util.Yaml;
+import io.swagger.v3.oas.models.OpenAPI;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+
+public class Main {
+
+  public static void main(String... args) {
+    GeneratorOptions defaults = GeneratorOptions.defaults();
+    Options options = new Options();
+    options.addOption(Option.builder("h").longOpt("help").desc("print this message").build());
+    options.addOption(intOption("seed", "seed of the random choices", defaults.getSeed()));
+    options.addOption(intOption("paths", "number of paths", defaults.getPaths()));
+    options.addOption(
+        intOption(
+            "operations",
+            "operations of every path, from GET, POST, PUT, DELETE and PATCH",
+            defaults.getOperations()));
+    options.addOption(intOption("schemas", "number of component schemas", defaults.getSchemas()));
+    options.addOption(
+        intOption("properties", "properties of every object schema", defaults.getProperties()));
+    options.addOption(
+        intOption("depth", "nesting depth of inline object schemas", defaults.getDepth()));
+    options.addOption(
+        intOption(
+            "composition",
+            "percentage of schemas composed with allOf or oneOf",
+            defaults.getComposition()));
+    options.addOption(
+        intOption(
+            "recursion",
+            "percentage of references between schemas which may close a cycle",
+            defaults.getRecursion()));
+    options.addOption(
+        intOption("enum-size", "number of values of enum properties", defaults.getEnumSize()));
+    options.addOption(
+        intOption(
+            "mutation-rate",
+            "percentage of schemas, paths and operations changed in the new specification",
+            defaults.getMutationRate()));
+    options.addOption(
+        Option.builder()
+            .longOpt("mutations")
+            .hasArg()
+            .argName("kinds")
+            .desc(
+                "comma separated kinds of changes, from "
+                    + EnumSet.allOf(Mutation.class).toString().toLowerCase(Locale.ROOT)
+                    + ". Default: all")
+            .build());
+    options.addOption(
+        Option.builder()
+            .longOpt("output")
+            .hasArg()
+            .argName("directory")
+            .desc("directory old.yaml and new.yaml are written to. Default: current directory")
+            .build());
+
+    try {
+      CommandLine line = new DefaultParser().parse(options, args);
+      if (line.hasOption("h")) {
+        new HelpFormatter().printHelp("openapi-diff-generator", options);
+        System.exit(0);
+      }
+      GeneratorOptions generatorOptions =
+          GeneratorOptions.defaults()
+              .setSeed(longValue(line, "seed", defaults.getSeed()))
+              .setPaths(intValue(line, "paths", defaults.getPaths()))
+              .setOperations(intValue(line, "operations", defaults.getOperations()))
+              .setSchemas(intValue(line, "schemas", defaults.getSchemas()))
+              .setProperties(intValue(line, "properties", defaults.getProperties()))
+              .setDepth(intValue(line, "depth", defaults.getDepth()))
+              .setComposition(intValue(line, "composition", defaults.getComposition()))
+              .setRecursion(intValue(line, "recursion", defaults.getRecursion()))
+              .setEnumSize(intValue(line, "enum-size", defaults.getEnumSize()))
+              .setMutationRate(intValue(line, "mutation-rate", defaults.getMutationRate()));
+      if (line.hasOption("mutations")) {
+        generatorOptions.setMutations(mutations(line.getOptionValue("mutations")));
+      }
+      File output = new File(line.getOptionValue("output", "."));
+      SpecPair pair = new SpecGenerator(generatorOptions).generate();
+      write(pair.getOldSpec(), new File(output, "old.yaml"));
+      write(pair.getNewSpec(), new File(output, "new.yaml"));
+    } catch (ParseException | IllegalArgumentException e) {
+      System.err.println("Parsing failed. Reason: " + e.getMessage());
+      new HelpFormatter().printHelp("openapi-diff-generator", options);
+      System.exit(2);
+    } catch (IOException e) {
+      System.err.println("Cannot write the specifications. Reason: " + e.getMessage());
+      System.exit(2);
+    }
+  }
+
+  private static Option intOption(String name, String description, long defaultValue) {
+    return Option.builder()
+        .longOpt(name)
+        .hasArg()
+        .argName(name)
+        .desc(description + ". Default: " + defaultValue)
+        .build();
+  }
+
+  private static Set<Mutation> mutations(String value) throws ParseException {
+    Set<Mutation> mutations = EnumSet.noneOf(Mutation.class);
+    for (String name : value.split(",")) {
+      try {
+        mutations.add(Mutation.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+      } catch (IllegalArgumentException e) {
+        throw new ParseException(String.format("Invalid mutation. Given: %s", name));
+      }
+    }
+    return mutations;
+  }
+
+  private static void write(OpenAPI openApi, File file) throws IOException {
+    if (file.getParentFile() != null) {
+      Files.createDirectories(file.getParentFile().toPath());
+    }
+    Files.write(file.toPath(), Yaml.pretty(openApi).getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static int intValue(CommandLine line, String name, int defaultValue)
+      throws ParseException {
+    long value = longValue(line, name, defaultValue);
+    if (value != (int) value) {
+      throw new ParseException(String.format("Invalid %s. Given: %d", name, value));
+    }
+    return (int) value;
+  }
+
+  private static long longValue(CommandLine line, String name, long defaultValue)
+      throws ParseException {
+    if (!line.hasOption(name)) {
+      return defaultValue;
+    }
+    try {
+      return Long.parseLong(line.getOptionValue(name));
+    } catch (NumberFormatException e) {
+      throw new ParseException(
+          String.format("Invalid %s. Given: %s", name, line.getOptionValue(name)));
+    }
+  }
+}
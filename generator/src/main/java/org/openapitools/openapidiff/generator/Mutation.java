@@ -0,0 +1,35 @@
+package org.openapitools.openapidiff.generator;
+
+/** Kinds of changes applied to the new specification of a generated pair. */
+public enum Mutation {
+  ADD_PROPERTY(Target.SCHEMA),
+  REMOVE_PROPERTY(Target.SCHEMA),
+  CHANGE_TYPE(Target.SCHEMA),
+  REQUIRE_PROPERTY(Target.SCHEMA),
+  ADD_ENUM_VALUE(Target.SCHEMA),
+  REMOVE_ENUM_VALUE(Target.SCHEMA),
+  ADD_PARAMETER(Target.OPERATION),
+  REMOVE_PARAMETER(Target.OPERATION),
+  REQUIRE_PARAMETER(Target.OPERATION),
+  DEPRECATE_OPERATION(Target.OPERATION),
+  REMOVE_OPERATION(Target.OPERATION),
+  ADD_PATH(Target.PATH),
+  REMOVE_PATH(Target.PATH);
+
+  /** Elements a mutation applies to, each element being mutated at most once. */
+  public enum Target {
+    SCHEMA,
+    OPERATION,
+    PATH
+  }
+
+  private final Target target;
+
+  Mutation(Target target) {
+    this.target = target;
+  }
+
+  public Target getTarget() {
+    return target;
+  }
+}
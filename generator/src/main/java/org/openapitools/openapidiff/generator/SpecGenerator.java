@@ -0,0 +1,368 @@
+package org.openapitools.openapidiff.generator;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.BooleanSchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.NumberSchema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.PathParameter;
+import io.swagger.v3.oas.models.parameters.QueryParameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Generates pairs of synthetic specifications of the shape given by {@link GeneratorOptions}. The
+ * old specification is built from random choices seeded with {@link GeneratorOptions#getSeed()},
+ * the new one is built the same way and then changed, so the same options always give the same
+ * pair.
+ */
+public class SpecGenerator {
+  private static final String SCHEMAS = "#/components/schemas/";
+  private static final PathItem.HttpMethod[] METHODS = {
+    PathItem.HttpMethod.GET,
+    PathItem.HttpMethod.POST,
+    PathItem.HttpMethod.PUT,
+    PathItem.HttpMethod.DELETE,
+    PathItem.HttpMethod.PATCH
+  };
+
+  private final GeneratorOptions options;
+
+  public SpecGenerator(GeneratorOptions options) {
+    this.options = options;
+  }
+
+  public SpecPair generate() {
+    OpenAPI oldSpec = build("1");
+    OpenAPI newSpec = build("2");
+    mutate(newSpec, new Random(options.getSeed() * 31 + 17));
+    return new SpecPair(oldSpec, newSpec);
+  }
+
+  private OpenAPI build(String version) {
+    Random random = new Random(options.getSeed());
+    OpenAPI openApi =
+        new OpenAPI()
+            .info(new Info().title("Generated").version(version))
+            .components(new Components())
+            .paths(new Paths());
+    for (int i = 0; i < options.getSchemas(); i++) {
+      Schema<?> schema =
+          random.nextInt(100) < options.getComposition()
+              ? composed(i, random)
+              : object(i, options.getDepth(), random);
+      openApi.getComponents().addSchemas(schemaName(i), schema);
+    }
+    for (int i = 0; i < options.getPaths(); i++) {
+      boolean item = i % 2 == 1;
+      PathItem pathItem = new PathItem();
+      for (int m = 0; m < options.getOperations(); m++) {
+        pathItem.operation(METHODS[m], operation(i, METHODS[m], item, random));
+      }
+      openApi.getPaths().addPathItem(pathUrl(i, item), pathItem);
+    }
+    return openApi;
+  }
+
+  private Schema<?> composed(int index, Random random) {
+    ComposedSchema schema = new ComposedSchema();
+    if (random.nextBoolean()) {
+      schema.addAllOfItem(reference(index, random));
+      schema.addAllOfItem(object(index, 1, random));
+    } else {
+      schema.addOneOfItem(reference(index, random));
+      schema.addOneOfItem(reference(index, random));
+    }
+    return schema;
+  }
+
+  private Schema<?> object(int index, int depth, Random random) {
+    ObjectSchema schema = new ObjectSchema();
+    List<String> required = new ArrayList<>();
+    for (int p = 0; p < options.getProperties(); p++) {
+      String name = "field" + p;
+      schema.addProperties(name, property(index, depth, random));
+      if (random.nextBoolean()) {
+        required.add(name);
+      }
+    }
+    if (!required.isEmpty()) {
+      schema.setRequired(required);
+    }
+    return schema;
+  }
+
+  private Schema<?> property(int index, int depth, Random random) {
+    switch (random.nextInt(8)) {
+      case 0:
+        return new IntegerSchema();
+      case 1:
+        return new NumberSchema();
+      case 2:
+        return new BooleanSchema();
+      case 3:
+        return options.getEnumSize() > 0 ? enumeration(options.getEnumSize()) : new StringSchema();
+      case 4:
+        return depth > 1 ? object(index, depth - 1, random) : new StringSchema();
+      case 5:
+        return reference(index, random);
+      case 6:
+        return new ArraySchema().items(reference(index, random));
+      default:
+        return new StringSchema().maxLength(64);
+    }
+  }
+
+  /**
+   * A reference from the schema of the given index: backward, possibly closing a cycle, with the
+   * recursion percentage, forward otherwise. The last schema has no forward reference to make.
+   */
+  private Schema<?> reference(int index, Random random) {
+    int target;
+    if (random.nextInt(100) < options.getRecursion()) {
+      target = random.nextInt(index + 1);
+    } else if (index + 1 < options.getSchemas()) {
+      target = index + 1 + random.nextInt(options.getSchemas() - index - 1);
+    } else {
+      return new StringSchema();
+    }
+    return ref(target);
+  }
+
+  private Operation operation(int index, PathItem.HttpMethod method, boolean item, Random random) {
+    Operation operation =
+        new Operation()
+            .operationId(method.name().toLowerCase() + index)
+            .summary(method + " resource " + index);
+    if (item) {
+      operation.addParametersItem(
+          new PathParameter().name("id").required(true).schema(new StringSchema()));
+    }
+    int queryParameters = random.nextInt(3);
+    for (int q = 0; q < queryParameters; q++) {
+      operation.addParametersItem(query("query" + q, random.nextBoolean()));
+    }
+    Schema<?> model = ref(random.nextInt(options.getSchemas()));
+    if (method == PathItem.HttpMethod.POST
+        || method == PathItem.HttpMethod.PUT
+        || method == PathItem.HttpMethod.PATCH) {
+      operation.requestBody(new RequestBody().required(true).content(json(model)));
+    }
+    ApiResponses responses = new ApiResponses();
+    if (method == PathItem.HttpMethod.DELETE) {
+      responses.addApiResponse("204", new ApiResponse().description("No Content"));
+    } else {
+      Schema<?> body =
+          method == PathItem.HttpMethod.GET && !item ? new ArraySchema().items(model) : model;
+      responses.addApiResponse("200", new ApiResponse().description("OK").content(json(body)));
+    }
+    return operation.responses(responses);
+  }
+
+  private void mutate(OpenAPI openApi, Random random) {
+    List<Mutation> schemaMutations = enabled(Mutation.Target.SCHEMA);
+    List<Mutation> operationMutations = enabled(Mutation.Target.OPERATION);
+    List<Mutation> pathMutations = enabled(Mutation.Target.PATH);
+    for (Schema<?> schema : openApi.getComponents().getSchemas().values()) {
+      if (!schemaMutations.isEmpty() && random.nextInt(100) < options.getMutationRate()) {
+        mutateSchema(mutable(schema), schemaMutations, random);
+      }
+    }
+    Paths paths = openApi.getPaths();
+    for (String url : new ArrayList<>(paths.keySet())) {
+      if (!pathMutations.isEmpty() && random.nextInt(100) < options.getMutationRate()) {
+        Mutation mutation = pathMutations.get(random.nextInt(pathMutations.size()));
+        if (mutation == Mutation.REMOVE_PATH) {
+          paths.remove(url);
+          continue;
+        }
+        PathItem added = new PathItem();
+        added.get(operation(0, PathItem.HttpMethod.GET, false, random));
+        paths.addPathItem(url + "/added", added);
+      }
+      PathItem pathItem = paths.get(url);
+      for (Map.Entry<PathItem.HttpMethod, Operation> entry :
+          new ArrayList<>(pathItem.readOperationsMap().entrySet())) {
+        if (!operationMutations.isEmpty() && random.nextInt(100) < options.getMutationRate()) {
+          mutateOperation(pathItem, entry.getKey(), entry.getValue(), operationMutations, random);
+        }
+      }
+    }
+  }
+
+  /** The object schema to change, the inline part of an allOf, or null for a oneOf. */
+  private static Schema<?> mutable(Schema<?> schema) {
+    if (schema instanceof ComposedSchema) {
+      List<Schema> allOf = ((ComposedSchema) schema).getAllOf();
+      return allOf == null ? null : allOf.get(allOf.size() - 1);
+    }
+    return schema;
+  }
+
+  private void mutateSchema(Schema<?> schema, List<Mutation> mutations, Random random) {
+    if (schema == null) {
+      return;
+    }
+    Map<String, Schema> properties = schema.getProperties();
+    List<String> names =
+        properties == null ? new ArrayList<>() : new ArrayList<>(properties.keySet());
+    List<String> enums =
+        names.stream()
+            .filter(name -> properties.get(name).getEnum() != null)
+            .collect(Collectors.toList());
+    List<Mutation> applicable =
+        mutations.stream()
+            .filter(
+                mutation ->
+                    mutation == Mutation.ADD_PROPERTY
+                        || !names.isEmpty()
+                            && mutation != Mutation.ADD_ENUM_VALUE
+                            && mutation != Mutation.REMOVE_ENUM_VALUE
+                        || !enums.isEmpty())
+            .collect(Collectors.toList());
+    if (applicable.isEmpty()) {
+      return;
+    }
+    String name = names.isEmpty() ? null : names.get(random.nextInt(names.size()));
+    String enumName = enums.isEmpty() ? null : enums.get(random.nextInt(enums.size()));
+    switch (applicable.get(random.nextInt(applicable.size()))) {
+      case ADD_PROPERTY:
+        schema.addProperties("added" + names.size(), new StringSchema());
+        break;
+      case REMOVE_PROPERTY:
+        properties.remove(name);
+        if (schema.getRequired() != null) {
+          schema.getRequired().remove(name);
+          if (schema.getRequired().isEmpty()) {
+            schema.setRequired(null);
+          }
+        }
+        break;
+      case CHANGE_TYPE:
+        properties.put(
+            name,
+            properties.get(name) instanceof IntegerSchema
+                ? new StringSchema()
+                : new IntegerSchema());
+        break;
+      case REQUIRE_PROPERTY:
+        if (schema.getRequired() == null || !schema.getRequired().contains(name)) {
+          schema.addRequiredItem(name);
+        }
+        break;
+      case ADD_ENUM_VALUE:
+        addEnumValue(properties.get(enumName), "ADDED");
+        break;
+      case REMOVE_ENUM_VALUE:
+        List<?> values = properties.get(enumName).getEnum();
+        if (values.size() > 1) {
+          values.remove(values.size() - 1);
+        }
+        break;
+      default:
+        throw new IllegalStateException("Not a schema mutation");
+    }
+  }
+
+  private void mutateOperation(
+      PathItem pathItem,
+      PathItem.HttpMethod method,
+      Operation operation,
+      List<Mutation> mutations,
+      Random random) {
+    List<Parameter> queries =
+        operation.getParameters() == null
+            ? new ArrayList<>()
+            : operation.getParameters().stream()
+                .filter(parameter -> "query".equals(parameter.getIn()))
+                .collect(Collectors.toList());
+    List<Mutation> applicable =
+        mutations.stream()
+            .filter(
+                mutation ->
+                    !queries.isEmpty()
+                        || mutation != Mutation.REMOVE_PARAMETER
+                            && mutation != Mutation.REQUIRE_PARAMETER)
+            .collect(Collectors.toList());
+    if (applicable.isEmpty()) {
+      return;
+    }
+    Parameter query = queries.isEmpty() ? null : queries.get(random.nextInt(queries.size()));
+    switch (applicable.get(random.nextInt(applicable.size()))) {
+      case ADD_PARAMETER:
+        operation.addParametersItem(query("added", false));
+        break;
+      case REMOVE_PARAMETER:
+        operation.getParameters().remove(query);
+        break;
+      case REQUIRE_PARAMETER:
+        query.setRequired(true);
+        break;
+      case DEPRECATE_OPERATION:
+        operation.setDeprecated(true);
+        break;
+      case REMOVE_OPERATION:
+        pathItem.operation(method, null);
+        break;
+      default:
+        throw new IllegalStateException("Not an operation mutation");
+    }
+  }
+
+  private List<Mutation> enabled(Mutation.Target target) {
+    return options.getMutations().stream()
+        .filter(mutation -> mutation.getTarget() == target)
+        .collect(Collectors.toList());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void addEnumValue(Schema schema, String value) {
+    schema.addEnumItemObject(value);
+  }
+
+  private static Schema<?> enumeration(int size) {
+    StringSchema schema = new StringSchema();
+    for (int v = 0; v < size; v++) {
+      schema.addEnumItem("VALUE_" + v);
+    }
+    return schema;
+  }
+
+  private static Parameter query(String name, boolean required) {
+    return new QueryParameter().name(name).required(required).schema(new StringSchema());
+  }
+
+  private static Content json(Schema<?> schema) {
+    return new Content().addMediaType("application/json", new MediaType().schema(schema));
+  }
+
+  private static Schema<?> ref(int index) {
+    return new Schema<>().$ref(SCHEMAS + schemaName(index));
+  }
+
+  private static String schemaName(int index) {
+    return String.format("Schema%04d", index);
+  }
+
+  private static String pathUrl(int index, boolean item) {
+    return item ? "/resources" + index + "/{id}" : "/resources" + index;
+  }
+}
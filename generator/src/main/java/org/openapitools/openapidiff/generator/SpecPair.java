@@ -0,0 +1,22 @@
+package org.openapitools.openapidiff.generator;
+
+import io.swagger.v3.oas.models.OpenAPI;
+
+/** An old specification and the new one made by changing it. */
+public class SpecPair {
+  private final OpenAPI oldSpec;
+  private final OpenAPI newSpec;
+
+  SpecPair(OpenAPI oldSpec, OpenAPI newSpec) {
+    this.oldSpec = oldSpec;
+    this.newSpec = newSpec;
+  }
+
+  public OpenAPI getOldSpec() {
+    return oldSpec;
+  }
+
+  public OpenAPI getNewSpec() {
+    return newSpec;
+  }
+}
@@ -0,0 +1,73 @@
+package org.openapitools.openapidiff.generator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.openapitools.openapidiff.core.compare.DiffOptions;
+import org.openapitools.openapidiff.core.compare.IncrementalDiff;
+import org.openapitools.openapidiff.core.compare.OpenApiDiff;
+import org.openapitools.openapidiff.core.compare.PreparedSpec;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+
+/**
+ * Changed schemas of generated specifications, whose recursive schemas are compared both from the
+ * root of a traversal and nested in other schemas.
+ */
+public class ChangedSchemasTest {
+
+  @Test
+  public void testMemoryBoundedDiffReportsTheSameSchemas() {
+    for (long seed = 1; seed <= 5; seed++) {
+      GeneratorOptions options = options(seed);
+      List<String> changed = describe(compare(options, DiffOptions.defaults()));
+      assertThat(changed).as("seed %s", seed).isNotEmpty();
+      assertThat(describe(compare(options, DiffOptions.defaults().setMemoryBounded(true))))
+          .as("seed %s", seed)
+          .isEqualTo(changed);
+    }
+  }
+
+  @Test
+  public void testIncrementalUpdateOfTheSameSpecReportsTheSameSchemas() {
+    for (long seed = 1; seed <= 5; seed++) {
+      for (DiffOptions diffOptions :
+          new DiffOptions[] {DiffOptions.defaults(), DiffOptions.parallelism(4)}) {
+        GeneratorOptions options = options(seed);
+        List<String> fresh = describe(compare(options, diffOptions));
+        SpecPair pair = new SpecGenerator(options).generate();
+        IncrementalDiff diff =
+            IncrementalDiff.start(
+                PreparedSpec.of(pair.getOldSpec()),
+                PreparedSpec.of(pair.getNewSpec()),
+                diffOptions);
+        assertThat(describe(diff.getResult()))
+            .as("seed %s", seed)
+            .containsExactlyInAnyOrderElementsOf(fresh);
+        for (int update = 0; update < 2; update++) {
+          SpecPair same = new SpecGenerator(options).generate();
+          assertThat(describe(diff.update(PreparedSpec.of(same.getNewSpec()))))
+              .as("seed %s, update %s", seed, update)
+              .containsExactlyInAnyOrderElementsOf(fresh);
+        }
+      }
+    }
+  }
+
+  static GeneratorOptions options(long seed) {
+    return GeneratorOptions.defaults().setSeed(seed).setRecursion(50).setMutationRate(5);
+  }
+
+  static ChangedOpenApi compare(GeneratorOptions options, DiffOptions diffOptions) {
+    SpecPair pair = new SpecGenerator(options).generate();
+    return OpenApiDiff.compare(
+        PreparedSpec.of(pair.getOldSpec()), PreparedSpec.of(pair.getNewSpec()), diffOptions);
+  }
+
+  static List<String> describe(ChangedOpenApi changedOpenApi) {
+    return changedOpenApi.getChangedSchemas().stream()
+        .map(schema -> schema.getChangedElements().size() + ":" + schema.isChanged())
+        .collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,46 @@
+package org.openapitools.openapidiff.generator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.swagger.v3.core.util.Yaml;
+import org.junit.jupiter.api.Test;
+import org.openapitools.openapidiff.core.OpenApiCompare;
+import org.openapitools.openapidiff.core.compare.DiffOptions;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.output.MarkdownRender;
+
+/**
+ * Parallel diffs of generated specifications, whose composed schemas resolve the diffs of the
+ * operations of a path item in another order than a serial diff.
+ */
+public class ParallelDiffTest {
+
+  @Test
+  public void testParallelDiffOfComposedSpecsMatchesSerialDiff() {
+    for (long seed = 1; seed <= 10; seed++) {
+      SpecPair pair =
+          new SpecGenerator(
+                  GeneratorOptions.defaults()
+                      .setSeed(seed)
+                      .setComposition(50)
+                      .setPaths(30)
+                      .setMutationRate(5))
+              .generate();
+      String oldSpec = Yaml.pretty(pair.getOldSpec());
+      String newSpec = Yaml.pretty(pair.getNewSpec());
+      String serial = render(OpenApiCompare.fromContents(oldSpec, newSpec));
+      for (int parallelism : new int[] {2, 8}) {
+        ChangedOpenApi parallel =
+            OpenApiCompare.fromContents(
+                oldSpec, newSpec, null, DiffOptions.parallelism(parallelism));
+        assertThat(render(parallel))
+            .as("seed %s on %s threads", seed, parallelism)
+            .isEqualTo(serial);
+      }
+    }
+  }
+
+  private static String render(ChangedOpenApi changedOpenApi) {
+    return new MarkdownRender().render(changedOpenApi);
+  }
+}
@@ -0,0 +1,70 @@
+package org.openapitools.openapidiff.generator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.swagger.v3.core.util.Yaml;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import java.util.EnumSet;
+import org.junit.jupiter.api.Test;
+import org.openapitools.openapidiff.core.OpenApiCompare;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+
+public class SpecGeneratorTest {
+
+  private static ChangedOpenApi compare(GeneratorOptions options) {
+    SpecPair pair = new SpecGenerator(options).generate();
+    return OpenApiCompare.fromContents(
+        Yaml.pretty(pair.getOldSpec()), Yaml.pretty(pair.getNewSpec()));
+  }
+
+  @Test
+  public void testSameSeedGivesSameSpecifications() {
+    SpecPair first = new SpecGenerator(GeneratorOptions.defaults().setSeed(7)).generate();
+    SpecPair second = new SpecGenerator(GeneratorOptions.defaults().setSeed(7)).generate();
+    SpecPair other = new SpecGenerator(GeneratorOptions.defaults().setSeed(8)).generate();
+    assertThat(Yaml.pretty(first.getOldSpec())).isEqualTo(Yaml.pretty(second.getOldSpec()));
+    assertThat(Yaml.pretty(first.getNewSpec())).isEqualTo(Yaml.pretty(second.getNewSpec()));
+    assertThat(Yaml.pretty(first.getOldSpec())).isNotEqualTo(Yaml.pretty(other.getOldSpec()));
+  }
+
+  @Test
+  public void testNoMutationGivesUnchangedDiff() {
+    ChangedOpenApi diff = compare(GeneratorOptions.defaults().setMutationRate(0));
+    assertThat(diff.isUnchanged()).isTrue();
+  }
+
+  @Test
+  public void testRemovedPropertiesAreIncompatible() {
+    ChangedOpenApi diff =
+        compare(
+            GeneratorOptions.defaults()
+                .setMutationRate(50)
+                .setMutations(EnumSet.of(Mutation.REMOVE_PROPERTY)));
+    assertThat(diff.isIncompatible()).isTrue();
+  }
+
+  @Test
+  public void testAddedPathsAreCompatible() {
+    ChangedOpenApi diff =
+        compare(
+            GeneratorOptions.defaults()
+                .setMutationRate(50)
+                .setMutations(EnumSet.of(Mutation.ADD_PATH)));
+    assertThat(diff.getNewEndpoints()).isNotEmpty();
+    assertThat(diff.getMissingEndpoints()).isEmpty();
+    assertThat(diff.isCompatible()).isTrue();
+  }
+
+  @Test
+  public void testCompositionAndRecursion() {
+    GeneratorOptions options =
+        GeneratorOptions.defaults().setComposition(100).setRecursion(100).setDepth(3);
+    SpecPair pair = new SpecGenerator(options).generate();
+    for (Schema<?> schema : pair.getOldSpec().getComponents().getSchemas().values()) {
+      assertThat(schema).isInstanceOf(ComposedSchema.class);
+    }
+    assertThat(compare(options).isDifferent()).isTrue();
+    assertThat(compare(options.setMutationRate(0)).isUnchanged()).isTrue();
+  }
+}
@@ -0,0 +1,38 @@
+package org.openapitools.openapidiff.maven;
+
+import java.io.Writer;
+import org.apache.maven.plugin.logging.Log;
+
+/** Writer logging each complete line at info level, so that only one line is held at a time. */
+class LogWriter extends Writer {
+  private final Log log;
+  private final StringBuilder line = new StringBuilder();
+
+  LogWriter(Log log) {
+    this.log = log;
+  }
+
+  @Override
+  public void write(char[] buffer, int offset, int length) {
+    for (int i = offset; i < offset + length; i++) {
+      char c = buffer[i];
+      if (c == '\n') {
+        log.info(line);
+        line.setLength(0);
+      } else if (c != '\r') {
+        line.append(c);
+      }
+    }
+  }
+
+  @Override
+  public void flush() {}
+
+  @Override
+  public void close() {
+    if (line.length() > 0) {
+      log.info(line);
+      line.setLength(0);
+    }
+  }
+}
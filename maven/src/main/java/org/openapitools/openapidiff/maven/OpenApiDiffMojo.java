@@ -1,5 +1,11 @@
 package org.openapitools.openapidiff.maven;
 
+import io.swagger.v3.oas.models.PathItem;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
@@ -7,6 +13,8 @@ import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.openapitools.openapidiff.core.OpenApiCompare;
+import org.openapitools.openapidiff.core.compare.DiffOptions;
+import org.openapitools.openapidiff.core.compare.OperationFilter;
 import org.openapitools.openapidiff.core.model.ChangedOpenApi;
 import org.openapitools.openapidiff.core.output.ConsoleRender;
 
@@ -25,11 +33,61 @@ public class OpenApiDiffMojo extends AbstractMojo {
   @Parameter(property = "failOnChanged", defaultValue = "false")
   Boolean failOnChanged = false;
 
+  /**
+   * Only compute whether the API changed or broke backward compatibility, without logging the
+   * report. Metadata changes, such as descriptions, are not detected.
+   */
+  @Parameter(property = "severityOnly", defaultValue = "false")
+  Boolean severityOnly = false;
+
+  /** Release the schemas compared as soon as possible, lowering the peak heap of large specs. */
+  @Parameter(property = "memoryBounded", defaultValue = "false")
+  Boolean memoryBounded = false;
+
+  /** Globs of the paths to compare, e.g. /pets/**, all of them when empty. */
+  @Parameter(property = "includePaths")
+  List<String> includePaths = new ArrayList<>();
+
+  @Parameter(property = "excludePaths")
+  List<String> excludePaths = new ArrayList<>();
+
+  /** Tags of the operations to compare, all of them when empty. */
+  @Parameter(property = "includeTags")
+  List<String> includeTags = new ArrayList<>();
+
+  @Parameter(property = "excludeTags")
+  List<String> excludeTags = new ArrayList<>();
+
+  @Parameter(property = "includeOperationIds")
+  List<String> includeOperationIds = new ArrayList<>();
+
+  @Parameter(property = "excludeOperationIds")
+  List<String> excludeOperationIds = new ArrayList<>();
+
+  /** HTTP methods of the operations to compare, all of them when empty. */
+  @Parameter(property = "includeMethods")
+  List<String> includeMethods = new ArrayList<>();
+
+  @Parameter(property = "excludeMethods")
+  List<String> excludeMethods = new ArrayList<>();
+
   @Override
   public void execute() throws MojoExecutionException, MojoFailureException {
     try {
-      final ChangedOpenApi diff = OpenApiCompare.fromLocations(oldSpec, newSpec);
-      getLog().info(new ConsoleRender().render(diff));
+      final ChangedOpenApi diff =
+          OpenApiCompare.fromLocations(
+              oldSpec,
+              newSpec,
+              null,
+              DiffOptions.defaults()
+                  .setSeverityOnly(severityOnly)
+                  .setMemoryBounded(memoryBounded)
+                  .setFilter(filter()));
+      if (!severityOnly) {
+        try (Writer writer = new LogWriter(getLog())) {
+          new ConsoleRender().render(diff, writer);
+        }
+      }
 
       if (failOnIncompatible && diff.isIncompatible()) {
         throw new BackwardIncompatibilityException("The API changes broke backward compatibility");
@@ -38,8 +96,26 @@ public class OpenApiDiffMojo extends AbstractMojo {
       if (failOnChanged && diff.isDifferent()) {
         throw new ApiChangedException("The API changed");
       }
-    } catch (RuntimeException e) {
+    } catch (RuntimeException | IOException e) {
       throw new MojoExecutionException("Unexpected error", e);
     }
   }
+
+  private OperationFilter filter() {
+    return OperationFilter.all()
+        .includePaths(includePaths.toArray(new String[0]))
+        .excludePaths(excludePaths.toArray(new String[0]))
+        .includeTags(includeTags.toArray(new String[0]))
+        .excludeTags(excludeTags.toArray(new String[0]))
+        .includeOperationIds(includeOperationIds.toArray(new String[0]))
+        .excludeOperationIds(excludeOperationIds.toArray(new String[0]))
+        .includeMethods(methods(includeMethods))
+        .excludeMethods(methods(excludeMethods));
+  }
+
+  private static PathItem.HttpMethod[] methods(List<String> methods) {
+    return methods.stream()
+        .map(method -> PathItem.HttpMethod.valueOf(method.toUpperCase(Locale.ROOT)))
+        .toArray(PathItem.HttpMethod[]::new);
+  }
 }
@@ -3,6 +3,7 @@ package org.openapitools.openapidiff.maven;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.File;
+import java.util.Collections;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.junit.jupiter.api.Test;
 
@@ -75,4 +76,26 @@ class OpenApiDiffMojoTest {
 
     assertThrows(BackwardIncompatibilityException.class, mojo::execute);
   }
+
+  @Test
+  void Should_BackwardIncompatibilityException_When_SeverityOnlyAndSpecIsIncompatible() {
+    final OpenApiDiffMojo mojo = new OpenApiDiffMojo();
+    mojo.oldSpec = new File("src/test/resources/newspec.yaml").getAbsolutePath();
+    mojo.newSpec = new File("src/test/resources/oldspec.yaml").getAbsolutePath();
+    mojo.failOnIncompatible = true;
+    mojo.severityOnly = true;
+
+    assertThrows(BackwardIncompatibilityException.class, mojo::execute);
+  }
+
+  @Test
+  void Should_NotThrow_When_IncompatiblePathIsExcluded() {
+    final OpenApiDiffMojo mojo = new OpenApiDiffMojo();
+    mojo.oldSpec = new File("src/test/resources/newspec.yaml").getAbsolutePath();
+    mojo.newSpec = new File("src/test/resources/oldspec.yaml").getAbsolutePath();
+    mojo.failOnIncompatible = true;
+    mojo.excludePaths = Collections.singletonList("/hel*");
+
+    assertDoesNotThrow(mojo::execute);
+  }
 }
@@ -0,0 +1,266 @@
+package org.openapitools.openapidiff.server;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.openapitools.openapidiff.client.DiffClient;
+import org.openapitools.openapidiff.client.DiffRequest;
+import org.openapitools.openapidiff.client.DiffResponse;
+import org.openapitools.openapidiff.core.cache.SpecCache;
+import org.openapitools.openapidiff.core.compare.DiffOptions;
+import org.openapitools.openapidiff.core.compare.OpenApiDiff;
+import org.openapitools.openapidiff.core.compare.PreparedSpec;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.output.ConsoleRender;
+import org.openapitools.openapidiff.core.output.DiffResults;
+import org.openapitools.openapidiff.core.output.HtmlRender;
+import org.openapitools.openapidiff.core.output.JsonRender;
+import org.openapitools.openapidiff.core.output.MarkdownRender;
+import org.openapitools.openapidiff.core.output.RenderVisitor;
+import org.openapitools.openapidiff.core.output.RenderWalker;
+import org.openapitools.openapidiff.core.utils.ExternalRefs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares specifications posted to {@value #DIFF_PATH} in a long-running process.
+ *
+ * <p>Specifications are parsed and fingerprinted once and kept in an LRU cache keyed by the hash of
+ * their content. Requests for a comparison already running, or for a specification already being
+ * parsed, wait for that work instead of repeating it. Requests are handled by a bounded pool of
+ * workers; when its queue is full the connection thread handles the request itself, which stops
+ * accepting new connections until it is done.
+ */
+public class DiffServer {
+  public static final String DIFF_PATH = DiffClient.DIFF_PATH;
+  public static final String HEALTH_PATH = "/health";
+  private static final Logger LOGGER = LoggerFactory.getLogger(DiffServer.class);
+  private static final ObjectMapper MAPPER =
+      new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+  private final HttpServer httpServer;
+  private final ThreadPoolExecutor workers;
+  // prepared specifications are only read by diffs, requests share them
+  private final Map<String, CompletableFuture<PreparedSpec>> specs;
+  private final Map<String, CompletableFuture<ChangedOpenApi>> inFlight = new ConcurrentHashMap<>();
+
+  public DiffServer(InetSocketAddress address, int threads, int cacheSize) throws IOException {
+    if (threads < 1 || cacheSize < 1) {
+      throw new IllegalArgumentException("threads and cache size must be positive");
+    }
+    this.specs =
+        new LinkedHashMap<String, CompletableFuture<PreparedSpec>>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(
+              Map.Entry<String, CompletableFuture<PreparedSpec>> eldest) {
+            return size() > cacheSize;
+          }
+        };
+    this.workers =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(threads * 4),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    this.httpServer = HttpServer.create(address, 0);
+    httpServer.setExecutor(workers);
+    httpServer.createContext(DIFF_PATH, this::handleDiff);
+    httpServer.createContext(HEALTH_PATH, exchange -> send(exchange, 200, "text/plain", "OK"));
+  }
+
+  public void start() {
+    httpServer.start();
+    LOGGER.info("Listening on {}", getAddress());
+  }
+
+  /** Stops accepting requests, waiting at most the given number of seconds for running ones. */
+  public void stop(int delay) {
+    httpServer.stop(delay);
+    workers.shutdown();
+  }
+
+  public InetSocketAddress getAddress() {
+    return httpServer.getAddress();
+  }
+
+  /** Number of parsed specifications in the cache. */
+  int cachedSpecs() {
+    synchronized (specs) {
+      return specs.size();
+    }
+  }
+
+  private void handleDiff(HttpExchange exchange) throws IOException {
+    try {
+      if (!"POST".equals(exchange.getRequestMethod())) {
+        send(exchange, 405, "text/plain", "Only POST is supported");
+        return;
+      }
+      DiffRequest request;
+      try (InputStream body = exchange.getRequestBody()) {
+        request = MAPPER.readValue(body, DiffRequest.class);
+      }
+      DiffResponse response = diff(request);
+      send(exchange, 200, "application/json", MAPPER.writeValueAsString(response));
+    } catch (IllegalArgumentException | IOException e) {
+      send(exchange, 400, "text/plain", String.valueOf(e.getMessage()));
+    } catch (RuntimeException e) {
+      LOGGER.error("Comparison failed", e);
+      send(exchange, 500, "text/plain", String.valueOf(e.getMessage()));
+    } finally {
+      exchange.close();
+    }
+  }
+
+  DiffResponse diff(DiffRequest request) throws IOException {
+    if (request.getOldSpec() == null || request.getNewSpec() == null) {
+      throw new IllegalArgumentException("oldSpec and newSpec are required");
+    }
+    ChangedOpenApi diff = compare(request.getOldSpec(), request.getNewSpec());
+    DiffResults results = new DiffResults();
+    DiffResponse response = new DiffResponse().setResult(results.get(diff).name());
+    List<RenderVisitor> visitors = new ArrayList<>();
+    Map<String, StringWriter> outputs = new LinkedHashMap<>();
+    for (String format : request.getFormats()) {
+      StringWriter output = new StringWriter();
+      outputs.put(format, output);
+      switch (format) {
+        case "text":
+          visitors.add(new ConsoleRender().visitor(output));
+          break;
+        case "markdown":
+          visitors.add(new MarkdownRender().visitor(output));
+          break;
+        case "html":
+          visitors.add(new HtmlRender().visitor(output));
+          break;
+        case "json":
+          new JsonRender().render(diff, output);
+          break;
+        case "json-compact":
+          JsonRender.compact().render(diff, output);
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown format: " + format);
+      }
+    }
+    RenderWalker.walk(diff, visitors, results);
+    outputs.forEach((format, output) -> response.getOutputs().put(format, output.toString()));
+    return response;
+  }
+
+  /** Compares the specifications, sharing the work with an identical comparison in progress. */
+  ChangedOpenApi compare(String oldSpec, String newSpec) {
+    String oldKey = key(oldSpec);
+    String newKey = key(newSpec);
+    String key = oldKey + ":" + newKey;
+    CompletableFuture<ChangedOpenApi> future = new CompletableFuture<>();
+    CompletableFuture<ChangedOpenApi> running = inFlight.putIfAbsent(key, future);
+    if (running != null) {
+      return join(running);
+    }
+    try {
+      ChangedOpenApi diff =
+          OpenApiDiff.compare(
+              prepare(oldKey, oldSpec), prepare(newKey, newSpec), DiffOptions.defaults());
+      // evaluates the cached results of the diff before it is shared between requests
+      diff.isChanged();
+      future.complete(diff);
+    } catch (RuntimeException | Error e) {
+      future.completeExceptionally(e);
+    } finally {
+      inFlight.remove(key, future);
+    }
+    return join(future);
+  }
+
+  private PreparedSpec prepare(String key, String content) {
+    CompletableFuture<PreparedSpec> future;
+    boolean parse = false;
+    synchronized (specs) {
+      future = specs.get(key);
+      if (future == null) {
+        future = new CompletableFuture<>();
+        specs.put(key, future);
+        parse = true;
+      }
+    }
+    if (parse) {
+      try {
+        future.complete(PreparedSpec.of(parse(content)));
+      } catch (RuntimeException | Error e) {
+        synchronized (specs) {
+          specs.remove(key, future);
+        }
+        future.completeExceptionally(e);
+      }
+    }
+    return join(future);
+  }
+
+  private static OpenAPI parse(String content) {
+    // the server would otherwise read the files and URLs a posted document points to
+    Optional<String> externalRef = ExternalRefs.find(content);
+    if (externalRef.isPresent()) {
+      throw new IllegalArgumentException(
+          "References to other documents are not supported: " + externalRef.get());
+    }
+    ParseOptions options = new ParseOptions();
+    options.setResolve(true);
+    OpenAPI openApi = new OpenAPIParser().readContents(content, null, options).getOpenAPI();
+    if (openApi == null) {
+      throw new IllegalArgumentException("Cannot read OpenAPI spec");
+    }
+    return openApi;
+  }
+
+  private static String key(String content) {
+    return SpecCache.key(null, content.getBytes(StandardCharsets.UTF_8), null);
+  }
+
+  private static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      } else if (e.getCause() instanceof Error) {
+        throw (Error) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private static void send(HttpExchange exchange, int status, String contentType, String body)
+      throws IOException {
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream output = exchange.getResponseBody()) {
+      output.write(bytes);
+    }
+  }
+}
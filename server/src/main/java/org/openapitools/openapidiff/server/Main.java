@@ -0,0 +1,91 @@
+package org.openapitools.openapidiff.server;
+
+import ch.qos.logback.classic.Level;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class Main {
+
+  public static void main(String... args) {
+    Options options = new Options();
+    options.addOption(Option.builder("h").longOpt("help").desc("print this message").build());
+    options.addOption(
+        Option.builder()
+            .longOpt("host")
+            .hasArg()
+            .argName("address")
+            .desc("address to listen on. Default: loopback address")
+            .build());
+    options.addOption(
+        Option.builder()
+            .longOpt("port")
+            .hasArg()
+            .argName("port")
+            .desc("port to listen on. Default: 8080")
+            .build());
+    options.addOption(
+        Option.builder()
+            .longOpt("threads")
+            .hasArg()
+            .argName("threads")
+            .desc("number of comparisons run at the same time. Default: number of processors")
+            .build());
+    options.addOption(
+        Option.builder()
+            .longOpt("cache-size")
+            .hasArg()
+            .argName("specs")
+            .desc("number of parsed specifications kept in memory. Default: 64")
+            .build());
+
+    ch.qos.logback.classic.Logger root =
+        (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+    root.setLevel(Level.INFO);
+    try {
+      CommandLine line = new DefaultParser().parse(options, args);
+      if (line.hasOption("h")) {
+        new HelpFormatter().printHelp("openapi-diff-server", options);
+        System.exit(0);
+      }
+      InetAddress host =
+          line.hasOption("host")
+              ? InetAddress.getByName(line.getOptionValue("host"))
+              : InetAddress.getLoopbackAddress();
+      int port = intOption(line, "port", 8080);
+      int threads = intOption(line, "threads", Runtime.getRuntime().availableProcessors());
+      int cacheSize = intOption(line, "cache-size", 64);
+      DiffServer server = new DiffServer(new InetSocketAddress(host, port), threads, cacheSize);
+      Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(1)));
+      server.start();
+    } catch (ParseException e) {
+      System.err.println("Parsing failed. Reason: " + e.getMessage());
+      new HelpFormatter().printHelp("openapi-diff-server", options);
+      System.exit(2);
+    } catch (IOException | IllegalArgumentException e) {
+      System.err.println("Cannot start the server. Reason: " + e.getMessage());
+      System.exit(2);
+    }
+  }
+
+  private static int intOption(CommandLine line, String name, int defaultValue)
+      throws ParseException {
+    if (!line.hasOption(name)) {
+      return defaultValue;
+    }
+    try {
+      return Integer.parseInt(line.getOptionValue(name));
+    } catch (NumberFormatException e) {
+      throw new ParseException(
+          String.format("Invalid %s. Given: %s", name, line.getOptionValue(name)));
+    }
+  }
+}
@@ -0,0 +1,162 @@
+package org.openapitools.openapidiff.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openapitools.openapidiff.client.DiffClient;
+import org.openapitools.openapidiff.client.DiffRequest;
+import org.openapitools.openapidiff.client.DiffResponse;
+import org.openapitools.openapidiff.core.OpenApiCompare;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.model.DiffResult;
+import org.openapitools.openapidiff.core.output.JsonRender;
+import org.openapitools.openapidiff.core.output.MarkdownRender;
+
+public class DiffServerTest {
+  private DiffServer server;
+  private DiffClient client;
+
+  @BeforeEach
+  public void start() throws IOException {
+    server = new DiffServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2, 8);
+    server.start();
+    InetSocketAddress address = server.getAddress();
+    client = new DiffClient("http://" + address.getHostString() + ":" + address.getPort() + "/");
+  }
+
+  @AfterEach
+  public void stop() {
+    server.stop(0);
+  }
+
+  private static String resource(String name) throws IOException {
+    try (InputStream input = DiffServerTest.class.getClassLoader().getResourceAsStream(name)) {
+      return IOUtils.toString(input, StandardCharsets.UTF_8);
+    }
+  }
+
+  private static DiffRequest request() throws IOException {
+    return new DiffRequest()
+        .setOldSpec(resource("petstore_v2_1.yaml"))
+        .setNewSpec(resource("petstore_v2_2.yaml"));
+  }
+
+  @Test
+  public void testOutputsMatchLocalRenders() throws IOException {
+    DiffRequest request = request();
+    request.getFormats().addAll(Arrays.asList("markdown", "json"));
+    DiffResponse response = client.diff(request);
+
+    ChangedOpenApi diff = OpenApiCompare.fromContents(request.getOldSpec(), request.getNewSpec());
+    assertThat(response.getResult()).isEqualTo(DiffResult.INCOMPATIBLE.name());
+    assertThat(response.getOutputs().get("markdown")).isEqualTo(new MarkdownRender().render(diff));
+    assertThat(response.getOutputs().get("json")).isEqualTo(new JsonRender().render(diff));
+  }
+
+  @Test
+  public void testSpecificationsAreCached() throws IOException {
+    client.diff(request());
+    client.diff(request());
+    DiffRequest reversed = request();
+    client.diff(
+        new DiffRequest().setOldSpec(reversed.getNewSpec()).setNewSpec(reversed.getOldSpec()));
+    assertThat(server.cachedSpecs()).isEqualTo(2);
+  }
+
+  @Test
+  public void testConcurrentRequestsGetTheSameResult() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<DiffResponse>> responses = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        responses.add(
+            executor.submit(
+                () -> {
+                  DiffRequest request = request();
+                  request.getFormats().add("text");
+                  return client.diff(request);
+                }));
+      }
+      DiffResponse first = responses.get(0).get();
+      for (Future<DiffResponse> response : responses) {
+        assertThat(response.get().getResult()).isEqualTo(first.getResult());
+        assertThat(response.get().getOutputs()).isEqualTo(first.getOutputs());
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertThat(server.cachedSpecs()).isEqualTo(2);
+  }
+
+  @Test
+  public void testConcurrentRequestsShareComposedSpecifications() throws Exception {
+    List<String> candidates =
+        Arrays.asList(
+            "allOf_diff_2.yaml",
+            "allOf_diff_3.yaml",
+            "allOf_diff_4.yaml",
+            "allOf_diff_3.yaml",
+            "allOf_diff_4.yaml",
+            "allOf_diff_2.yaml");
+    String oldSpec = resource("allOf_diff_1.yaml");
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<DiffResponse>> responses = new ArrayList<>();
+      for (String candidate : candidates) {
+        responses.add(
+            executor.submit(
+                () -> {
+                  DiffRequest request =
+                      new DiffRequest().setOldSpec(oldSpec).setNewSpec(resource(candidate));
+                  request.getFormats().add("markdown");
+                  return client.diff(request);
+                }));
+      }
+      for (int i = 0; i < candidates.size(); i++) {
+        ChangedOpenApi diff = OpenApiCompare.fromContents(oldSpec, resource(candidates.get(i)));
+        assertThat(responses.get(i).get().getOutputs().get("markdown"))
+            .isEqualTo(new MarkdownRender().render(diff));
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testUnknownFormatIsRejected() throws IOException {
+    DiffRequest request = request();
+    request.getFormats().add("pdf");
+    assertThatThrownBy(() -> client.diff(request))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("400");
+  }
+
+  @Test
+  public void testExternalRefsAreRejected() throws IOException {
+    String spec = resource("petstore_v2_1.yaml");
+    DiffRequest request =
+        new DiffRequest()
+            .setOldSpec(spec)
+            .setNewSpec(
+                spec.replaceFirst("\\$ref: '#/components/schemas/Pet'", "\\$ref: 'pet.yaml'"));
+    assertThatThrownBy(() -> client.diff(request))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("400");
+    assertThat(server.cachedSpecs()).isEqualTo(1);
+  }
+}